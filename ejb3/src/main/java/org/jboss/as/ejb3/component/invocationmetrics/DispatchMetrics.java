@@ -0,0 +1,60 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the dispatch of the remote invocations of a component to the threads that run them.
+ */
+public class DispatchMetrics {
+    private final AtomicLong queued = new AtomicLong();
+    private final LongAdder dispatchTime = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Records an invocation waiting for a thread.
+     */
+    public void queued() {
+        queued.incrementAndGet();
+    }
+
+    /**
+     * Records the start of an invocation which waited for a thread.
+     *
+     * @param waitTime the time the invocation waited, in milliseconds
+     */
+    public void dispatched(final long waitTime) {
+        queued.decrementAndGet();
+        dispatchTime.add(waitTime);
+    }
+
+    /**
+     * Records a waiting invocation that was rejected instead of started.
+     */
+    public void rejected() {
+        queued.decrementAndGet();
+        rejected.increment();
+    }
+
+    /**
+     * @return the number of invocations waiting for a thread
+     */
+    public long getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * @return the total time the invocations waited for a thread, in milliseconds
+     */
+    public long getDispatchTime() {
+        return dispatchTime.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
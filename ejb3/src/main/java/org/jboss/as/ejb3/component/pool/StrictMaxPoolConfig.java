@@ -8,6 +8,7 @@ package org.jboss.as.ejb3.component.pool;
 import org.jboss.as.ejb3.pool.Pool;
 import org.jboss.as.ejb3.pool.StatelessObjectFactory;
 import org.jboss.as.ejb3.pool.strictmax.StrictMaxPool;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 import java.util.concurrent.TimeUnit;
 
@@ -22,6 +23,13 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     public static final TimeUnit DEFAULT_TIMEOUT_UNIT = TimeUnit.MINUTES;
 
+    /**
+     * The semaphore of the pools created from strict max pool configurations, set with the
+     * {@code jboss.ejb.pool.strict-max.type} system property. With {@code semaphore} (the default), a new caller can
+     * take a released permit before the callers that are already waiting. With {@code fair}, the waiting callers are
+     * served in arrival order.
+     */
+    static final boolean FAIR = "fair".equals(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.pool.strict-max.type", "semaphore"));
 
     private volatile int maxPoolSize;
 
@@ -38,7 +46,7 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     @Override
     public <T> Pool<T> createPool(final StatelessObjectFactory<T> statelessObjectFactory) {
-        return new StrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit);
+        return new StrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit, FAIR);
     }
 
     public int getMaxPoolSize() {
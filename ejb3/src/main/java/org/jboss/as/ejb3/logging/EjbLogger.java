@@ -3255,4 +3255,33 @@ public interface EjbLogger extends BasicLogger {
 
     @Message(id = 536, value = "Unsupported EJB receiver protocol %s")
     IllegalArgumentException unsupportedEJBReceiverProtocol(String uriScheme);
+
+    @Message(id = 537, value = "Timeout scheduler has been stopped")
+    IllegalStateException timeoutSchedulerStopped();
+
+    @LogMessage(level = ERROR)
+    @Message(id = 538, value = "Timeout task %s failed")
+    void timeoutTaskFailed(Object task, @Cause Throwable cause);
+
+    @LogMessage(level = INFO)
+    @Message(id = 539, value = "Migrated %d timers of %s from XML files to the timer journal")
+    void timersMigratedToJournal(int count, String timedObjectId);
+
+    @Message(id = 540, value = "Remote invocation of %s rejected, %d invocations of its deployment are already queued")
+    EJBException remoteInvocationRejected(String beanName, int queued);
+
+    @LogMessage(level = WARN)
+    @Message(id = 541, value = "Virtual threads are not available in this JVM, remote invocations are dispatched to the configured executor")
+    void virtualThreadsNotAvailable();
+
+    @LogMessage(level = WARN)
+    @Message(id = 542, value = "Invalid value %s of the system property %s, %s is used instead")
+    void invalidSystemPropertyValue(String value, String property, Object defaultValue);
+
+    @LogMessage(level = INFO)
+    @Message(id = 543, value = "Exported %d timers of %s from the timer journal to XML files")
+    void timersExportedFromJournal(int count, String timedObjectId);
+
+    @Message(id = 544, value = "The timer journal of %s is not open")
+    IllegalStateException timerJournalNotOpen(String timedObjectId);
 }
@@ -4,7 +4,9 @@
  */
 package org.jboss.as.ejb3.pool;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The base of all pool implementations.
@@ -18,6 +20,8 @@ public abstract class AbstractPool<T> implements Pool<T> {
     private final StatelessObjectFactory<T> factory;
     private final AtomicInteger createCount = new AtomicInteger(0);
     private final AtomicInteger removeCount = new AtomicInteger(0);
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
 
     protected AbstractPool(StatelessObjectFactory<T> factory) {
         assert factory != null : "factory is null";
@@ -33,8 +37,26 @@ public abstract class AbstractPool<T> implements Pool<T> {
         return removeCount.get();
     }
 
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+
+    public long getWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(waitTime.sum());
+    }
+
     public abstract void setMaxSize(int maxSize);
 
+    /**
+     * Track an acquisition that could not be satisfied immediately.
+     *
+     * @param nanos the time spent waiting, in nanoseconds
+     */
+    protected void waited(long nanos) {
+        waitCount.increment();
+        waitTime.add(nanos);
+    }
+
     protected T create() {
         T bean = factory.create();
 
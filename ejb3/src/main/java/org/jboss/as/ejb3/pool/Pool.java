@@ -40,6 +40,21 @@ public interface Pool<T> {
 
     int getRemoveCount();
 
+    /**
+     * @return the number of calls to {@link #get()} that had to wait for an instance to become available
+     */
+    default long getWaitCount() {
+        return 0;
+    }
+
+    /**
+     * @return the total time, in milliseconds, spent by calls to {@link #get()} waiting for an instance to become
+     * available
+     */
+    default long getWaitTime() {
+        return 0;
+    }
+
     /**
      * Release the object from use.
      *
@@ -24,11 +24,15 @@ import java.util.concurrent.TimeUnit;
 public class StrictMaxPool<T> extends AbstractPool<T> {
 
     /**
-     * A FIFO semaphore that is set when the strict max size behavior is in effect.
+     * A semaphore that is set when the strict max size behavior is in effect.
      * When set, only maxSize instances may be active and any attempt to get an
      * instance will block until an instance is freed.
      */
     private final Semaphore semaphore;
+    /**
+     * Whether the semaphore grants its permits to the waiting callers in arrival order.
+     */
+    private final boolean fair;
     /**
      * The maximum number of instances allowed in the pool
      */
@@ -45,9 +49,18 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
     private final Queue<T> pool = new ConcurrentLinkedQueue<T>();
 
     public StrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, false);
+    }
+
+    /**
+     * @param fair {@code true} if the callers waiting for an instance must be served in arrival order, so that a newly
+     *             arriving caller can not take the place of a caller that is already waiting
+     */
+    public StrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, boolean fair) {
         super(factory);
         this.maxSize = maxSize;
-        this.semaphore = new Semaphore(maxSize, false);
+        this.semaphore = new Semaphore(maxSize, fair);
+        this.fair = fair;
         this.timeout = timeout;
         this.timeUnit = timeUnit;
     }
@@ -87,12 +100,17 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      * @return Context /w instance
      */
     public T get() {
-        try {
-            boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
-            if (!acquired)
-                throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
-        } catch (InterruptedException e) {
-            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        if (!tryAcquire()) {
+            long start = System.nanoTime();
+            try {
+                boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
+                if (!acquired)
+                    throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
+            } catch (InterruptedException e) {
+                throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+            } finally {
+                waited(System.nanoTime() - start);
+            }
         }
 
         T bean = pool.poll();
@@ -154,4 +172,10 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
             destroy(obj);
         }
     }
+
+    private boolean tryAcquire() {
+        // the untimed tryAcquire takes an available permit even if other callers are waiting, so a fair pool only uses it
+        // when nobody waits, and otherwise queues the caller behind the waiting ones
+        return (!fair || !semaphore.hasQueuedThreads()) && semaphore.tryAcquire();
+    }
 }
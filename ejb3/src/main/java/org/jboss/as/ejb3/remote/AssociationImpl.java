@@ -6,6 +6,8 @@
 package org.jboss.as.ejb3.remote;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -20,8 +22,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import jakarta.ejb.EJBException;
 
@@ -29,8 +35,10 @@ import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentIsStoppedException;
 import org.jboss.as.ee.component.ComponentView;
 import org.jboss.as.ee.component.interceptors.InvocationType;
+import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.EJBComponentUnavailableException;
 import org.jboss.as.ejb3.component.interceptors.CancellationFlag;
+import org.jboss.as.ejb3.component.invocationmetrics.DispatchMetrics;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
 import org.jboss.as.ejb3.component.stateless.StatelessSessionComponent;
@@ -83,9 +91,31 @@ final class AssociationImpl implements Association, AutoCloseable {
             // Do nothing
         }
     };
+
+    /**
+     * System property {@code jboss.ejb.remote.dispatch} to configure how the remote invocations are dispatched to threads:
+     * <ul>
+     *     <li>{@code executor}, the default, dispatches them to the executor of the remoting connector
+     *     <li>{@code virtual} runs each of them on a new virtual thread, if the JVM supports it
+     *     <li>{@code bounded} dispatches them to the executor of the remoting connector, with at most
+     *     {@code jboss.ejb.remote.dispatch.maxConcurrency} invocations of a deployment running at a time, by default four
+     *     per processor, and at most {@code jboss.ejb.remote.dispatch.maxQueueSize} waiting, by default 1000.
+     *     The invocations beyond are rejected.
+     * </ul>
+     * Either of the latter two keeps the slow invocations of a deployment from holding up the invocations of the others.
+     */
+    private static final String DISPATCH = WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.remote.dispatch", "executor");
+    private static final int MAX_CONCURRENCY = getPositiveIntProperty("jboss.ejb.remote.dispatch.maxConcurrency", Runtime.getRuntime().availableProcessors() * 4);
+    private static final int MAX_QUEUE_SIZE = getPositiveIntProperty("jboss.ejb.remote.dispatch.maxQueueSize", 1000);
+
     private final DeploymentRepository deploymentRepository;
     private final Map<Integer, ClusterTopologyRegistrar> clusterTopologyRegistrars;
     private volatile Executor executor;
+    // the executor running each invocation on a virtual thread, if enabled
+    private final ExecutorService virtualThreadExecutor;
+    // the bounded dispatchers of the deployments, if enabled
+    private final ConcurrentMap<DeploymentModuleIdentifier, BoundedInvocationDispatcher> dispatchers;
+    private final DeploymentRepositoryListener dispatchersListener;
 
     AssociationImpl(final DeploymentRepository deploymentRepository, final List<Map.Entry<ProtocolSocketBinding, Registry<GroupMember, String, List<ClientMapping>>>> clientMappingRegistries) {
         this.deploymentRepository = deploymentRepository;
@@ -93,6 +123,45 @@ final class AssociationImpl implements Association, AutoCloseable {
         for (Map.Entry<ProtocolSocketBinding, Registry<GroupMember, String, List<ClientMapping>>> entry : clientMappingRegistries) {
             this.clusterTopologyRegistrars.put(entry.getKey().getSocketBinding().getSocketAddress().getPort(), new ClusterTopologyRegistrar(entry.getValue()));
         }
+        this.virtualThreadExecutor = DISPATCH.equals("virtual") ? createVirtualThreadExecutor() : null;
+        if (DISPATCH.equals("bounded")) {
+            final ConcurrentMap<DeploymentModuleIdentifier, BoundedInvocationDispatcher> dispatchers = new ConcurrentHashMap<>();
+            this.dispatchers = dispatchers;
+            this.dispatchersListener = new DeploymentRepositoryListener() {
+                @Override
+                public void listenerAdded(final DeploymentRepository repository) {
+                }
+
+                @Override
+                public void deploymentAvailable(final DeploymentModuleIdentifier deployment, final ModuleDeployment moduleDeployment) {
+                }
+
+                @Override
+                public void deploymentStarted(final DeploymentModuleIdentifier deployment, final ModuleDeployment moduleDeployment) {
+                }
+
+                @Override
+                public void deploymentRemoved(final DeploymentModuleIdentifier deployment) {
+                    dispatchers.remove(deployment);
+                }
+            };
+            deploymentRepository.addListener(this.dispatchersListener);
+        } else {
+            this.dispatchers = null;
+            this.dispatchersListener = null;
+        }
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            // available from Java 21
+            return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (Throwable e) {
+            EjbLogger.REMOTE_LOGGER.virtualThreadsNotAvailable();
+            return null;
+        }
     }
 
     @Override
@@ -100,6 +169,13 @@ final class AssociationImpl implements Association, AutoCloseable {
         for (ClusterTopologyRegistrar registrar : this.clusterTopologyRegistrars.values()) {
             registrar.close();
         }
+        if (this.dispatchersListener != null) {
+            this.deploymentRepository.removeListener(this.dispatchersListener);
+            this.dispatchers.clear();
+        }
+        if (this.virtualThreadExecutor != null) {
+            this.virtualThreadExecutor.shutdown();
+        }
     }
 
     @Override
@@ -255,10 +331,74 @@ final class AssociationImpl implements Association, AutoCloseable {
             }
         };
         // invoke the method and write out the response, possibly on a separate thread
-        execute(invocationRequest, runnable, isAsync, false);
+        dispatch(invocationRequest, ejbDeploymentInformation.getEjbComponent(), new DeploymentModuleIdentifier(appName, moduleName, distinctName), runnable, isAsync, oneWay);
         return cancellationFlag::cancel;
     }
 
+    private void dispatch(InvocationRequest request, EJBComponent component, DeploymentModuleIdentifier module, Runnable task, final boolean isAsync, final boolean oneWay) {
+        if (request.getProtocol().equals("local") && ! isAsync) {
+            task.run();
+            return;
+        }
+        Executor executor = this.virtualThreadExecutor;
+        if (executor == null) {
+            executor = this.executor;
+            if (executor == null) {
+                if (!isAsync && this.dispatchers == null) {
+                    task.run();
+                    return;
+                }
+                executor = request.getRequestExecutor();
+            }
+        }
+        if (this.dispatchers == null && !component.isStatisticsEnabled()) {
+            executor.execute(task);
+            return;
+        }
+        final DispatchMetrics metrics = component.getDispatchMetrics();
+        final long queueTime = System.currentTimeMillis();
+        final Runnable measuredTask = () -> {
+            metrics.dispatched(System.currentTimeMillis() - queueTime);
+            task.run();
+        };
+        metrics.queued();
+        if (this.dispatchers == null) {
+            try {
+                executor.execute(measuredTask);
+            } catch (RejectedExecutionException e) {
+                metrics.rejected();
+                throw e;
+            }
+            return;
+        }
+        final BoundedInvocationDispatcher dispatcher = this.dispatchers.computeIfAbsent(module, key -> new BoundedInvocationDispatcher(MAX_CONCURRENCY, MAX_QUEUE_SIZE));
+        if (!dispatcher.dispatch(measuredTask, executor)) {
+            metrics.rejected();
+            if (!oneWay) {
+                request.writeException(EjbLogger.REMOTE_LOGGER.remoteInvocationRejected(component.getComponentName(), MAX_QUEUE_SIZE));
+            }
+        }
+    }
+
+    /**
+     * @return the value of the system property, or the default value if it is not a positive integer
+     */
+    private static int getPositiveIntProperty(String name, int defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                final int result = Integer.parseInt(value.trim());
+                if (result > 0) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // use the default value
+            }
+            EjbLogger.REMOTE_LOGGER.invalidSystemPropertyValue(value, name, defaultValue);
+        }
+        return defaultValue;
+    }
+
     private void updateAffinities(InvocationRequest invocationRequest, Map<String, Object> attachments, EJBLocator<?> ejbLocator, ComponentView componentView) {
         Affinity legacyAffinity = null;
         Affinity weakAffinity = null;
@@ -0,0 +1,99 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the remote invocations of a deployment that run concurrently, so that the slow invocations of a deployment
+ * cannot occupy all the threads of the executor, and the invocations that wait for a thread, so that a deployment
+ * that cannot keep up rejects invocations instead of queueing them without bound.
+ * <p/>
+ * The invocations are started in the order they are dispatched.
+ */
+final class BoundedInvocationDispatcher {
+
+    private static final class Task {
+        final Runnable runnable;
+        final Executor executor;
+
+        Task(Runnable runnable, Executor executor) {
+            this.runnable = runnable;
+            this.executor = executor;
+        }
+    }
+
+    private final int maxConcurrency;
+    private final int maxQueueSize;
+    private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+
+    BoundedInvocationDispatcher(int maxConcurrency, int maxQueueSize) {
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * Runs a task on an executor once fewer than the maximum number of tasks of this dispatcher are running.
+     *
+     * @return false if the task was rejected because the maximum number of tasks are already queued
+     */
+    boolean dispatch(Runnable runnable, Executor executor) {
+        if (this.queued.incrementAndGet() > this.maxQueueSize) {
+            this.queued.decrementAndGet();
+            return false;
+        }
+        this.queue.add(new Task(runnable, executor));
+        this.drain();
+        return true;
+    }
+
+    int getQueued() {
+        return this.queued.get();
+    }
+
+    int getRunning() {
+        return this.running.get();
+    }
+
+    private void drain() {
+        // a task that completes drains the queue after releasing its permit, so a task queued while all the permits were taken is not stranded
+        while (!this.queue.isEmpty()) {
+            int current = this.running.get();
+            if (current >= this.maxConcurrency) {
+                return;
+            }
+            if (!this.running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Task task = this.queue.poll();
+            if (task == null) {
+                this.running.decrementAndGet();
+                continue;
+            }
+            this.queued.decrementAndGet();
+            Runnable command = () -> {
+                try {
+                    task.runnable.run();
+                } finally {
+                    this.running.decrementAndGet();
+                    this.drain();
+                }
+            };
+            try {
+                task.executor.execute(command);
+            } catch (RejectedExecutionException e) {
+                // the executor is saturated or shutting down, the caller runs the task as it would without this dispatcher
+                command.run();
+            }
+        }
+    }
+}
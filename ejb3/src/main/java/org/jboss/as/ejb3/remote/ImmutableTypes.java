@@ -0,0 +1,104 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Identifies the values that a local invocation can pass by reference instead of cloning them, because they cannot be
+ * modified and their class is the same on both sides of the invocation: the immutable types of the JDK, the enums,
+ * and the records whose components are themselves of such types.
+ * <p/>
+ * The kind of a class is computed once, on its first invocation.
+ *
+ * @see LocalEjbReceiver
+ */
+final class ImmutableTypes {
+
+    private enum Kind {
+        /** Immutable, and loaded by the bootstrap class loader */
+        SHARED,
+        /** Immutable, and defined by a deployment class loader */
+        LOCAL,
+        /** Possibly mutable */
+        CLONED,
+    }
+
+    private static final Set<Class<?>> IMMUTABLE_CLASSES = Set.of(String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, UUID.class, URI.class, Locale.class);
+
+    private static final ClassValue<Kind> KINDS = new ClassValue<>() {
+        @Override
+        protected Kind computeValue(Class<?> type) {
+            return kind(type, new HashSet<>());
+        }
+    };
+
+    private ImmutableTypes() {
+    }
+
+    /**
+     * @param type the class of a value
+     * @param destClassLoader the class loader of the side of the invocation that receives the value
+     * @return true if the value can be passed by reference
+     */
+    static boolean isShareable(Class<?> type, ClassLoader destClassLoader) {
+        switch (KINDS.get(type)) {
+            case SHARED:
+                return true;
+            case LOCAL:
+                // the class cloner resolves a class defined by the destination class loader to itself
+                return type.getClassLoader() == destClassLoader;
+            default:
+                return false;
+        }
+    }
+
+    private static Kind kind(Class<?> type, Set<Class<?>> visiting) {
+        if (IMMUTABLE_CLASSES.contains(type) || isTimeType(type)) {
+            return Kind.SHARED;
+        }
+        if (Enum.class.isAssignableFrom(type)) {
+            // the deserialization of an enum resolves its constant
+            return (type.getClassLoader() == null) ? Kind.SHARED : Kind.LOCAL;
+        }
+        if (type.isRecord() && Serializable.class.isAssignableFrom(type) && visiting.add(type)) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                Class<?> componentType = component.getType();
+                if (componentType.isPrimitive()) {
+                    continue;
+                }
+                // a component whose type is not final could hold a mutable subclass
+                if (!Modifier.isFinal(componentType.getModifiers()) && !componentType.isEnum() && !isTimeType(componentType)) {
+                    return Kind.CLONED;
+                }
+                Kind kind = kind(componentType, visiting);
+                if (kind == Kind.CLONED || (kind == Kind.LOCAL && componentType.getClassLoader() != type.getClassLoader())) {
+                    return Kind.CLONED;
+                }
+            }
+            visiting.remove(type);
+            return (type.getClassLoader() == null) ? Kind.SHARED : Kind.LOCAL;
+        }
+        return Kind.CLONED;
+    }
+
+    /**
+     * The serializable types of java.time, including the subclasses of its abstract types, are immutable.
+     */
+    private static boolean isTimeType(Class<?> type) {
+        return type.getPackageName().equals("java.time") && Serializable.class.isAssignableFrom(type);
+    }
+}
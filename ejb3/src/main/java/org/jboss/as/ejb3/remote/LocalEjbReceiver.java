@@ -88,8 +88,9 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (!ejb.isRemoteView(viewClass.getName())) {
             throw EjbLogger.ROOT_LOGGER.viewNotFound(viewClass.getName(), ejb.getEjbName());
         }
+        final ClassLoader deploymentClassLoader = ejb.getDeploymentClassLoader();
         final ClonerConfiguration paramConfig = new ClonerConfiguration();
-        paramConfig.setClassCloner(new ClassLoaderClassCloner(ejb.getDeploymentClassLoader()));
+        paramConfig.setClassCloner(new ClassLoaderClassCloner(deploymentClassLoader));
         final ObjectCloner parameterCloner = createCloner(paramConfig);
         //TODO: this is not very efficient
         final Method method = view.getMethod(invocation.getInvokedMethod().getName(), DescriptorUtils.methodDescriptor(invocation.getInvokedMethod()));
@@ -100,9 +101,10 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (invocation.getParameters() == null) {
             parameters = EMPTY_STRING_ARRAY;
         } else {
+            final Class<?>[] parameterTypes = method.getParameterTypes();
             parameters = new Object[invocation.getParameters().length];
             for (int i = 0; i < parameters.length; ++i) {
-                parameters[i] = clone(method.getParameterTypes()[i], parameterCloner, invocation.getParameters()[i], allowPassByReference);
+                parameters[i] = clone(parameterTypes[i], parameterCloner, invocation.getParameters()[i], allowPassByReference, deploymentClassLoader);
             }
         }
 
@@ -148,8 +150,9 @@ public class LocalEjbReceiver extends EJBReceiver {
             throw EjbLogger.ROOT_LOGGER.ejbNotFoundInDeployment(locator);
         }
 
+        final ClassLoader resultClassLoader = WildFlySecurityManager.getClassLoaderPrivileged(invocation.getInvokedProxy().getClass());
         final ClonerConfiguration config = new ClonerConfiguration();
-        config.setClassCloner(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(invocation.getInvokedProxy().getClass())));
+        config.setClassCloner(new LocalInvocationClassCloner(resultClassLoader));
         final ObjectCloner resultCloner = createCloner(config);
         if (async) {
             if (ejbComponent instanceof SessionBeanComponent) {
@@ -181,7 +184,7 @@ public class LocalEjbReceiver extends EJBReceiver {
                             result = view.invoke(interceptorContext);
                         } catch (Exception e) {
                             // WFLY-4331 - clone the exception of an async task
-                            receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                            receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference, resultClassLoader));
                             return;
                         }
                         // if the result is null, there is no cloning needed
@@ -202,7 +205,7 @@ public class LocalEjbReceiver extends EJBReceiver {
                                     intr = true;
                                 } catch (ExecutionException e) {
                                     // WFLY-4331 - clone the exception of an async task
-                                    receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                                    receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference, resultClassLoader));
                                     return;
                                 }
                             } finally {
@@ -213,10 +216,10 @@ public class LocalEjbReceiver extends EJBReceiver {
                                 receiverContext.resultReady(NULL_RESULT);
                                 return;
                             }
-                            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, asyncValue, allowPassByReference));
+                            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, asyncValue, allowPassByReference, resultClassLoader));
                             return;
                         }
-                        receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference));
+                        receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference, resultClassLoader));
                     } finally {
                         StartupCountdown.restore(null);
                     }
@@ -243,10 +246,10 @@ public class LocalEjbReceiver extends EJBReceiver {
             } catch (Exception e) {
                 //we even have to clone the exception type
                 //to make sure it matches
-                receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference, resultClassLoader));
                 return;
             }
-            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference));
+            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference, resultClassLoader));
 
             handleReturningContextData(invocation, interceptorContext);
         }
@@ -292,16 +295,18 @@ public class LocalEjbReceiver extends EJBReceiver {
         private final ObjectCloner resultCloner;
         private final Object result;
         private final boolean allowPassByReference;
+        private final ClassLoader resultClassLoader;
 
-        CloningResultProducer(final EJBClientInvocationContext invocation, final ObjectCloner resultCloner, final Object result, final boolean allowPassByReference) {
+        CloningResultProducer(final EJBClientInvocationContext invocation, final ObjectCloner resultCloner, final Object result, final boolean allowPassByReference, final ClassLoader resultClassLoader) {
             this.invocation = invocation;
             this.resultCloner = resultCloner;
             this.result = result;
             this.allowPassByReference = allowPassByReference;
+            this.resultClassLoader = resultClassLoader;
         }
 
         public Object getResult() throws Exception {
-            return LocalEjbReceiver.clone(invocation.getInvokedMethod().getReturnType(), resultCloner, result, allowPassByReference);
+            return LocalEjbReceiver.clone(invocation.getInvokedMethod().getReturnType(), resultCloner, result, allowPassByReference, resultClassLoader);
         }
 
         public void discardResult() {
@@ -312,15 +317,17 @@ public class LocalEjbReceiver extends EJBReceiver {
         private final ObjectCloner resultCloner;
         private final Exception exception;
         private final boolean allowPassByReference;
+        private final ClassLoader resultClassLoader;
 
-        CloningExceptionProducer(final ObjectCloner resultCloner, final Exception exception, final boolean allowPassByReference) {
+        CloningExceptionProducer(final ObjectCloner resultCloner, final Exception exception, final boolean allowPassByReference, final ClassLoader resultClassLoader) {
             this.resultCloner = resultCloner;
             this.exception = exception;
             this.allowPassByReference = allowPassByReference;
+            this.resultClassLoader = resultClassLoader;
         }
 
         public Object getResult() throws Exception {
-            throw (Exception) LocalEjbReceiver.clone(Exception.class, resultCloner, exception, allowPassByReference);
+            throw (Exception) LocalEjbReceiver.clone(Exception.class, resultCloner, exception, allowPassByReference, resultClassLoader);
         }
 
         public void discardResult() {
@@ -350,7 +357,7 @@ public class LocalEjbReceiver extends EJBReceiver {
         return ((StatefulSessionComponent) component).createSession();
     }
 
-    static Object clone(final Class<?> target, final ObjectCloner cloner, final Object object, final boolean allowPassByReference) {
+    static Object clone(final Class<?> target, final ObjectCloner cloner, final Object object, final boolean allowPassByReference, final ClassLoader destClassLoader) {
         if (object == null) {
             return null;
         }
@@ -361,6 +368,10 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (allowPassByReference && target.isAssignableFrom(object.getClass())) {
             return object;
         }
+        // don't clone the values that cannot be modified, the clone would be equal
+        if (ImmutableTypes.isShareable(object.getClass(), destClassLoader)) {
+            return object;
+        }
         return clone(cloner, object);
     }
 
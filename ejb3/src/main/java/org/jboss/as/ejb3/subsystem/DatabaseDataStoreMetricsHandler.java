@@ -0,0 +1,43 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ejb3.timerservice.persistence.database.DatabaseTimerPersistence;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the write batching metrics of a {@link DatabaseTimerPersistence}.
+ */
+class DatabaseDataStoreMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    static final DatabaseDataStoreMetricsHandler INSTANCE = new DatabaseDataStoreMetricsHandler();
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        final String storeName = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR)).getLastElement().getValue();
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(TimerPersistenceResourceDefinition.CAPABILITY.getCapabilityServiceName(storeName));
+        if (controller == null || !(controller.getService() instanceof DatabaseTimerPersistence)) {
+            return;
+        }
+        final DatabaseTimerPersistence persistence = (DatabaseTimerPersistence) controller.getService();
+        if (DatabaseDataStoreResourceDefinition.FLUSH_COUNT.getName().equals(attributeName)) {
+            context.getResult().set(persistence.getFlushCount());
+        } else if (DatabaseDataStoreResourceDefinition.AVERAGE_BATCH_SIZE.getName().equals(attributeName)) {
+            context.getResult().set(persistence.getAverageBatchSize());
+        } else if (DatabaseDataStoreResourceDefinition.AVERAGE_FLUSH_TIME.getName().equals(attributeName)) {
+            context.getResult().set(persistence.getAverageFlushTime());
+        } else if (DatabaseDataStoreResourceDefinition.MAX_FLUSH_TIME.getName().equals(attributeName)) {
+            context.getResult().set(persistence.getMaxFlushTime());
+        }
+    }
+}
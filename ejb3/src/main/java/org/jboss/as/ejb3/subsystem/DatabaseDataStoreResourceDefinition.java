@@ -11,6 +11,7 @@ import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
@@ -60,6 +61,31 @@ public class DatabaseDataStoreResourceDefinition extends TimerPersistenceResourc
                     .build();
 
     private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { DATASOURCE_JNDI_NAME, DATABASE, PARTITION, REFRESH_INTERVAL, ALLOW_EXECUTION };
+
+    static final SimpleAttributeDefinition FLUSH_COUNT =
+            new SimpleAttributeDefinitionBuilder("flush-count", ModelType.LONG)
+                    .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+                    .setStorageRuntime()
+                    .build();
+
+    static final SimpleAttributeDefinition AVERAGE_BATCH_SIZE =
+            new SimpleAttributeDefinitionBuilder("average-batch-size", ModelType.DOUBLE)
+                    .setStorageRuntime()
+                    .build();
+
+    static final SimpleAttributeDefinition AVERAGE_FLUSH_TIME =
+            new SimpleAttributeDefinitionBuilder("average-flush-time", ModelType.LONG)
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setStorageRuntime()
+                    .build();
+
+    static final SimpleAttributeDefinition MAX_FLUSH_TIME =
+            new SimpleAttributeDefinitionBuilder("max-flush-time", ModelType.LONG)
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setStorageRuntime()
+                    .build();
+
+    static final AttributeDefinition[] METRICS = new AttributeDefinition[] { FLUSH_COUNT, AVERAGE_BATCH_SIZE, AVERAGE_FLUSH_TIME, MAX_FLUSH_TIME };
     private static final DatabaseDataStoreAdd ADD_HANDLER = new DatabaseDataStoreAdd();
 
     DatabaseDataStoreResourceDefinition() {
@@ -73,6 +99,9 @@ public class DatabaseDataStoreResourceDefinition extends TimerPersistenceResourc
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
         }
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, DatabaseDataStoreMetricsHandler.INSTANCE);
+        }
     }
 
 }
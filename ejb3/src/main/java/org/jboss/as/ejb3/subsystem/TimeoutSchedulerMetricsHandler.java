@@ -0,0 +1,42 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Reads the metrics of the {@link TimeoutScheduler} of the timer service.
+ * The metrics are undefined when the timer service does not schedule its timeouts itself, i.e. when no thread pool is configured.
+ */
+class TimeoutSchedulerMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    static final TimeoutSchedulerMetricsHandler INSTANCE = new TimeoutSchedulerMetricsHandler();
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        final ServiceName serviceName = context.getCapabilityServiceName(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_CAPABILITY.getName(), TimeoutScheduler.class);
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return;
+        }
+        final TimeoutScheduler scheduler = (TimeoutScheduler) controller.getValue();
+        if (TimerServiceResourceDefinition.SCHEDULED_TIMEOUTS.getName().equals(attributeName)) {
+            context.getResult().set(scheduler.getScheduledTimeoutCount());
+        } else if (TimerServiceResourceDefinition.MAX_SCHEDULER_LAG.getName().equals(attributeName)) {
+            context.getResult().set(scheduler.getMaxLag());
+        } else if (TimerServiceResourceDefinition.AVERAGE_SCHEDULER_LAG.getName().equals(attributeName)) {
+            context.getResult().set(scheduler.getAverageLag());
+        }
+    }
+}
@@ -8,6 +8,7 @@ package org.jboss.as.ejb3.subsystem;
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
 import java.util.Timer;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.OperationContext;
@@ -17,10 +18,14 @@ import org.jboss.as.ejb3.deployment.processors.TimerServiceDeploymentProcessor;
 import org.jboss.as.ejb3.deployment.processors.annotation.TimerServiceAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.merging.TimerMethodMergingProcessor;
 import org.jboss.as.ejb3.timerservice.TimerServiceMetaData;
+import org.jboss.as.ejb3.timerservice.scheduler.AbstractTimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.HashedWheelTimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.UtilTimerTimeoutScheduler;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.wildfly.subsystem.service.capability.CapabilityServiceInstaller;
 
 /**
@@ -30,6 +35,22 @@ import org.wildfly.subsystem.service.capability.CapabilityServiceInstaller;
  */
 public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
 
+    /**
+     * System property {@code jboss.ejb.timer.scheduler} to choose the scheduler of the timeouts of the timer services:
+     * {@code wheel} (the default) for a hashed timing wheel, {@code timer} for a {@link Timer}.
+     */
+    private static final String SCHEDULER_TYPE = WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.scheduler", "wheel");
+
+    /**
+     * System property {@code jboss.ejb.timer.scheduler.tick-duration} to configure the duration, in milliseconds, of a
+     * tick of the timing wheel, i.e. its precision.
+     */
+    private static final String TICK_DURATION_PROPERTY = "jboss.ejb.timer.scheduler.tick-duration";
+    private static final long DEFAULT_TICK_DURATION = 10L;
+    private static final long TICK_DURATION = getTickDuration();
+
+    private static final int WHEEL_SIZE = 512;
+
     @Override
     protected void performBoottime(final OperationContext context, ModelNode operation, final ModelNode model) throws OperationFailedException {
 
@@ -54,6 +75,34 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
 
         if (threadPoolName != null) {
             CapabilityServiceInstaller.builder(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY, Timer::new).onStop(Timer::cancel).build().install(context);
+            CapabilityServiceInstaller.builder(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_CAPABILITY, TimerServiceAdd::createTimeoutScheduler)
+                    .onStart(AbstractTimeoutScheduler::start)
+                    .onStop(AbstractTimeoutScheduler::stop)
+                    .build()
+                    .install(context);
+        }
+    }
+
+    private static AbstractTimeoutScheduler createTimeoutScheduler() {
+        if ("timer".equals(SCHEDULER_TYPE)) {
+            return new UtilTimerTimeoutScheduler();
+        }
+        return new HashedWheelTimeoutScheduler(TICK_DURATION, TimeUnit.MILLISECONDS, WHEEL_SIZE);
+    }
+
+    private static long getTickDuration() {
+        String value = WildFlySecurityManager.getPropertyPrivileged(TICK_DURATION_PROPERTY, null);
+        if (value != null) {
+            try {
+                long duration = Long.parseLong(value.trim());
+                if (duration > 0L) {
+                    return duration;
+                }
+            } catch (NumberFormatException e) {
+                // use the default duration
+            }
+            ROOT_LOGGER.invalidSystemPropertyValue(value, TICK_DURATION_PROPERTY, DEFAULT_TICK_DURATION);
         }
+        return DEFAULT_TICK_DURATION;
     }
 }
@@ -13,12 +13,14 @@ import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.ejb.timer.TimerManagementProvider;
 import org.wildfly.service.descriptor.NullaryServiceDescriptor;
@@ -33,6 +35,8 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
 
     public static final NullaryServiceDescriptor<Timer> TIMER_SERVICE_DESCRIPTOR = NullaryServiceDescriptor.of("org.wildfly.ejb3.timer-service", Timer.class);
     static final RuntimeCapability<Void> TIMER_SERVICE_CAPABILITY = RuntimeCapability.Builder.of(TIMER_SERVICE_DESCRIPTOR).build();
+    public static final NullaryServiceDescriptor<TimeoutScheduler> TIMEOUT_SCHEDULER_DESCRIPTOR = NullaryServiceDescriptor.of("org.wildfly.ejb3.timer-service.timeout-scheduler", TimeoutScheduler.class);
+    static final RuntimeCapability<Void> TIMEOUT_SCHEDULER_CAPABILITY = RuntimeCapability.Builder.of(TIMEOUT_SCHEDULER_DESCRIPTOR).build();
 
     static final SimpleAttributeDefinition THREAD_POOL_NAME =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.THREAD_POOL_NAME, ModelType.STRING)
@@ -69,6 +73,22 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
 
     static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE, DEFAULT_PERSISTENT_TIMER_MANAGEMENT, DEFAULT_TRANSIENT_TIMER_MANAGEMENT };
 
+    static final SimpleAttributeDefinition SCHEDULED_TIMEOUTS = new SimpleAttributeDefinitionBuilder("scheduled-timeouts", ModelType.INT)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition MAX_SCHEDULER_LAG = new SimpleAttributeDefinitionBuilder("max-scheduler-lag", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition AVERAGE_SCHEDULER_LAG = new SimpleAttributeDefinitionBuilder("average-scheduler-lag", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition[] METRICS = new AttributeDefinition[] { SCHEDULED_TIMEOUTS, MAX_SCHEDULER_LAG, AVERAGE_SCHEDULER_LAG };
+
     private final PathManager pathManager;
 
     public TimerServiceResourceDefinition(final PathManager pathManager) {
@@ -77,7 +97,7 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                 .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE)
                 .setAddRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
                 .setRemoveRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
-                .setCapabilities(TIMER_SERVICE_CAPABILITY));
+                .setCapabilities(TIMER_SERVICE_CAPABILITY, TIMEOUT_SCHEDULER_CAPABILITY));
         this.pathManager = pathManager;
     }
 
@@ -86,6 +106,9 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
         }
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, TimeoutSchedulerMetricsHandler.INSTANCE);
+        }
     }
 
     @Override
@@ -6,7 +6,6 @@
 package org.jboss.as.ejb3.timerservice;
 
 import java.util.List;
-import java.util.Timer;
 import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
@@ -16,6 +15,7 @@ import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.subsystem.EJB3SubsystemRootResourceDefinition;
 import org.jboss.as.ejb3.subsystem.TimerServiceResourceDefinition;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
 import org.jboss.as.ejb3.timerservice.spi.ManagedTimerService;
 import org.jboss.as.ejb3.timerservice.spi.ManagedTimerServiceFactory;
 import org.jboss.as.ejb3.timerservice.spi.ManagedTimerServiceFactoryConfiguration;
@@ -54,7 +54,7 @@ public class TimerServiceFactoryServiceInstaller implements DeploymentServiceIns
     public void install(DeploymentPhaseContext context) {
         ServiceDependency<Executor> executor = ServiceDependency.on(EJB3SubsystemRootResourceDefinition.EXECUTOR_SERVICE_DESCRIPTOR, this.threadPoolName);
         ServiceDependency<TimerPersistence> persistence = (this.store != null) ? ServiceDependency.on(TimerPersistence.SERVICE_DESCRIPTOR, this.store) : ServiceDependency.of(null);
-        ServiceDependency<Timer> timer = ServiceDependency.on(TimerServiceResourceDefinition.TIMER_SERVICE_DESCRIPTOR);
+        ServiceDependency<TimeoutScheduler> scheduler = ServiceDependency.on(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_DESCRIPTOR);
         TimedObjectInvokerFactory invokerFactory = this.configuration.getInvokerFactory();
         TimerServiceRegistry registry = this.configuration.getTimerServiceRegistry();
         TimerListener listener = this.configuration.getTimerListener();
@@ -85,8 +85,8 @@ public class TimerServiceFactoryServiceInstaller implements DeploymentServiceIns
                     }
 
                     @Override
-                    public Timer getTimer() {
-                        return timer.get();
+                    public TimeoutScheduler getTimeoutScheduler() {
+                        return scheduler.get();
                     }
 
                     @Override
@@ -103,7 +103,7 @@ public class TimerServiceFactoryServiceInstaller implements DeploymentServiceIns
         };
         ServiceInstaller.builder(Functions.constantSupplier(factory))
                 .provides(this.name)
-                .requires(List.of(executor, persistence, timer))
+                .requires(List.of(executor, persistence, scheduler))
                 .build()
                 .install(context);
     }
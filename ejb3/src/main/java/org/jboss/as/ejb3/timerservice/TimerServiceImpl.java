@@ -40,6 +40,8 @@ import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
 import org.jboss.as.ejb3.timerservice.persistence.database.DatabaseTimerPersistence;
 import org.jboss.as.ejb3.timerservice.schedule.CalendarBasedTimeout;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler.ScheduledTimeout;
 import org.jboss.as.ejb3.timerservice.spi.AutoTimer;
 import org.jboss.as.ejb3.timerservice.spi.ManagedTimer;
 import org.jboss.as.ejb3.timerservice.spi.ManagedTimerService;
@@ -70,9 +72,9 @@ public class TimerServiceImpl implements ManagedTimerService {
     private final ConcurrentMap<String, TimerImpl> timers = new ConcurrentHashMap<>();
 
     /**
-     * Holds the {@link java.util.concurrent.Future} of each of the timer tasks that have been scheduled
+     * Holds the {@link Task} of each of the timers that have been scheduled
      */
-    private final ConcurrentMap<String, java.util.TimerTask> scheduledTimerFutures = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Task> scheduledTimerFutures = new ConcurrentHashMap<>();
 
     /**
      * Key that is used to store timers that are waiting on transaction completion in the transaction local
@@ -80,7 +82,7 @@ public class TimerServiceImpl implements ManagedTimerService {
     private final Object waitingOnTxCompletionKey = new Object();
 
     private final Executor executor;
-    private final java.util.Timer timer;
+    private final TimeoutScheduler scheduler;
     private final TimedObjectInvoker invoker;
     private final TimerPersistence persistence;
     private final TimerServiceRegistry timerServiceRegistry;
@@ -100,7 +102,7 @@ public class TimerServiceImpl implements ManagedTimerService {
     public TimerServiceImpl(TimerServiceConfiguration configuration) {
         this.invoker = configuration.getInvoker();
         this.executor = configuration.getExecutor();
-        this.timer = configuration.getTimer();
+        this.scheduler = configuration.getTimeoutScheduler();
         this.persistence = configuration.getTimerPersistence();
         this.timerServiceRegistry = configuration.getTimerServiceRegistry();
         this.timerListener = configuration.getTimerListener();
@@ -155,7 +157,7 @@ public class TimerServiceImpl implements ManagedTimerService {
         started = false;
         safeClose(listenerHandle);
         listenerHandle = null;
-        this.timer.purge(); //WFLY-3823
+        this.scheduler.purge(); //WFLY-3823
     }
 
     @Override
@@ -212,10 +214,6 @@ public class TimerServiceImpl implements ManagedTimerService {
         return this.createTimer(expiration, 0, timerConfig.getInfo(), timerConfig.isPersistent());
     }
 
-    public TimerImpl loadAutoTimer(ScheduleExpression schedule,TimerConfig timerConfig, Method timeoutMethod) {
-        return this.createCalendarTimer(schedule, timerConfig.getInfo(), timerConfig.isPersistent(), timeoutMethod);
-    }
-
     @Override
     public Collection<Timer> getTimers() {
         this.validateInvocationContext();
@@ -317,20 +315,7 @@ public class TimerServiceImpl implements ManagedTimerService {
      */
     private TimerImpl createCalendarTimer(ScheduleExpression schedule, Serializable info, boolean persistent, Method timeoutMethod) {
         // allowed method check and parameter validation are already done in all code paths before reaching here.
-        // generate an id for the timer
-        UUID uuid = UUID.randomUUID();
-        // create the timer
-        TimerImpl timer = CalendarTimer.builder()
-                .setAutoTimer(timeoutMethod != null)
-                .setScheduleExpression(schedule)
-                .setTimeoutMethod(timeoutMethod)
-                .setTimerState(TimerState.CREATED)
-                .setId(uuid.toString())
-                .setPersistent(persistent)
-                .setTimedObjectId(getInvoker().getTimedObjectId())
-                .setInfo(info)
-                .setNewTimer(true)
-                .build(this);
+        TimerImpl timer = this.buildCalendarTimer(schedule, info, persistent, timeoutMethod);
 
         this.persistTimer(timer, true);
         // now "start" the timer. This involves, moving the timer to an ACTIVE state
@@ -348,6 +333,23 @@ public class TimerServiceImpl implements ManagedTimerService {
         return timer;
     }
 
+    private TimerImpl buildCalendarTimer(ScheduleExpression schedule, Serializable info, boolean persistent, Method timeoutMethod) {
+        // generate an id for the timer
+        UUID uuid = UUID.randomUUID();
+        // create the timer
+        return CalendarTimer.builder()
+                .setAutoTimer(timeoutMethod != null)
+                .setScheduleExpression(schedule)
+                .setTimeoutMethod(timeoutMethod)
+                .setTimerState(TimerState.CREATED)
+                .setId(uuid.toString())
+                .setPersistent(persistent)
+                .setTimedObjectId(getInvoker().getTimedObjectId())
+                .setInfo(info)
+                .setNewTimer(true)
+                .build(this);
+    }
+
     public TimerImpl getTimer(final String timerId) {
         return this.timers.get(timerId);
     }
@@ -428,26 +430,10 @@ public class TimerServiceImpl implements ManagedTimerService {
                     EJB3_TIMER_LOGGER.timerPersistenceNotEnable();
                     return;
                 }
-                final ContextTransactionManager transactionManager = ContextTransactionManager.getInstance();
-                Transaction clientTX = transactionManager.getTransaction();
-                if (newTimer || timer.isCanceled()) {
-                    if (clientTX == null) {
-                        transactionManager.begin();
-                    }
-                    try {
-                        if (newTimer) this.persistence.addTimer(timer);
-                        else this.persistence.persistTimer(timer);
-                        if (clientTX == null) transactionManager.commit();
-                    } catch (Exception e) {
-                        if (clientTX == null) {
-                            try {
-                                transactionManager.rollback();
-                            } catch (Exception ee) {
-                                EjbLogger.EJB3_TIMER_LOGGER.timerUpdateFailedAndRollbackNotPossible(ee);
-                            }
-                        }
-                        throw e;
-                    }
+                if (newTimer) {
+                    this.persistInTransaction(persistence -> persistence.addTimer(timer));
+                } else if (timer.isCanceled()) {
+                    this.persistInTransaction(persistence -> persistence.persistTimer(timer));
                 } else {
                     new TaskPostPersist(timer).persistTimer();
                 }
@@ -459,6 +445,70 @@ public class TimerServiceImpl implements ManagedTimerService {
         }
     }
 
+    /**
+     * Persists the passed new auto timers at once.
+     * The non-persistent timers are ignored.
+     *
+     * @param timers the new auto timers
+     */
+    private void persistAutoTimers(final List<TimerImpl> timers) {
+        List<TimerImpl> persistentTimers = new ArrayList<>(timers.size());
+        for (TimerImpl timer : timers) {
+            if (timer.persistent) {
+                persistentTimers.add(timer);
+            }
+        }
+        if (persistentTimers.isEmpty()) {
+            return;
+        }
+        if (this.persistence == null) {
+            EJB3_TIMER_LOGGER.timerPersistenceNotEnable();
+            return;
+        }
+        try {
+            this.persistInTransaction(persistence -> persistence.addTimers(persistentTimers));
+        } catch (Throwable t) {
+            this.setRollbackOnly();
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Applies a change to the timer persistence within the current transaction, or within a new transaction that is
+     * committed before returning if there is none.
+     * <p>
+     * The timer persistence may defer its writes until the transaction completes, e.g. the database timer persistence
+     * sends them in a batch before the commit. A write that fails is then not reported by this method: the
+     * transaction is rolled back and its commit fails with a {@link jakarta.transaction.RollbackException}.
+     *
+     * @param change the change to apply
+     */
+    private void persistInTransaction(final TimerPersistenceChange change) throws Exception {
+        final ContextTransactionManager transactionManager = ContextTransactionManager.getInstance();
+        Transaction clientTX = transactionManager.getTransaction();
+        if (clientTX == null) {
+            transactionManager.begin();
+        }
+        try {
+            change.apply(this.persistence);
+            if (clientTX == null) transactionManager.commit();
+        } catch (Exception e) {
+            if (clientTX == null) {
+                try {
+                    transactionManager.rollback();
+                } catch (Exception ee) {
+                    EjbLogger.EJB3_TIMER_LOGGER.timerUpdateFailedAndRollbackNotPossible(ee);
+                }
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface TimerPersistenceChange {
+        void apply(TimerPersistence persistence);
+    }
+
     public void cancelTimer(final TimerImpl timer) throws InterruptedException {
         timer.lock();
         boolean release = true;
@@ -593,8 +643,20 @@ public class TimerServiceImpl implements ManagedTimerService {
             EJB3_TIMER_LOGGER.debugv("Started timer: {0}", activeTimer);
         }
 
+        // persist the new auto timers at once, a deployment may declare many of them
+        List<TimerImpl> autoTimers = new ArrayList<>(newAutoTimers.size());
         for (AutoTimer timer : newAutoTimers) {
-            this.loadAutoTimer(timer.getScheduleExpression(), timer.getTimerConfig(), timer.getMethod());
+            TimerConfig timerConfig = timer.getTimerConfig();
+            autoTimers.add(this.buildCalendarTimer(timer.getScheduleExpression(), timerConfig.getInfo(), timerConfig.isPersistent(), timer.getMethod()));
+        }
+        this.persistAutoTimers(autoTimers);
+        for (TimerImpl timer : autoTimers) {
+            // auto timers persisted by another node are marked as CANCELED
+            if (timer.getState() == TimerState.CANCELED) {
+                EJB3_TIMER_LOGGER.debugv("The auto timer was already created by other node: {0}", timer);
+                continue;
+            }
+            this.startTimer(timer);
         }
 
     }
@@ -666,7 +728,7 @@ public class TimerServiceImpl implements ManagedTimerService {
             if (delay < 0) {
                 delay = 0;
             }
-            this.timer.scheduleAtFixedRate(task, delay, intervalDuration);
+            task.scheduled(this.scheduler.scheduleAtFixedRate(task, delay, intervalDuration));
         } else {
             EJB3_TIMER_LOGGER.debugv("Scheduling a single action timer {0} starting at {1} milliseconds from now", timer, delay);
             // if in past, then trigger immediately; if overdue by 5 minutes, set next expiration to current time
@@ -676,7 +738,7 @@ public class TimerServiceImpl implements ManagedTimerService {
                 }
                 delay = 0;
             }
-            this.timer.schedule(task, delay);
+            task.scheduled(this.scheduler.schedule(task, delay));
         }
     }
 
@@ -916,7 +978,7 @@ public class TimerServiceImpl implements ManagedTimerService {
         }
     }
 
-    private class TaskPostPersist extends java.util.TimerTask {
+    private class TaskPostPersist implements Runnable {
         private final TimerImpl timer;
         private long delta = 0;
         private long nextExpirationPristine = 0;
@@ -958,7 +1020,7 @@ public class TimerServiceImpl implements ManagedTimerService {
                     if (delta == 0L) {
                         delta = nextExpirationDelay / (1L + MAX_RETRY.longValue());
                     }
-                    TimerServiceImpl.this.timer.schedule(new TaskPostPersist(timer, delta, nextExpirationPristine), delta);
+                    TimerServiceImpl.this.scheduler.schedule(new TaskPostPersist(timer, delta, nextExpirationPristine), delta);
                 } else {
                     EJB3_TIMER_LOGGER.exceptionPersistPostTimerState(timer, e);
                 }
@@ -966,7 +1028,7 @@ public class TimerServiceImpl implements ManagedTimerService {
         }
     }
 
-    private class Task extends java.util.TimerTask {
+    private class Task implements Runnable {
 
         private final TimerTask delegate;
         private final ControlPoint controlPoint;
@@ -975,6 +1037,8 @@ public class TimerServiceImpl implements ManagedTimerService {
          * used to stop timer tasks banking up when the container is suspended.
          */
         private volatile boolean queued = false;
+        private volatile boolean cancelled = false;
+        private volatile ScheduledTimeout timeout;
 
         public Task(final TimerTask delegate, ControlPoint controlPoint) {
             this.delegate = delegate;
@@ -1001,10 +1065,19 @@ public class TimerServiceImpl implements ManagedTimerService {
             }
         }
 
-        @Override
-        public boolean cancel() {
+        void scheduled(ScheduledTimeout timeout) {
+            this.timeout = timeout;
+            // the task may have been cancelled before it was scheduled
+            if (cancelled) {
+                timeout.cancel();
+            }
+        }
+
+        boolean cancel() {
+            cancelled = true;
             delegate.cancel();
-            return super.cancel();
+            ScheduledTimeout timeout = this.timeout;
+            return timeout == null || timeout.cancel();
         }
     }
 
@@ -5,6 +5,7 @@
 package org.jboss.as.ejb3.timerservice.persistence;
 
 import java.io.Closeable;
+import java.util.Collection;
 import java.util.List;
 
 import org.jboss.as.ejb3.timerservice.TimerImpl;
@@ -31,6 +32,19 @@ public interface TimerPersistence {
      */
     void addTimer(TimerImpl timer);
 
+    /**
+     * Called when several timers are being persisted at once, e.g. the auto timers of a timed object on deployment.
+     * Implementations may persist the timers more efficiently than one at a time.
+     *
+     * @param timers The timers
+     * @see #addTimer(TimerImpl)
+     */
+    default void addTimers(Collection<TimerImpl> timers) {
+        for (TimerImpl timer : timers) {
+            this.addTimer(timer);
+        }
+    }
+
     /**
      * Called when a timer is being persisted
      *
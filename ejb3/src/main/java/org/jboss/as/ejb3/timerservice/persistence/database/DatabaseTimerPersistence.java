@@ -29,6 +29,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -43,6 +44,8 @@ import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -52,7 +55,10 @@ import jakarta.transaction.HeuristicMixedException;
 import jakarta.transaction.HeuristicRollbackException;
 import jakarta.transaction.NotSupportedException;
 import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
 import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.timerservice.CalendarTimer;
@@ -78,6 +84,7 @@ import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.wildfly.security.manager.WildFlySecurityManager;
 import org.wildfly.transaction.client.ContextTransactionManager;
+import org.wildfly.transaction.client.ContextTransactionSynchronizationRegistry;
 
 /**
  * <p>
@@ -137,9 +144,13 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private static final String UPDATE_TIMER = "update-timer";
     private static final String LOAD_ALL_TIMERS = "load-all-timers";
     private static final String LOAD_TIMER = "load-timer";
+    private static final String LOAD_TIMER_STATES = "load-timer-states";
+    private static final String LOAD_TIMERS = "load-timers";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
     private static final String GET_TIMER_INFO = "get-timer-info";
+    /** The maximum number of values bound to the {@code %s} IN list of the refresh queries*/
+    private static final int IN_LIST_SIZE = 100;
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
     /** Pattern to pickout MSSQL */
@@ -167,6 +178,27 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private final long clearTimerInfoCacheBeyond = TimeUnit.MINUTES.toMillis(Long.parseLong(
             WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.database.clearTimerInfoCacheBeyond", "15")));
 
+    /**
+     * System property {@code jboss.ejb.timer.database.batchSize} to configure the maximum number of timer writes
+     * of a transaction that are held back until the transaction commits.
+     * The default value is 100.
+     * <p>
+     * The inserts, updates and deletes of timers within a transaction are coalesced and sent to the database
+     * as JDBC batches before the transaction commits, or as soon as this number of pending writes is reached.
+     * If it is set to 1 or less, each timer write is sent to the database immediately.
+     * <p>
+     * A batched write that fails is not reported to the caller that queued it. The failure is thrown by the
+     * synchronization that sends the batch, which rolls the transaction back, and the commit of the transaction fails
+     * with a {@link jakarta.transaction.RollbackException}.
+     */
+    private final int batchSize = Integer.parseInt(
+            WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.database.batchSize", "100"));
+
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushedWrites = new LongAdder();
+    private final LongAdder flushTime = new LongAdder();
+    private final LongAccumulator maxFlushTime = new LongAccumulator(Math::max, 0L);
+
     public DatabaseTimerPersistence(final Consumer<DatabaseTimerPersistence> dbConsumer,
                                     final Supplier<ManagedReferenceFactory> dataSourceSupplier,
                                     final Supplier<ModuleLoader> moduleLoaderSupplier,
@@ -409,6 +441,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
      * @return the timer loaded from database; null if nothing can be loaded
      */
     public TimerImpl loadTimer(final String timedObjectId, final String timerId, final TimerServiceImpl timerService) {
+        flushTransactionBatch();
         String loadTimer = sql.getProperty(LOAD_TIMER);
         Connection connection = null;
         PreparedStatement preparedStatement = null;
@@ -448,75 +481,248 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         }
 
         if (timerEntity.isAutoTimer()) {
-            addAutoTimer((CalendarTimer) timerEntity);
+            addAutoTimers(Collections.singletonList((CalendarTimer) timerEntity));
             return;
         }
 
-        String createTimer = sql.getProperty(CREATE_TIMER);
-        Connection connection = null;
-        PreparedStatement statement = null;
-        try {
+        synchronized (this) {
+            knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+        }
+        write(TimerWriteBatch.Operation.INSERT, timerEntity);
+    }
+
+    @Override
+    public void addTimers(final Collection<TimerImpl> timers) {
+        final List<CalendarTimer> autoTimers = new ArrayList<>();
+        for (TimerImpl timerEntity : timers) {
+            if (timerEntity.isAutoTimer()) {
+                synchronized (this) {
+                    if (!knownTimerIds.containsKey(timerEntity.getTimedObjectId())) {
+                        throw EjbLogger.EJB3_TIMER_LOGGER.timerCannotBeAdded(timerEntity);
+                    }
+                }
+                autoTimers.add((CalendarTimer) timerEntity);
+            } else {
+                addTimer(timerEntity);
+            }
+        }
+        if (!autoTimers.isEmpty()) {
+            addAutoTimers(autoTimers);
+        }
+    }
+
+    @Override
+    public void persistTimer(final TimerImpl timerEntity) {
+        if (timerEntity.getState() == TimerState.CANCELED ||
+                timerEntity.getState() == TimerState.EXPIRED) {
+            synchronized (this) {
+                knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
+            }
+            write(TimerWriteBatch.Operation.DELETE, timerEntity);
+        } else {
             synchronized (this) {
                 knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
             }
-            connection = dataSource.getConnection();
-            statement = connection.prepareStatement(createTimer);
-            statementParameters(timerEntity, statement);
-            statement.execute();
+            write(TimerWriteBatch.Operation.UPDATE, timerEntity);
+        }
+    }
 
-            if (isClearTimerInfoCache(timerEntity)) {
-                timerEntity.setCachedTimerInfo(Object.class);
-                EjbLogger.EJB3_TIMER_LOGGER.debugf("Cleared timer info for timer: %s", timerEntity.getId());
+    /**
+     * Adds a timer write to the batch of the current transaction, or executes it immediately if there is no
+     * transaction or if batching is disabled.
+     */
+    private void write(final TimerWriteBatch.Operation operation, final TimerImpl timerEntity) {
+        final TimerWriteBatch batch = getTransactionBatch(true);
+        if (batch == null) {
+            final TimerWriteBatch single = new TimerWriteBatch();
+            single.add(operation, timerEntity);
+            flush(single);
+            return;
+        }
+        batch.add(operation, timerEntity);
+        if (batch.size() >= batchSize) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * Returns the write batch of the current transaction.
+     *
+     * @param create whether to create the batch of the transaction if it does not exist yet
+     * @return the write batch, or null if batching is disabled, if there is no active transaction or if there is no batch
+     * and {@code create} is false
+     */
+    private TimerWriteBatch getTransactionBatch(final boolean create) {
+        if (batchSize <= 1) {
+            return null;
+        }
+        final TransactionSynchronizationRegistry tsr = ContextTransactionSynchronizationRegistry.getInstance();
+        if (tsr.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            return null;
+        }
+        TimerWriteBatch batch = (TimerWriteBatch) tsr.getResource(this);
+        if (batch == null && create) {
+            final TimerWriteBatch newBatch = new TimerWriteBatch();
+            try {
+                // flush after the other synchronizations, which may still persist timers, but before the commit
+                tsr.registerInterposedSynchronization(new Synchronization() {
+                    @Override
+                    public void beforeCompletion() {
+                        flush(newBatch);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                    }
+                });
+            } catch (IllegalStateException e) {
+                // too late to register a synchronization, write immediately
+                return null;
             }
-        } catch (SQLException e) {
-            timerEntity.setCachedTimerInfo(null);
-            throw new RuntimeException(e);
-        } finally {
-            safeClose(statement);
-            safeClose(connection);
+            tsr.putResource(this, newBatch);
+            batch = newBatch;
         }
+        return batch;
     }
 
-    @Override
-    public void persistTimer(final TimerImpl timerEntity) {
+    /**
+     * Executes the pending writes of the current transaction, so that they are visible to the queries of this transaction.
+     */
+    private void flushTransactionBatch() {
+        final TimerWriteBatch batch = getTransactionBatch(false);
+        if (batch != null) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * Executes the pending writes of a batch, using one JDBC batch per type of statement.
+     */
+    private void flush(final TimerWriteBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final List<TimerWriteBatch.Write> writes = batch.drain();
+        final List<TimerImpl> inserts = new ArrayList<>();
+        final List<TimerImpl> updates = new ArrayList<>();
+        final List<TimerImpl> deletes = new ArrayList<>();
+        for (TimerWriteBatch.Write write : writes) {
+            switch (write.operation) {
+                case INSERT:
+                    inserts.add(write.timer);
+                    break;
+                case UPDATE:
+                    updates.add(write.timer);
+                    break;
+                default:
+                    deletes.add(write.timer);
+            }
+        }
+        final long start = System.nanoTime();
         Connection connection = null;
-        PreparedStatement statement = null;
         try {
             connection = dataSource.getConnection();
-            if (timerEntity.getState() == TimerState.CANCELED ||
-                    timerEntity.getState() == TimerState.EXPIRED) {
-                String deleteTimer = sql.getProperty(DELETE_TIMER);
-                statement = connection.prepareStatement(deleteTimer);
-                statement.setString(1, timerEntity.getTimedObjectId());
-                statement.setString(2, timerEntity.getId());
-                statement.setString(3, partition);
-                statement.execute();
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
-                }
-            } else {
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-                }
-                String updateTimer = sql.getProperty(UPDATE_TIMER);
-                statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
-                // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
-                statement.execute();
-            }
+            executeBatch(connection, sql.getProperty(CREATE_TIMER), inserts, this::statementParameters);
+            executeBatch(connection, sql.getProperty(UPDATE_TIMER), updates, this::updateStatementParameters);
+            executeBatch(connection, sql.getProperty(DELETE_TIMER), deletes, this::deleteStatementParameters);
         } catch (SQLException e) {
+            for (TimerImpl timerEntity : inserts) {
+                timerEntity.setCachedTimerInfo(null);
+            }
             throw new RuntimeException(e);
         } finally {
-            safeClose(statement);
             safeClose(connection);
+            flushed(writes.size(), System.nanoTime() - start);
+        }
+        for (TimerImpl timerEntity : inserts) {
+            if (isClearTimerInfoCache(timerEntity)) {
+                timerEntity.setCachedTimerInfo(Object.class);
+                EjbLogger.EJB3_TIMER_LOGGER.debugf("Cleared timer info for timer: %s", timerEntity.getId());
+            }
+        }
+    }
+
+    /**
+     * Executes a statement for each timer, as a JDBC batch if there is more than one timer.
+     *
+     * @return the update counts, one per timer
+     */
+    private <T extends TimerImpl> int[] executeBatch(final Connection connection, final String statementSql, final List<T> timers,
+                                                     final StatementParameters<T> parameters) throws SQLException {
+        if (timers.isEmpty()) {
+            return new int[0];
         }
+        try (PreparedStatement statement = connection.prepareStatement(statementSql)) {
+            if (timers.size() == 1) {
+                parameters.set(timers.get(0), statement);
+                return new int[] { statement.executeUpdate() };
+            }
+            for (T timerEntity : timers) {
+                parameters.set(timerEntity, statement);
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        }
+    }
+
+    private void flushed(int writes, long duration) {
+        flushCount.increment();
+        flushedWrites.add(writes);
+        flushTime.add(duration);
+        maxFlushTime.accumulate(duration);
+    }
+
+    /**
+     * @return the number of times timer writes were sent to the database
+     */
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    /**
+     * @return the average number of timer writes sent to the database at once
+     */
+    public double getAverageBatchSize() {
+        long count = flushCount.sum();
+        return (count == 0L) ? 0d : (double) flushedWrites.sum() / count;
+    }
+
+    /**
+     * @return the average time, in milliseconds, to send timer writes to the database
+     */
+    public long getAverageFlushTime() {
+        long count = flushCount.sum();
+        return (count == 0L) ? 0L : TimeUnit.NANOSECONDS.toMillis(flushTime.sum() / count);
+    }
+
+    /**
+     * @return the maximum time, in milliseconds, to send timer writes to the database
+     */
+    public long getMaxFlushTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxFlushTime.get());
+    }
+
+    private void updateStatementParameters(final TimerImpl timerEntity, final PreparedStatement statement) throws SQLException {
+        statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
+        statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
+        statement.setString(3, timerEntity.getState().name());
+        setNodeName(timerEntity.getState(), statement, 4);
+        // WHERE CLAUSE
+        statement.setString(5, timerEntity.getTimedObjectId());
+        statement.setString(6, timerEntity.getId());
+        statement.setString(7, partition);
+        statement.setString(8, nodeName);   // only persist if this node or empty
+    }
+
+    private void deleteStatementParameters(final TimerImpl timerEntity, final PreparedStatement statement) throws SQLException {
+        statement.setString(1, timerEntity.getTimedObjectId());
+        statement.setString(2, timerEntity.getId());
+        statement.setString(3, partition);
+    }
+
+    @FunctionalInterface
+    private interface StatementParameters<T extends TimerImpl> {
+        void set(T timerEntity, PreparedStatement statement) throws SQLException;
     }
 
     @Override
@@ -672,6 +878,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     }
 
     public void refreshTimers() {
+        flushTransactionBatch();
         refreshTask.run();
     }
 
@@ -811,86 +1018,94 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         setNodeName(timerEntity.getState(), statement, 26);
     }
 
-    private void addAutoTimer(final CalendarTimer timer) {
-        String createTimer = sql.getProperty(CREATE_AUTO_TIMER);
+    /**
+     * Inserts auto timers, unless they have already been inserted by another node, in which case their state is set to
+     * {@code CANCELED}.
+     */
+    private void addAutoTimers(final List<CalendarTimer> timers) {
+        final long start = System.nanoTime();
         Connection connection = null;
-        PreparedStatement statement = null;
-        final String timerInfoString = serialize(timer.getTimerInfo());
-        final Method timeoutMethod = timer.getTimeoutMethod();
-        final String timeoutMethodClassName = timeoutMethod.getDeclaringClass().getName();
-        final String timeoutMethodParam = timeoutMethod.getParameterCount() == 0 ? null : TIMER_PARAM_1;
-        final ScheduleExpression exp = timer.getScheduleExpression();
-        final String startDateString = schedulerDateAsString(exp.getStart());
-        final String endDateString = schedulerDateAsString(exp.getEnd());
         try {
             connection = dataSource.getConnection();
-            statement = connection.prepareStatement(createTimer);
-
-            // insert values
-            statement.setString(1, timer.getId());
-            statement.setString(2, timer.getTimedObjectId());
-            statement.setTimestamp(3, timestamp(timer.getNextExpiration()));
-            statement.setString(4, timerInfoString);
-            statement.setString(5, exp.getSecond());
-            statement.setString(6, exp.getMinute());
-            statement.setString(7, exp.getHour());
-            statement.setString(8, exp.getDayOfWeek());
-            statement.setString(9, exp.getDayOfMonth());
-            statement.setString(10, exp.getMonth());
-            statement.setString(11, exp.getYear());
-            statement.setString(12, startDateString);
-            statement.setString(13, endDateString);
-            statement.setString(14, exp.getTimezone());
-            statement.setBoolean(15, true);
-            statement.setString(16, timeoutMethodClassName);
-            statement.setString(17, timeoutMethod.getName());
-            statement.setString(18, timeoutMethodParam);
-            statement.setBoolean(19, true);
-            statement.setString(20, partition);
-
-            // where clause
-            statement.setString(21, timer.getTimedObjectId());
-            statement.setString(22, exp.getSecond());
-            statement.setString(23, exp.getMinute());
-            statement.setString(24, exp.getHour());
-            statement.setString(25, exp.getDayOfWeek());
-            statement.setString(26, exp.getDayOfMonth());
-            statement.setString(27, exp.getMonth());
-            statement.setString(28, exp.getYear());
-
-            statement.setString(29, startDateString);
-            statement.setString(30, startDateString);
-
-            statement.setString(31, endDateString);
-            statement.setString(32, endDateString);
-
-            statement.setString(33, exp.getTimezone());
-            statement.setString(34, exp.getTimezone());
-
-            statement.setString(35, timeoutMethodClassName);
-            statement.setString(36, timeoutMethod.getName());
-
-            statement.setString(37, timeoutMethodParam);
-            statement.setString(38, timeoutMethodParam);
-
-            statement.setString(39, partition);
-
-            int affectedRows = statement.executeUpdate();
-            if (affectedRows < 1) {
-                timer.setTimerState(TimerState.CANCELED, null);
-            } else {
-                synchronized (this) {
-                    knownTimerIds.get(timer.getTimedObjectId()).add(timer.getId());
+            int[] affectedRows = executeBatch(connection, sql.getProperty(CREATE_AUTO_TIMER), timers, this::autoTimerStatementParameters);
+            for (int i = 0; i < timers.size(); i++) {
+                final CalendarTimer timer = timers.get(i);
+                // the driver may not report the row count of each statement of a batch, assume the timer was inserted
+                if (affectedRows[i] == 0) {
+                    timer.setTimerState(TimerState.CANCELED, null);
+                } else {
+                    synchronized (this) {
+                        knownTimerIds.get(timer.getTimedObjectId()).add(timer.getId());
+                    }
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         } finally {
-            safeClose(statement);
             safeClose(connection);
+            flushed(timers.size(), System.nanoTime() - start);
         }
     }
 
+    private void autoTimerStatementParameters(final CalendarTimer timer, final PreparedStatement statement) throws SQLException {
+        final String timerInfoString = serialize(timer.getTimerInfo());
+        final Method timeoutMethod = timer.getTimeoutMethod();
+        final String timeoutMethodClassName = timeoutMethod.getDeclaringClass().getName();
+        final String timeoutMethodParam = timeoutMethod.getParameterCount() == 0 ? null : TIMER_PARAM_1;
+        final ScheduleExpression exp = timer.getScheduleExpression();
+        final String startDateString = schedulerDateAsString(exp.getStart());
+        final String endDateString = schedulerDateAsString(exp.getEnd());
+
+        // insert values
+        statement.setString(1, timer.getId());
+        statement.setString(2, timer.getTimedObjectId());
+        statement.setTimestamp(3, timestamp(timer.getNextExpiration()));
+        statement.setString(4, timerInfoString);
+        statement.setString(5, exp.getSecond());
+        statement.setString(6, exp.getMinute());
+        statement.setString(7, exp.getHour());
+        statement.setString(8, exp.getDayOfWeek());
+        statement.setString(9, exp.getDayOfMonth());
+        statement.setString(10, exp.getMonth());
+        statement.setString(11, exp.getYear());
+        statement.setString(12, startDateString);
+        statement.setString(13, endDateString);
+        statement.setString(14, exp.getTimezone());
+        statement.setBoolean(15, true);
+        statement.setString(16, timeoutMethodClassName);
+        statement.setString(17, timeoutMethod.getName());
+        statement.setString(18, timeoutMethodParam);
+        statement.setBoolean(19, true);
+        statement.setString(20, partition);
+
+        // where clause
+        statement.setString(21, timer.getTimedObjectId());
+        statement.setString(22, exp.getSecond());
+        statement.setString(23, exp.getMinute());
+        statement.setString(24, exp.getHour());
+        statement.setString(25, exp.getDayOfWeek());
+        statement.setString(26, exp.getDayOfMonth());
+        statement.setString(27, exp.getMonth());
+        statement.setString(28, exp.getYear());
+
+        statement.setString(29, startDateString);
+        statement.setString(30, startDateString);
+
+        statement.setString(31, endDateString);
+        statement.setString(32, endDateString);
+
+        statement.setString(33, exp.getTimezone());
+        statement.setString(34, exp.getTimezone());
+
+        statement.setString(35, timeoutMethodClassName);
+        statement.setString(36, timeoutMethod.getName());
+
+        statement.setString(37, timeoutMethodParam);
+        statement.setString(38, timeoutMethodParam);
+
+        statement.setString(39, partition);
+    }
+
     /**
      * Retrieves the timer info from the timer database.
      *
@@ -1041,90 +1256,259 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
                     synchronized (DatabaseTimerPersistence.this) {
                         timedObjects = new HashSet<>(knownTimerIds.keySet());
                     }
-                    for (String timedObjectId : timedObjects) {
-                        TimerChangeListener listener = changeListeners.get(timedObjectId);
-                        if (listener == null) {
-                            continue;
-                        }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
-                        }
-                        String loadTimer = sql.getProperty(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
-                        try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            final TimerServiceImpl timerService = listener.getTimerService();
-                            while (resultSet.next()) {
-                                String id = null;
-                                try {
-                                    id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        final Holder holder = timerFromResult(resultSet, timerService, id, null);
-                                        if(holder != null) {
-                                            synchronized (DatabaseTimerPersistence.this) {
-                                                knownTimerIds.get(timedObjectId).add(id);
-                                                listener.timerAdded(holder.timer);
-                                            }
-                                        }
-                                    } else {
-                                        TimerImpl oldTimer = timerService.getTimer(id);
-                                        // if it is already in memory but it is not in sync we have a problem
-                                        // remove and add -> the probable cause is db glitch
-                                        boolean invalidMemoryTimer = oldTimer != null && !TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(oldTimer.getState());
-
-                                        // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                        if (invalidMemoryTimer) {
-                                            TimerState dbTimerState = TimerState.valueOf(resultSet.getString(9));
-                                            boolean validDBTimer = TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(dbTimerState);
-                                            if (validDBTimer) {
-                                                final Holder holder = timerFromResult(resultSet, timerService, id, dbTimerState);
-                                                if (holder != null) {
-                                                    synchronized (DatabaseTimerPersistence.this) {
-                                                        knownTimerIds.get(timedObjectId).add(id);
-                                                        listener.timerSync(oldTimer, holder.timer);
-                                                    }
-                                                }
-                                            }
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), id, e);
-                                }
+                    if (sql.getProperty(LOAD_TIMER_STATES) != null && sql.getProperty(LOAD_TIMERS) != null) {
+                        refreshChangedTimers(timedObjects);
+                    } else {
+                        // a timer-sql.properties without the state queries, load all the timers
+                        for (String timedObjectId : timedObjects) {
+                            TimerChangeListener listener = changeListeners.get(timedObjectId);
+                            if (listener != null) {
+                                refreshAllTimers(timedObjectId, listener);
                             }
+                        }
+                    }
+                } finally {
+                    running.set(false);
+                }
+            }
+        }
 
-                            Set<String> timers;
-                            synchronized (DatabaseTimerPersistence.this) {
-                                 timers = knownTimerIds.get(timedObjectId);
-                            }
-                            for (String timer : existing) {
-                                TimerImpl timer1 = timerService.getTimer(timer);
-                                if (timer1 != null && timer1.getState() != TimerState.CREATED) {
-                                    synchronized (DatabaseTimerPersistence.this) {
-                                        timers.remove(timer);
-                                        listener.timerRemoved(timer);
-                                    }
+        /**
+         * Loads the id and the state of the timers of the timed objects deployed on this node, and only loads the
+         * timers that were added by other nodes, or whose in memory state must be synchronized with the database,
+         * by their ids.
+         */
+        private void refreshChangedTimers(Set<String> timedObjects) {
+            // the timers known before the state query, the timers this node creates while it runs are not removed
+            final Map<String, Set<String>> existing = new HashMap<>();
+            synchronized (DatabaseTimerPersistence.this) {
+                for (String timedObjectId : timedObjects) {
+                    Set<String> ids = knownTimerIds.get(timedObjectId);
+                    if (ids != null && changeListeners.containsKey(timedObjectId)) {
+                        existing.put(timedObjectId, new HashSet<>(ids));
+                    }
+                }
+            }
+            if (existing.isEmpty()) {
+                return;
+            }
+            Connection connection = null;
+            try {
+                connection = dataSource.getConnection();
+                final Map<String, Map<String, String>> states = loadTimerStates(connection, existing.keySet());
+                for (Map.Entry<String, Set<String>> timedObject : existing.entrySet()) {
+                    final String timedObjectId = timedObject.getKey();
+                    final Set<String> removed = timedObject.getValue();
+                    TimerChangeListener listener = changeListeners.get(timedObjectId);
+                    if (listener == null) {
+                        continue;
+                    }
+                    final TimerServiceImpl timerService = listener.getTimerService();
+                    // the timers added by other nodes are mapped to null
+                    final Map<String, TimerImpl> changed = new HashMap<>();
+                    for (Map.Entry<String, String> entry : states.getOrDefault(timedObjectId, Collections.emptyMap()).entrySet()) {
+                        final String id = entry.getKey();
+                        if (!removed.remove(id)) {
+                            changed.put(id, null);
+                        } else {
+                            TimerImpl oldTimer = timerService.getTimer(id);
+                            try {
+                                if (isInvalidMemoryTimer(oldTimer) && TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(TimerState.valueOf(entry.getValue()))) {
+                                    changed.put(id, oldTimer);
                                 }
+                            } catch (IllegalArgumentException e) {
+                                EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
                             }
+                        }
+                    }
+                    if (!changed.isEmpty()) {
+                        try {
+                            loadChangedTimers(connection, timedObjectId, listener, changed);
                         } catch (SQLException e) {
                             EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
+                        }
+                    }
+                    removeTimers(timedObjectId, listener, removed);
+                }
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(partition);
+            } finally {
+                safeClose(connection);
+            }
+        }
+
+        /**
+         * Loads the id and the state of the timers of the given timed objects, mapped by timed object.
+         */
+        private Map<String, Map<String, String>> loadTimerStates(Connection connection, Collection<String> timedObjects) throws SQLException {
+            final Map<String, Map<String, String>> states = new HashMap<>();
+            final List<String> timedObjectIds = new ArrayList<>(timedObjects);
+            for (int from = 0; from < timedObjectIds.size(); from += IN_LIST_SIZE) {
+                final List<String> batch = timedObjectIds.subList(from, Math.min(from + IN_LIST_SIZE, timedObjectIds.size()));
+                PreparedStatement statement = null;
+                ResultSet resultSet = null;
+                try {
+                    statement = connection.prepareStatement(inList(sql.getProperty(LOAD_TIMER_STATES), batch.size()));
+                    statement.setString(1, partition);
+                    for (int i = 0; i < batch.size(); i++) {
+                        statement.setString(i + 2, batch.get(i));
+                    }
+                    resultSet = statement.executeQuery();
+                    while (resultSet.next()) {
+                        states.computeIfAbsent(resultSet.getString(2), k -> new HashMap<>()).put(resultSet.getString(1), resultSet.getString(3));
+                    }
+                } finally {
+                    safeClose(resultSet);
+                    safeClose(statement);
+                }
+            }
+            return states;
+        }
+
+        /**
+         * Loads the timers of a timed object that were added to the database by other nodes, or that must be
+         * synchronized with the database, by their ids.
+         *
+         * @param changed the ids of the timers to load, mapped to the timer in memory to synchronize, or to null if the timer was added
+         */
+        private void loadChangedTimers(Connection connection, String timedObjectId, TimerChangeListener listener, Map<String, TimerImpl> changed) throws SQLException {
+            final TimerServiceImpl timerService = listener.getTimerService();
+            final List<String> ids = new ArrayList<>(changed.keySet());
+            for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+                final List<String> batch = ids.subList(from, Math.min(from + IN_LIST_SIZE, ids.size()));
+                PreparedStatement statement = null;
+                ResultSet resultSet = null;
+                try {
+                    statement = connection.prepareStatement(inList(sql.getProperty(LOAD_TIMERS), batch.size()));
+                    statement.setString(1, timedObjectId);
+                    statement.setString(2, partition);
+                    for (int i = 0; i < batch.size(); i++) {
+                        statement.setString(i + 3, batch.get(i));
+                    }
+                    resultSet = statement.executeQuery();
+                    while (resultSet.next()) {
+                        String id = resultSet.getString(1);
+                        try {
+                            TimerImpl oldTimer = changed.get(id);
+                            // the timer may have changed since its state was loaded
+                            TimerState dbTimerState = TimerState.valueOf(resultSet.getString(9));
+                            if (oldTimer == null) {
+                                timerAdded(timedObjectId, listener, timerFromResult(resultSet, timerService, id, null));
+                            } else if (TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(dbTimerState)) {
+                                timerSync(timedObjectId, listener, oldTimer, timerFromResult(resultSet, timerService, id, dbTimerState));
+                            }
+                        } catch (Exception e) {
+                            EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
                         }
                     }
                 } finally {
-                    running.set(false);
+                    safeClose(resultSet);
+                    safeClose(statement);
+                }
+            }
+        }
+
+        /**
+         * Replaces the {@code %s} of the statement with the given number of parameters.
+         */
+        private String inList(String statement, int size) {
+            final StringBuilder parameters = new StringBuilder("?");
+            for (int i = 1; i < size; i++) {
+                parameters.append(", ?");
+            }
+            return statement.replace("%s", parameters);
+        }
+
+        private void refreshAllTimers(String timedObjectId, TimerChangeListener listener) {
+            final Set<String> existing;
+            synchronized (DatabaseTimerPersistence.this) {
+                existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+            }
+            String loadTimer = sql.getProperty(LOAD_ALL_TIMERS);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(loadTimer);
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                resultSet = statement.executeQuery();
+                final TimerServiceImpl timerService = listener.getTimerService();
+                while (resultSet.next()) {
+                    String id = null;
+                    try {
+                        id = resultSet.getString(1);
+                        if (!existing.remove(id)) {
+                            timerAdded(timedObjectId, listener, timerFromResult(resultSet, timerService, id, null));
+                        } else {
+                            TimerImpl oldTimer = timerService.getTimer(id);
+                            // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+                            if (isInvalidMemoryTimer(oldTimer)) {
+                                TimerState dbTimerState = TimerState.valueOf(resultSet.getString(9));
+                                boolean validDBTimer = TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(dbTimerState);
+                                if (validDBTimer) {
+                                    timerSync(timedObjectId, listener, oldTimer, timerFromResult(resultSet, timerService, id, dbTimerState));
+                                }
+                            }
+                        }
+                    } catch (Exception e) {
+                        EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), id, e);
+                    }
+                }
+                removeTimers(timedObjectId, listener, existing);
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+        }
+
+        /**
+         * If it is already in memory but it is not in sync we have a problem: remove and add, the probable cause is a db glitch.
+         */
+        private boolean isInvalidMemoryTimer(TimerImpl timer) {
+            return timer != null && !TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(timer.getState());
+        }
+
+        private void timerAdded(String timedObjectId, TimerChangeListener listener, Holder holder) {
+            if (holder != null) {
+                synchronized (DatabaseTimerPersistence.this) {
+                    knownTimerIds.get(timedObjectId).add(holder.timer.getId());
+                    listener.timerAdded(holder.timer);
+                }
+            }
+        }
+
+        private void timerSync(String timedObjectId, TimerChangeListener listener, TimerImpl oldTimer, Holder holder) {
+            if (holder != null) {
+                synchronized (DatabaseTimerPersistence.this) {
+                    knownTimerIds.get(timedObjectId).add(holder.timer.getId());
+                    listener.timerSync(oldTimer, holder.timer);
                 }
             }
+        }
 
+        /**
+         * Removes the known timers that are no longer in the database.
+         */
+        private void removeTimers(String timedObjectId, TimerChangeListener listener, Set<String> removed) {
+            final TimerServiceImpl timerService = listener.getTimerService();
+            Set<String> timers;
+            synchronized (DatabaseTimerPersistence.this) {
+                timers = knownTimerIds.get(timedObjectId);
+            }
+            for (String timer : removed) {
+                TimerImpl timer1 = timerService.getTimer(timer);
+                if (timer1 != null && timer1.getState() != TimerState.CREATED) {
+                    synchronized (DatabaseTimerPersistence.this) {
+                        timers.remove(timer);
+                        listener.timerRemoved(timer);
+                    }
+                }
+            }
         }
     }
 
@@ -0,0 +1,75 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+
+/**
+ * The timer writes of a transaction that have not been executed yet.
+ * <p/>
+ * Successive writes of the same timer are coalesced, so that only the latest state of a timer is written when the
+ * batch is flushed: an update of a timer inserted by the same transaction is merged into the insert, and a timer
+ * inserted then deleted by the same transaction is not written at all.
+ * <p/>
+ * A batch is bound to a transaction and is therefore not thread safe.
+ */
+final class TimerWriteBatch {
+
+    enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE,
+    }
+
+    private final Map<String, Write> writes = new LinkedHashMap<>();
+
+    void add(Operation operation, TimerImpl timer) {
+        Write existing = this.writes.get(timer.getId());
+        if (existing != null && existing.operation == Operation.INSERT) {
+            if (operation == Operation.DELETE) {
+                // the timer never reaches the database
+                this.writes.remove(timer.getId());
+            }
+            // the insert writes the latest state of the timer
+            return;
+        }
+        this.writes.put(timer.getId(), new Write(operation, timer));
+    }
+
+    int size() {
+        return this.writes.size();
+    }
+
+    boolean isEmpty() {
+        return this.writes.isEmpty();
+    }
+
+    /**
+     * Removes the pending writes of this batch.
+     *
+     * @return the pending writes, in the order they were first added
+     */
+    List<Write> drain() {
+        List<Write> result = new ArrayList<>(this.writes.values());
+        this.writes.clear();
+        return result;
+    }
+
+    static final class Write {
+        final Operation operation;
+        final TimerImpl timer;
+
+        Write(Operation operation, TimerImpl timer) {
+            this.operation = operation;
+            this.timer = timer;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import jakarta.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Binary form of the persistent timers stored in a {@link TimerJournal}.
+ * It holds the same fields as the XML form written by {@link EjbTimerXmlPersister}.
+ */
+final class EjbTimerJournalCodec {
+
+    private static final byte TIMER = 0;
+    private static final byte CALENDAR_TIMER = 1;
+
+    private final MarshallerFactory factory;
+    private final MarshallingConfiguration configuration;
+
+    EjbTimerJournalCodec(MarshallerFactory factory, MarshallingConfiguration configuration) {
+        this.factory = factory;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @return the binary form of the timer, or null if its info could not be serialized
+     */
+    byte[] write(TimerImpl timer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            boolean calendarTimer = timer instanceof CalendarTimer;
+            output.writeByte(calendarTimer ? CALENDAR_TIMER : TIMER);
+            output.writeUTF(timer.getTimedObjectId());
+            output.writeUTF(timer.getId());
+            writeDate(output, timer.getInitialExpiration());
+            output.writeLong(timer.getInterval());
+            writeDate(output, timer.getNextExpiration());
+            writeDate(output, timer.getPreviousRun());
+            output.writeUTF(timer.getState().name());
+            if (calendarTimer) {
+                writeCalendarTimer(output, (CalendarTimer) timer);
+            }
+            Serializable info = timer.getTimerInfo();
+            if (info != null) {
+                byte[] data = this.marshal(info);
+                output.writeInt(data.length);
+                output.write(data);
+            } else {
+                output.writeInt(-1);
+            }
+        } catch (Exception e) {
+            EjbLogger.EJB3_TIMER_LOGGER.failedToPersistTimer(timer, e);
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeCalendarTimer(DataOutputStream output, CalendarTimer timer) throws IOException {
+        ScheduleExpression schedule = timer.getScheduleExpression();
+        output.writeUTF(schedule.getSecond());
+        output.writeUTF(schedule.getMinute());
+        output.writeUTF(schedule.getHour());
+        output.writeUTF(schedule.getDayOfWeek());
+        output.writeUTF(schedule.getDayOfMonth());
+        output.writeUTF(schedule.getMonth());
+        output.writeUTF(schedule.getYear());
+        writeDate(output, schedule.getStart());
+        writeDate(output, schedule.getEnd());
+        writeString(output, schedule.getTimezone());
+        output.writeBoolean(timer.isAutoTimer());
+        if (timer.isAutoTimer()) {
+            Method timeoutMethod = timer.getTimeoutMethod();
+            output.writeUTF(timeoutMethod.getDeclaringClass().getName());
+            output.writeUTF(timeoutMethod.getName());
+            Class<?>[] parameters = timeoutMethod.getParameterTypes();
+            output.writeByte(parameters.length);
+            for (Class<?> parameter : parameters) {
+                output.writeUTF(parameter.getName());
+            }
+        }
+    }
+
+    /**
+     * Reads a timer from its binary form.
+     *
+     * @return the timer, or null if it could not be restored
+     */
+    TimerImpl read(byte[] data, TimerServiceImpl timerService, ClassLoader classLoader) {
+        String timedObjectId = null;
+        String id = null;
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            boolean calendarTimer = input.readByte() == CALENDAR_TIMER;
+            timedObjectId = input.readUTF();
+            id = input.readUTF();
+            TimerImpl.Builder builder = calendarTimer ? CalendarTimer.builder() : TimerImpl.builder();
+            builder.setTimedObjectId(timedObjectId)
+                    .setId(id)
+                    .setInitialDate(readDate(input))
+                    .setRepeatInterval(input.readLong())
+                    .setNextDate(readDate(input))
+                    .setPreviousRun(readDate(input))
+                    .setTimerState(TimerState.valueOf(input.readUTF()))
+                    .setPersistent(true);
+            if (calendarTimer && !readCalendarTimer(input, (CalendarTimer.Builder) builder, classLoader)) {
+                EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, null);
+                return null;
+            }
+            int length = input.readInt();
+            if (length >= 0) {
+                byte[] info = new byte[length];
+                input.readFully(info);
+                builder.setInfo((Serializable) this.unmarshal(info));
+            }
+            return builder.build(timerService);
+        } catch (Exception e) {
+            EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return false if the timeout method of an auto timer no longer exists
+     */
+    private static boolean readCalendarTimer(DataInputStream input, CalendarTimer.Builder builder, ClassLoader classLoader) throws IOException {
+        ScheduleExpression schedule = new ScheduleExpression()
+                .second(input.readUTF())
+                .minute(input.readUTF())
+                .hour(input.readUTF())
+                .dayOfWeek(input.readUTF())
+                .dayOfMonth(input.readUTF())
+                .month(input.readUTF())
+                .year(input.readUTF())
+                .start(readDate(input))
+                .end(readDate(input))
+                .timezone(readString(input));
+        builder.setScheduleExpression(schedule);
+        boolean autoTimer = input.readBoolean();
+        builder.setAutoTimer(autoTimer);
+        if (autoTimer) {
+            String declaringClass = input.readUTF();
+            String name = input.readUTF();
+            String[] parameters = new String[input.readByte()];
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = input.readUTF();
+            }
+            Method timeoutMethod = CalendarTimer.getTimeoutMethod(new TimeoutMethod(declaringClass, name, parameters), classLoader);
+            if (timeoutMethod == null) {
+                return false;
+            }
+            builder.setTimeoutMethod(timeoutMethod);
+        }
+        return true;
+    }
+
+    private byte[] marshal(Object object) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Marshaller marshaller = this.factory.createMarshaller(this.configuration)) {
+            marshaller.start(new OutputStreamByteOutput(out));
+            marshaller.writeObject(object);
+            marshaller.flush();
+        }
+        return out.toByteArray();
+    }
+
+    private Object unmarshal(byte[] data) throws IOException, ClassNotFoundException {
+        try (Unmarshaller unmarshaller = this.factory.createUnmarshaller(this.configuration)) {
+            unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(data)));
+            return unmarshaller.readObject();
+        }
+    }
+
+    private static void writeDate(DataOutputStream output, Date date) throws IOException {
+        output.writeBoolean(date != null);
+        if (date != null) {
+            output.writeLong(date.getTime());
+        }
+    }
+
+    private static Date readDate(DataInputStream input) throws IOException {
+        return input.readBoolean() ? new Date(input.readLong()) : null;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+}
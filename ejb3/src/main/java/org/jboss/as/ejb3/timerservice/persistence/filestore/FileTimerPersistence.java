@@ -15,12 +15,17 @@ import java.io.FileOutputStream;
 import java.io.FilePermission;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
@@ -59,6 +64,8 @@ import org.wildfly.transaction.client.ContextTransactionManager;
 /**
  * File based persistent timer store.
  * <p/>
+ * The timers are either stored as a XML file per timer, or in a {@link TimerJournal} per timed object.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -83,6 +90,29 @@ public class FileTimerPersistence implements TimerPersistence, Service {
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
 
+    /**
+     * System property {@code jboss.ejb.timer.file.format} to choose how the timers are stored: {@code xml} (the default)
+     * for a XML file per timer, or {@code journal} for an append only journal per timed object.
+     * <p>
+     * The journal avoids rewriting a file for each change of a timer and parsing a file per timer when the timers are
+     * restored. The XML files of a timed object are migrated to its journal the first time its timers are loaded, and
+     * the journal of a timed object is exported back to XML files when the format is switched back to {@code xml}.
+     */
+    private final boolean useJournal = "journal".equalsIgnoreCase(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.file.format", "xml"));
+
+    /**
+     * System property {@code jboss.ejb.timer.file.journal.segmentSize} to configure the size, in bytes, above which
+     * a new segment of a timer journal is started. The default value is 4 MiB.
+     */
+    private final long journalSegmentSize = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.file.journal.segmentSize", "4194304"));
+
+    private final ConcurrentMap<String, TimerJournal> journals = new ConcurrentHashMap<>();
+    // the timers of the journals, as the journals are only read when they are opened
+    private final ConcurrentMap<String, Map<String, TimerImpl>> journalTimers = new ConcurrentHashMap<>();
+    private EjbTimerJournalCodec journalCodec;
+    // the timed objects whose journal, if any, was exported to XML files when their timers were first loaded
+    private final Set<String> exportedJournals = ConcurrentHashMap.newKeySet();
+
     public FileTimerPersistence(final Consumer<FileTimerPersistence> consumer,
                                 final Supplier<TransactionSynchronizationRegistry> txnRegistrySupplier,
                                 final Supplier<ModuleLoader> moduleLoaderSupplier,
@@ -124,6 +154,7 @@ public class FileTimerPersistence implements TimerPersistence, Service {
 
         this.configuration = configuration;
         this.factory = factory;
+        this.journalCodec = new EjbTimerJournalCodec(factory, configuration);
         if (pathRelativeTo != null) {
             callbackHandle = pathManagerSupplier.get().registerCallback(pathRelativeTo, PathManager.ReloadServerCallback.create(), PathManager.Event.UPDATED, PathManager.Event.REMOVED);
         }
@@ -147,6 +178,12 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         consumer.accept(null);
         locks.clear();
         directories.clear();
+        for (TimerJournal journal : journals.values()) {
+            safeClose(journal);
+        }
+        journals.clear();
+        journalTimers.clear();
+        exportedJournals.clear();
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
@@ -207,12 +244,14 @@ public class FileTimerPersistence implements TimerPersistence, Service {
                 if (timer.getState() == TimerState.CANCELED ||
                         timer.getState() == TimerState.EXPIRED) {
                     map.remove(timer.getId());
-                    writeFile(timer);
+                    write(timer);
+                    syncJournal(timer.getTimedObjectId());
                 } else if (newTimer || map.containsKey(timer.getId())) {
                     //if it is not a new timer and is not in the map then it has
                     //been removed by another thread.
                     map.put(timer.getId(), timer);
-                    writeFile(timer);
+                    write(timer);
+                    syncJournal(timer.getTimedObjectId());
                 }
             } else {
 
@@ -220,7 +259,13 @@ public class FileTimerPersistence implements TimerPersistence, Service {
                 Object existing = txnRegistrySupplier.get().getResource(key);
                 //check is there is already a persist sync for this timer
                 if (existing == null) {
-                    txnRegistrySupplier.get().registerInterposedSynchronization(new PersistTransactionSynchronization(lock, key, newTimer));
+                    PersistTransactionSynchronization synchronization = new PersistTransactionSynchronization(lock, key, newTimer);
+                    if (useJournal) {
+                        //the journals are synced once all the timers of the transaction are written
+                        getJournalTransactionSynchronization().add(synchronization);
+                    } else {
+                        txnRegistrySupplier.get().registerInterposedSynchronization(synchronization);
+                    }
                 }
                 //update the most recent version of the timer to be persisted
                 txnRegistrySupplier.get().putResource(key, timer);
@@ -236,6 +281,17 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         return "org.jboss.as.ejb3.timerTransactionKey." + TimerImpl.getId();
     }
 
+    private JournalTransactionSynchronization getJournalTransactionSynchronization() {
+        final TransactionSynchronizationRegistry registry = txnRegistrySupplier.get();
+        JournalTransactionSynchronization synchronization = (JournalTransactionSynchronization) registry.getResource(this);
+        if (synchronization == null) {
+            synchronization = new JournalTransactionSynchronization();
+            registry.registerInterposedSynchronization(synchronization);
+            registry.putResource(this, synchronization);
+        }
+        return synchronization;
+    }
+
     @Override
     public void timerUndeployed(final String timedObjectId) {
         final Lock lock = getLock(timedObjectId);
@@ -243,6 +299,9 @@ public class FileTimerPersistence implements TimerPersistence, Service {
             lock.lock();
             locks.remove(timedObjectId);
             directories.remove(timedObjectId);
+            journalTimers.remove(timedObjectId);
+            exportedJournals.remove(timedObjectId);
+            safeClose(journals.remove(timedObjectId));
         } finally {
             lock.unlock();
         }
@@ -321,9 +380,113 @@ public class FileTimerPersistence implements TimerPersistence, Service {
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+        if (useJournal) {
+            Map<String, TimerImpl> timers = journalTimers.get(timedObjectId);
+            if (timers == null) {
+                timers = loadTimersFromJournal(timedObjectId, timerService);
+                journalTimers.put(timedObjectId, timers);
+            }
+            return timers;
+        }
+        // no journal is written in the XML format, so a journal left by the journal format is only exported once
+        if (!exportedJournals.contains(timedObjectId)) {
+            exportTimersFromJournal(timedObjectId, timerService);
+            exportedJournals.add(timedObjectId);
+        }
         return loadTimersFromFile(timedObjectId, timerService);
     }
 
+    /**
+     * Opens the journal of a timed object, and migrates the timers of its XML files to the journal.
+     */
+    private Map<String, TimerImpl> loadTimersFromJournal(String timedObjectId, TimerServiceImpl timerService) {
+        final Map<String, TimerImpl> timers = new HashMap<>();
+        final ClassLoader classLoader = timerService.getInvoker().getClassLoader();
+        final TimerJournal journal = new TimerJournal(new File(getDirectory(timedObjectId)), journalSegmentSize);
+        try {
+            for (Map.Entry<String, byte[]> entry : journal.open().entrySet()) {
+                TimerImpl timer = journalCodec.read(entry.getValue(), timerService, classLoader);
+                if (timer != null) {
+                    timers.put(entry.getKey(), timer);
+                }
+            }
+            final Map<String, TimerImpl> xmlTimers = loadTimersFromFile(timedObjectId, timerService);
+            if (!xmlTimers.isEmpty()) {
+                for (TimerImpl timer : xmlTimers.values()) {
+                    // a timer written to the journal by an interrupted migration may have changed since
+                    if (!timers.containsKey(timer.getId())) {
+                        byte[] data = journalCodec.write(timer);
+                        if (data != null) {
+                            journal.put(timer.getId(), data);
+                            timers.put(timer.getId(), timer);
+                        }
+                    }
+                }
+                journal.sync();
+                deleteFiles(timedObjectId, xmlTimers.keySet());
+                EJB3_TIMER_LOGGER.timersMigratedToJournal(xmlTimers.size(), timedObjectId);
+            }
+        } catch (IOException e) {
+            safeClose(journal);
+            throw new RuntimeException(e);
+        }
+        journals.put(timedObjectId, journal);
+        return timers;
+    }
+
+    /**
+     * Writes the timers of a journal, left by the journal format, to XML files, so that no timer is lost when the
+     * format is switched back to XML. A timer is removed from the journal once its file is written, and the journal
+     * is deleted once it is empty.
+     */
+    private void exportTimersFromJournal(String timedObjectId, TimerServiceImpl timerService) {
+        final File directory = new File(getDirectory(timedObjectId));
+        if (TimerJournal.segments(directory).length == 0) {
+            return;
+        }
+        final ClassLoader classLoader = timerService.getInvoker().getClassLoader();
+        final TimerJournal journal = new TimerJournal(directory, journalSegmentSize);
+        try {
+            int count = 0;
+            for (Map.Entry<String, byte[]> entry : journal.open().entrySet()) {
+                TimerImpl timer = journalCodec.read(entry.getValue(), timerService, classLoader);
+                // a timer that cannot be restored is kept in the journal
+                if (timer != null) {
+                    writeFile(timer);
+                    syncFile(fileName(timedObjectId, timer.getId()));
+                    journal.remove(entry.getKey());
+                    count++;
+                }
+            }
+            if (journal.isEmpty()) {
+                journal.delete();
+            } else {
+                journal.close();
+            }
+            if (count > 0) {
+                EJB3_TIMER_LOGGER.timersExportedFromJournal(count, timedObjectId);
+            }
+        } catch (IOException e) {
+            safeClose(journal);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void syncFile(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private void deleteFiles(String timedObjectId, Collection<String> timerIds) {
+        for (String timerId : timerIds) {
+            final File file = fileName(timedObjectId, timerId);
+            if (file.exists()) {
+                file.delete();
+            }
+        }
+    }
+
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
@@ -458,7 +621,7 @@ public class FileTimerPersistence implements TimerPersistence, Service {
                                     map.put(timer.getId(), timer);
                                 }
                             }
-                            writeFile(timer);
+                            write(timer);
                         }
                     } finally {
                         lock.unlock();
@@ -471,6 +634,88 @@ public class FileTimerPersistence implements TimerPersistence, Service {
 
     }
 
+    /**
+     * Groups the persistence of the timers of a transaction, so that the journals are synced once per transaction.
+     */
+    private final class JournalTransactionSynchronization implements Synchronization {
+
+        private final List<PersistTransactionSynchronization> synchronizations = new ArrayList<>();
+
+        void add(PersistTransactionSynchronization synchronization) {
+            synchronizations.add(synchronization);
+        }
+
+        @Override
+        public void beforeCompletion() {
+            for (PersistTransactionSynchronization synchronization : synchronizations) {
+                synchronization.beforeCompletion();
+            }
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            final Set<String> timedObjectIds = new LinkedHashSet<>();
+            for (PersistTransactionSynchronization synchronization : synchronizations) {
+                synchronization.afterCompletion(status);
+                if (synchronization.timer != null) {
+                    timedObjectIds.add(synchronization.timer.getTimedObjectId());
+                }
+            }
+            if (status == Status.STATUS_COMMITTED) {
+                doPrivileged(new PrivilegedAction<Void>() {
+                    public Void run() {
+                        for (String timedObjectId : timedObjectIds) {
+                            syncJournal(timedObjectId);
+                        }
+                        return null;
+                    }
+                });
+            }
+        }
+    }
+
+    private void write(TimerImpl timer) {
+        if (useJournal) {
+            writeJournal(timer);
+        } else {
+            writeFile(timer);
+        }
+    }
+
+    /**
+     * Appends a timer to the journal of its timed object, which must have been loaded.
+     */
+    private void writeJournal(TimerImpl timer) {
+        final TimerJournal journal = journals.get(timer.getTimedObjectId());
+        if (journal == null) {
+            throw EJB3_TIMER_LOGGER.timerJournalNotOpen(timer.getTimedObjectId());
+        }
+        try {
+            if (timer.getState() == TimerState.CANCELED ||
+                    timer.getState() == TimerState.EXPIRED) {
+                journal.remove(timer.getId());
+            } else {
+                byte[] data = journalCodec.write(timer);
+                if (data != null) {
+                    journal.put(timer.getId(), data);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void syncJournal(String timedObjectId) {
+        final TimerJournal journal = useJournal ? journals.get(timedObjectId) : null;
+        if (journal != null) {
+            try {
+                journal.sync();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
     private void writeFile(TimerImpl timer) {
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
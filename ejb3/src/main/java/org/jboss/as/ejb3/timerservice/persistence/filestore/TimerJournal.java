@@ -0,0 +1,315 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Segmented, append only journal of the persistent timers of a timed object.
+ * <p/>
+ * Each change of a timer appends a record to the current segment, instead of rewriting a file per timer: a put record
+ * holding the binary form of the timer, or a remove record once the timer is cancelled or expired. The journal is
+ * replayed when it is opened, and the latest record of each timer wins. Appended records are not forced to disk until
+ * {@link #sync()} is called, so that all the writes of a transaction are made durable with a single fsync.
+ * <p/>
+ * The current segment is rolled once it exceeds the maximum segment size, and the journal is compacted when the
+ * superseded records take more space than the live ones: the live records are written to a new segment and the older
+ * segments are deleted. A record is checksummed, so a record torn by a crash while it was appended is discarded
+ * when the journal is replayed.
+ * <p/>
+ * The journal is accessed under the lock of its timed object, the methods are synchronized as the transactions
+ * sync their journals without holding it.
+ */
+final class TimerJournal implements Closeable {
+
+    static final String SEGMENT_PREFIX = "timers-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final int MAGIC = 0x454a4254; // EJBT
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+    // length and checksum of a record
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final File directory;
+    private final long maxSegmentSize;
+    private final Map<String, byte[]> records = new LinkedHashMap<>();
+
+    private FileChannel channel;
+    private long segment;
+    private long liveSize;
+    private long journalSize;
+    private boolean dirty;
+
+    /**
+     * @param directory the directory of the segments
+     * @param maxSegmentSize the size above which the current segment is rolled
+     */
+    TimerJournal(File directory, long maxSegmentSize) {
+        this.directory = directory;
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    /**
+     * Replays the segments of the journal and opens the last one for appending.
+     *
+     * @return the binary form of the timers of the journal, by timer id
+     */
+    synchronized Map<String, byte[]> open() throws IOException {
+        long[] segments = segments(this.directory);
+        for (int i = 0; i < segments.length; i++) {
+            long validSize = this.replay(segments[i]);
+            if (i == segments.length - 1) {
+                this.segment = segments[i];
+                File file = segmentFile(this.directory, this.segment);
+                if (validSize == 0L) {
+                    // the header of the segment was not written
+                    file.delete();
+                } else {
+                    this.channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+                    // drop a record torn by a crash, so that the next record is readable
+                    this.channel.truncate(validSize);
+                    this.channel.position(validSize);
+                }
+            }
+        }
+        if (this.channel == null) {
+            this.roll();
+        }
+        return new LinkedHashMap<>(this.records);
+    }
+
+    synchronized boolean isEmpty() {
+        return this.records.isEmpty();
+    }
+
+    /**
+     * Appends the binary form of a timer, superseding its previous record.
+     */
+    synchronized void put(String timerId, byte[] timer) throws IOException {
+        this.append(PUT, timerId, timer);
+        byte[] previous = this.records.put(timerId, timer);
+        if (previous != null) {
+            this.liveSize -= recordSize(timerId, previous);
+        }
+        this.liveSize += recordSize(timerId, timer);
+        this.compactIfNecessary();
+    }
+
+    /**
+     * Appends the removal of a timer, if the journal holds it.
+     */
+    synchronized void remove(String timerId) throws IOException {
+        byte[] previous = this.records.remove(timerId);
+        if (previous != null) {
+            this.append(REMOVE, timerId, null);
+            this.liveSize -= recordSize(timerId, previous);
+            this.compactIfNecessary();
+        }
+    }
+
+    /**
+     * Forces the records appended since the last sync to disk.
+     */
+    synchronized void sync() throws IOException {
+        if (this.dirty && this.channel != null) {
+            this.channel.force(false);
+            this.dirty = false;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.channel != null) {
+            try {
+                this.sync();
+            } finally {
+                this.channel.close();
+                this.channel = null;
+            }
+        }
+    }
+
+    /**
+     * Closes the journal and deletes its segments.
+     */
+    synchronized void delete() throws IOException {
+        this.close();
+        for (long segment : segments(this.directory)) {
+            segmentFile(this.directory, segment).delete();
+        }
+        this.records.clear();
+    }
+
+    private void append(byte type, String timerId, byte[] timer) throws IOException {
+        ByteBuffer buffer = record(type, timerId, timer);
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer);
+        }
+        this.journalSize += buffer.limit();
+        this.dirty = true;
+        if (this.channel.position() > this.maxSegmentSize) {
+            this.sync();
+            this.channel.close();
+            this.roll();
+        }
+    }
+
+    private void compactIfNecessary() throws IOException {
+        if (this.journalSize > this.maxSegmentSize && this.journalSize > 2 * this.liveSize) {
+            this.compact();
+        }
+    }
+
+    /**
+     * Writes the live records to a new segment, then deletes the older segments.
+     * The compacted segment is replayed after the older ones, so the journal stays consistent if the deletion does not complete.
+     */
+    private void compact() throws IOException {
+        this.sync();
+        this.channel.close();
+        long last = this.segment;
+        this.roll();
+        for (Map.Entry<String, byte[]> entry : this.records.entrySet()) {
+            ByteBuffer buffer = record(PUT, entry.getKey(), entry.getValue());
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+        }
+        this.channel.force(false);
+        this.dirty = false;
+        for (long old : segments(this.directory)) {
+            if (old <= last) {
+                segmentFile(this.directory, old).delete();
+            }
+        }
+        this.journalSize = this.liveSize;
+    }
+
+    private void roll() throws IOException {
+        this.segment++;
+        this.channel = FileChannel.open(segmentFile(this.directory, this.segment).toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            this.channel.write(header);
+        }
+        this.dirty = true;
+    }
+
+    /**
+     * Applies the records of a segment.
+     *
+     * @return the size of the valid part of the segment, 0 if its header is not valid
+     */
+    private long replay(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile(this.directory, segment).toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read the whole segment
+            }
+            buffer.flip();
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                return 0L;
+            }
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    return start;
+                }
+                crc.reset();
+                crc.update(buffer.array(), buffer.position(), length);
+                if ((int) crc.getValue() != checksum) {
+                    return start;
+                }
+                byte type = buffer.get();
+                byte[] id = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(id);
+                String timerId = new String(id, StandardCharsets.UTF_8);
+                byte[] timer = Arrays.copyOfRange(buffer.array(), buffer.position(), start + RECORD_HEADER_SIZE + length);
+                buffer.position(start + RECORD_HEADER_SIZE + length);
+                this.journalSize += RECORD_HEADER_SIZE + length;
+                byte[] previous = (type == PUT) ? this.records.put(timerId, timer) : this.records.remove(timerId);
+                if (previous != null) {
+                    this.liveSize -= recordSize(timerId, previous);
+                }
+                if (type == PUT) {
+                    this.liveSize += recordSize(timerId, timer);
+                }
+            }
+            return buffer.position();
+        }
+    }
+
+    private static ByteBuffer record(byte type, String timerId, byte[] timer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(recordSize(timerId, timer));
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0);
+        output.writeInt(0);
+        output.writeByte(type);
+        byte[] id = timerId.getBytes(StandardCharsets.UTF_8);
+        output.writeShort(id.length);
+        output.write(id);
+        if (timer != null) {
+            output.write(timer);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        int length = buffer.limit() - RECORD_HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), RECORD_HEADER_SIZE, length);
+        buffer.putInt(0, length);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer;
+    }
+
+    private static int recordSize(String timerId, byte[] timer) {
+        // the ids are ascii, so their length in characters is their length in bytes
+        return RECORD_HEADER_SIZE + Byte.BYTES + Short.BYTES + timerId.length() + ((timer != null) ? timer.length : 0);
+    }
+
+    /**
+     * @return the sequence numbers of the segments of a directory, in order
+     */
+    static long[] segments(File directory) {
+        String[] names = directory.list();
+        if (names == null) {
+            return new long[0];
+        }
+        return Arrays.stream(names)
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .mapToLong(name -> {
+                    try {
+                        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    } catch (NumberFormatException e) {
+                        return -1L;
+                    }
+                })
+                .filter(segment -> segment >= 0L)
+                .sorted()
+                .toArray();
+    }
+
+    private static File segmentFile(File directory, long segment) {
+        return new File(directory, SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * Base class of the {@link TimeoutScheduler} implementations, which keeps track of the scheduler lag.
+ */
+public abstract class AbstractTimeoutScheduler implements TimeoutScheduler {
+
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0L);
+
+    public abstract void start();
+
+    public abstract void stop();
+
+    @Override
+    public long getMaxLag() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLag.get());
+    }
+
+    @Override
+    public long getAverageLag() {
+        long count = expirations.sum();
+        return (count == 0L) ? 0L : TimeUnit.NANOSECONDS.toMillis(totalLag.sum() / count);
+    }
+
+    /**
+     * Runs the task of a timeout that expired.
+     *
+     * @param task the task of the timeout
+     * @param lag the time, in nanoseconds, elapsed since the scheduled execution time of the timeout
+     */
+    protected void expire(Runnable task, long lag) {
+        if (lag > 0L) {
+            totalLag.add(lag);
+            maxLag.accumulate(lag);
+        }
+        expirations.increment();
+        try {
+            task.run();
+        } catch (Throwable e) {
+            // a failing task must not stop the scheduler thread
+            EjbLogger.EJB3_TIMER_LOGGER.timeoutTaskFailed(task, e);
+        }
+    }
+}
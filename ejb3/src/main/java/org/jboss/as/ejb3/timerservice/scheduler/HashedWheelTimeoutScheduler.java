@@ -0,0 +1,299 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A {@link TimeoutScheduler} based on a hashed timing wheel.
+ * <p/>
+ * The time is divided into ticks and each timeout is hashed to the bucket of the tick in which it expires, along with
+ * the number of revolutions of the wheel left before it expires. A single thread wakes up once per tick and only
+ * visits the bucket of that tick, so scheduling and cancelling a timeout are constant time operations whatever the
+ * number of scheduled timeouts. In exchange the timeouts are run at the end of the tick in which they expire, so they
+ * may be late by up to one tick duration.
+ * <p/>
+ * New and cancelled timeouts are queued and applied to the wheel by the scheduler thread at the beginning of each tick,
+ * so the wheel itself is only ever accessed by the scheduler thread and the memory of a cancelled timeout is released
+ * within one tick. The scheduler thread also discards the remaining timeouts when it ends.
+ */
+public class HashedWheelTimeoutScheduler extends AbstractTimeoutScheduler implements Runnable {
+
+    /**
+     * The maximum number of new timeouts that are applied to the wheel per tick, so that the scheduler thread keeps
+     * running the expired timeouts when timeouts are scheduled at a very high rate.
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(HashedWheelTimeoutScheduler.class, WildFlySecurityManager.getClassLoaderPrivileged(HashedWheelTimeoutScheduler.class));
+
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<WheelTimeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduled = new AtomicInteger();
+
+    private volatile Thread worker;
+    private volatile long startTime;
+    private volatile boolean stopped;
+    // accessed by the worker thread only
+    private long tick;
+
+    /**
+     * @param tickDuration the duration of a tick
+     * @param unit the unit of the tick duration
+     * @param wheelSize the number of buckets of the wheel, rounded up to a power of two
+     */
+    public HashedWheelTimeoutScheduler(long tickDuration, TimeUnit unit, int wheelSize) {
+        this.tickDuration = Math.max(1L, unit.toNanos(tickDuration));
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new Bucket[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new Bucket();
+        }
+    }
+
+    @Override
+    public void start() {
+        this.startTime = System.nanoTime();
+        Thread thread = THREAD_FACTORY.newThread(this);
+        this.worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        this.stopped = true;
+        Thread thread = this.worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.NANOSECONDS.toMillis(this.tickDuration) + 1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            this.clear();
+        }
+    }
+
+    @Override
+    public ScheduledTimeout schedule(Runnable task, long delay) {
+        return this.add(task, delay, 0L);
+    }
+
+    @Override
+    public ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        if (period <= 0L) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        return this.add(task, delay, TimeUnit.MILLISECONDS.toNanos(period));
+    }
+
+    @Override
+    public int getScheduledTimeoutCount() {
+        return this.scheduled.get();
+    }
+
+    private ScheduledTimeout add(Runnable task, long delay, long period) {
+        if (this.stopped) {
+            throw EjbLogger.EJB3_TIMER_LOGGER.timeoutSchedulerStopped();
+        }
+        long deadline = System.nanoTime() - this.startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, delay));
+        WheelTimeout timeout = new WheelTimeout(task, deadline, period);
+        this.scheduled.incrementAndGet();
+        this.pending.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!this.stopped) {
+                long tickEnd = this.tickDuration * (this.tick + 1);
+                long sleep = tickEnd - (System.nanoTime() - this.startTime);
+                if (sleep > 0L) {
+                    LockSupport.parkNanos(this, sleep);
+                    continue;
+                }
+                this.removeCancelled();
+                this.transferPending();
+                this.expireTimeouts(this.wheel[(int) (this.tick & this.mask)]);
+                this.tick++;
+            }
+        } finally {
+            // the wheel is only accessed by this thread, even if stop() gave up waiting for it
+            this.clear();
+        }
+    }
+
+    private void clear() {
+        this.pending.clear();
+        this.cancelled.clear();
+        for (Bucket bucket : this.wheel) {
+            bucket.clear();
+        }
+    }
+
+    private void removeCancelled() {
+        for (WheelTimeout timeout = this.cancelled.poll(); timeout != null; timeout = this.cancelled.poll()) {
+            Bucket bucket = timeout.bucket;
+            if (bucket != null) {
+                bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = this.pending.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == WheelTimeout.SCHEDULED) {
+                this.place(timeout, this.tick);
+            }
+        }
+    }
+
+    /**
+     * Adds a timeout to the bucket of the tick in which it expires.
+     *
+     * @param firstTick the first tick whose bucket will be visited, the timeout does not expire before it
+     */
+    private void place(WheelTimeout timeout, long firstTick) {
+        long expirationTick = Math.max(timeout.deadline / this.tickDuration, firstTick);
+        timeout.remainingRounds = (expirationTick - firstTick) / this.wheel.length;
+        this.wheel[(int) (expirationTick & this.mask)].add(timeout);
+    }
+
+    private void expireTimeouts(Bucket bucket) {
+        long now = System.nanoTime() - this.startTime;
+        // the timeouts added to this bucket while it is visited are only visited on the next revolution
+        WheelTimeout last = bucket.tail;
+        WheelTimeout timeout = bucket.head;
+        while (timeout != null) {
+            WheelTimeout next = timeout.next;
+            boolean visitedAll = (timeout == last);
+            if (timeout.state.get() != WheelTimeout.SCHEDULED) {
+                bucket.remove(timeout);
+            } else if (timeout.remainingRounds > 0L) {
+                timeout.remainingRounds--;
+            } else {
+                bucket.remove(timeout);
+                if (timeout.period > 0L) {
+                    this.expire(timeout.task, now - timeout.deadline);
+                    if (timeout.state.get() == WheelTimeout.SCHEDULED) {
+                        // fixed rate, late executions are caught up one per tick
+                        timeout.deadline += timeout.period;
+                        this.place(timeout, this.tick + 1);
+                    }
+                } else if (timeout.state.compareAndSet(WheelTimeout.SCHEDULED, WheelTimeout.EXPIRED)) {
+                    this.scheduled.decrementAndGet();
+                    this.expire(timeout.task, now - timeout.deadline);
+                }
+            }
+            if (visitedAll) {
+                return;
+            }
+            timeout = next;
+        }
+    }
+
+    private final class WheelTimeout implements ScheduledTimeout {
+        static final int SCHEDULED = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        final Runnable task;
+        final long period;
+        final AtomicInteger state = new AtomicInteger(SCHEDULED);
+
+        // accessed by the worker thread only
+        long deadline;
+        long remainingRounds;
+        Bucket bucket;
+        WheelTimeout previous;
+        WheelTimeout next;
+
+        WheelTimeout(Runnable task, long deadline, long period) {
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (this.state.compareAndSet(SCHEDULED, CANCELLED)) {
+                HashedWheelTimeoutScheduler.this.scheduled.decrementAndGet();
+                // let the worker thread remove it from the wheel
+                HashedWheelTimeoutScheduler.this.cancelled.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return this.task.toString();
+        }
+    }
+
+    /**
+     * A doubly linked list of timeouts, accessed by the worker thread only.
+     */
+    private static final class Bucket {
+        WheelTimeout head;
+        WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = this.tail;
+            timeout.next = null;
+            if (this.tail == null) {
+                this.head = timeout;
+            } else {
+                this.tail.next = timeout;
+            }
+            this.tail = timeout;
+        }
+
+        void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.previous == null) {
+                this.head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                this.tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        void clear() {
+            this.head = null;
+            this.tail = null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+/**
+ * Schedules the timeouts of the timer services.
+ * <p/>
+ * The scheduled tasks are run by the thread(s) of the scheduler, so they are expected to be short and to hand the
+ * actual timeout invocation off to the executor of the timer service.
+ *
+ * @see org.jboss.as.ejb3.timerservice.TimerServiceImpl
+ */
+public interface TimeoutScheduler {
+
+    /**
+     * Schedules a task for a single execution.
+     *
+     * @param task the task to run
+     * @param delay the delay, in milliseconds, before the task is run
+     * @return the scheduled timeout
+     */
+    ScheduledTimeout schedule(Runnable task, long delay);
+
+    /**
+     * Schedules a task for repeated fixed-rate executions.
+     *
+     * @param task the task to run
+     * @param delay the delay, in milliseconds, before the task is run for the first time
+     * @param period the time, in milliseconds, between the scheduled executions of the task
+     * @return the scheduled timeout
+     */
+    ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period);
+
+    /**
+     * Releases the resources held for the cancelled timeouts, if the scheduler does not do it on its own.
+     */
+    default void purge() {
+    }
+
+    /**
+     * @return the number of timeouts that are scheduled and not cancelled
+     */
+    int getScheduledTimeoutCount();
+
+    /**
+     * @return the maximum time, in milliseconds, between the scheduled execution time of a timeout and its actual execution
+     */
+    long getMaxLag();
+
+    /**
+     * @return the average time, in milliseconds, between the scheduled execution time of a timeout and its actual execution
+     */
+    long getAverageLag();
+
+    /**
+     * A timeout scheduled by a {@link TimeoutScheduler}.
+     */
+    interface ScheduledTimeout {
+        /**
+         * Cancels the timeout. A task that is currently running is not interrupted.
+         *
+         * @return {@code true} if this call prevented one or more executions of the task
+         */
+        boolean cancel();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link TimeoutScheduler} backed by a {@link Timer}, i.e. a single thread and a binary heap of the timeouts.
+ * Cancelled timeouts remain in the heap until their scheduled execution time or until the scheduler is purged.
+ */
+public class UtilTimerTimeoutScheduler extends AbstractTimeoutScheduler {
+
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private volatile Timer timer;
+
+    @Override
+    public void start() {
+        this.timer = new Timer();
+    }
+
+    @Override
+    public void stop() {
+        this.timer.cancel();
+    }
+
+    @Override
+    public ScheduledTimeout schedule(Runnable task, long delay) {
+        UtilTimerTimeout timeout = new UtilTimerTimeout(task, false);
+        scheduled.incrementAndGet();
+        try {
+            this.timer.schedule(timeout, delay);
+        } catch (RuntimeException e) {
+            scheduled.decrementAndGet();
+            throw e;
+        }
+        return timeout;
+    }
+
+    @Override
+    public ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        UtilTimerTimeout timeout = new UtilTimerTimeout(task, true);
+        scheduled.incrementAndGet();
+        try {
+            this.timer.scheduleAtFixedRate(timeout, delay, period);
+        } catch (RuntimeException e) {
+            scheduled.decrementAndGet();
+            throw e;
+        }
+        return timeout;
+    }
+
+    @Override
+    public void purge() {
+        this.timer.purge();
+    }
+
+    @Override
+    public int getScheduledTimeoutCount() {
+        return scheduled.get();
+    }
+
+    private class UtilTimerTimeout extends TimerTask implements ScheduledTimeout {
+        private final Runnable task;
+        private final boolean periodic;
+
+        UtilTimerTimeout(Runnable task, boolean periodic) {
+            this.task = task;
+            this.periodic = periodic;
+        }
+
+        @Override
+        public void run() {
+            if (!periodic) {
+                scheduled.decrementAndGet();
+            }
+            expire(task, TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - scheduledExecutionTime()));
+        }
+
+        @Override
+        public boolean cancel() {
+            // a single action timeout that already ran can not be cancelled
+            if (super.cancel()) {
+                scheduled.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
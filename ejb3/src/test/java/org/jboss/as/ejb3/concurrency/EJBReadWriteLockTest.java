@@ -72,6 +72,35 @@ public class EJBReadWriteLockTest {
 
     }
 
+    /**
+     * Test that a thread which held nested read locks can only obtain a write lock once it released all of them
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLoopBackWithNestedReadLocks() throws Exception {
+        Lock readLock = this.ejbReadWriteLock.readLock();
+        Lock writeLock = this.ejbReadWriteLock.writeLock();
+
+        readLock.lock();
+        readLock.lock();
+        readLock.unlock();
+        try {
+            writeLock.lock();
+            writeLock.unlock();
+
+            Assert.fail("Unexpected acquired write lock");
+        } catch (IllegalLoopbackException ilbe) {
+            // expected
+        } finally {
+            readLock.unlock();
+        }
+
+        // no read lock is held anymore
+        Assert.assertTrue(writeLock.tryLock(2, TimeUnit.SECONDS));
+        writeLock.unlock();
+    }
+
     /**
      * Test that when a thread tries to obtain a read lock when another thread holds a write lock,
      * fails to acquire the lock, if the write lock is not released within the timeout specified
@@ -0,0 +1,196 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.pool.strictmax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.common.MockBean;
+import org.jboss.as.ejb3.pool.common.MockFactory;
+import org.junit.Test;
+
+/**
+ * Tests for a {@link StrictMaxPool} with a fair semaphore.
+ */
+public class FairStrictMaxPoolUnitTestCase {
+
+    @Test
+    public void test1() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new StrictMaxPool<>(factory, 10, 1, TimeUnit.SECONDS, true);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        assertEquals(0, pool.getAvailableCount());
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+        assertEquals(10, pool.getAvailableCount());
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    /**
+     * Waiting callers get the released instances in arrival order.
+     */
+    @Test
+    public void testWaitersServedInOrder() throws Exception {
+        MockBean.reset();
+        final Pool<MockBean> pool = new StrictMaxPool<>(new MockFactory(), 1, 60, TimeUnit.SECONDS, true);
+        pool.start();
+
+        MockBean bean = pool.get();
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        Thread[] threads = new Thread[3];
+        for (int i = 0; i < threads.length; i++) {
+            final int id = i;
+            threads[i] = new Thread(() -> {
+                MockBean waiting = pool.get();
+                order.add(id);
+                pool.release(waiting);
+            });
+            threads[i].start();
+            // let the caller enqueue itself before starting the next one
+            while (threads[i].getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(10);
+            }
+        }
+        pool.release(bean);
+
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        pool.stop();
+
+        assertEquals(Arrays.asList(0, 1, 2), order);
+        assertEquals(3, pool.getWaitCount());
+        assertEquals(1, MockBean.getPostConstructs());
+    }
+
+    /**
+     * An interrupted caller gets an available instance without waiting, as with an unfair pool.
+     */
+    @Test
+    public void testInterruptedCaller() {
+        MockBean.reset();
+        Pool<MockBean> pool = new StrictMaxPool<>(new MockFactory(), 1, 1, TimeUnit.SECONDS, true);
+        pool.start();
+
+        Thread.currentThread().interrupt();
+        try {
+            MockBean bean = pool.get();
+            pool.release(bean);
+        } finally {
+            Thread.interrupted();
+        }
+        pool.stop();
+
+        assertEquals(0, pool.getWaitCount());
+        assertEquals(1, MockBean.getPostConstructs());
+    }
+
+    /**
+     * More threads than the pool size.
+     */
+    @Test
+    public void testMultiThread() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        final Pool<MockBean> pool = new StrictMaxPool<>(factory, 10, 60, TimeUnit.SECONDS, true);
+        pool.start();
+
+        final AtomicInteger used = new AtomicInteger(0);
+        final CountDownLatch in = new CountDownLatch(1);
+        final CountDownLatch ready = new CountDownLatch(10);
+
+        Callable<Void> task = new Callable<Void>() {
+            public Void call() throws Exception {
+                MockBean bean = pool.get();
+                ready.countDown();
+                in.await();
+                pool.release(bean);
+
+                used.incrementAndGet();
+
+                return null;
+            }
+        };
+
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        Future<?>[] results = new Future<?>[20];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = service.submit(task);
+        }
+
+        ready.await(120, TimeUnit.SECONDS);
+        in.countDown();
+
+        for (Future<?> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        service.shutdown();
+
+        pool.stop();
+
+        assertEquals(20, used.intValue());
+        assertEquals(MockBean.getPostConstructs(), MockBean.getPreDestroys());
+        assertEquals(10, pool.getAvailableCount());
+    }
+
+    @Test
+    public void testTooMany() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new StrictMaxPool<>(factory, 10, 1, TimeUnit.SECONDS, true);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+
+        try {
+            pool.get();
+            fail("should have thrown an exception");
+        } catch (Exception e) {
+            assertEquals(EjbLogger.ROOT_LOGGER.failedToAcquirePermit(1, TimeUnit.SECONDS).getMessage(), e.getMessage());
+        }
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the admission control of a {@link BoundedInvocationDispatcher}.
+ */
+public class BoundedInvocationDispatcherTestCase {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testMaxConcurrency() throws InterruptedException {
+        BoundedInvocationDispatcher dispatcher = new BoundedInvocationDispatcher(2, 100);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(50);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(dispatcher.dispatch(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            }, this.executor));
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(Integer.toString(peak.get()), peak.get() <= 2);
+        assertEquals(0, dispatcher.getQueued());
+    }
+
+    @Test
+    public void testMaxQueueSize() throws InterruptedException {
+        BoundedInvocationDispatcher dispatcher = new BoundedInvocationDispatcher(1, 2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> order = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        assertTrue(dispatcher.dispatch(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        }, this.executor));
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 2; i++) {
+            int task = i;
+            assertTrue(dispatcher.dispatch(() -> {
+                synchronized (order) {
+                    order.add(task);
+                }
+                done.countDown();
+            }, this.executor));
+        }
+        assertEquals(2, dispatcher.getQueued());
+        assertFalse(dispatcher.dispatch(() -> { }, this.executor));
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        synchronized (order) {
+            assertEquals(List.of(0, 1), order);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests the values that {@link ImmutableTypes} lets a local invocation pass by reference.
+ */
+public class ImmutableTypesTestCase {
+
+    private static final ClassLoader LOCAL = ImmutableTypesTestCase.class.getClassLoader();
+    private static final ClassLoader OTHER = new ClassLoader(null) { };
+
+    enum Color { RED }
+
+    record Point(int x, int y, String label, Color color, ZoneId zone) implements Serializable { }
+
+    record Line(Point from, Point to) implements Serializable { }
+
+    record Dated(Date date) implements Serializable { }
+
+    record Values(List<String> values) implements Serializable { }
+
+    record Unserializable(int x) { }
+
+    static class Mutable implements Serializable {
+        int x;
+    }
+
+    static class MutableBigInteger extends BigInteger {
+        MutableBigInteger() {
+            super("1");
+        }
+    }
+
+    @Test
+    public void testJdkTypes() {
+        assertTrue(ImmutableTypes.isShareable(String.class, OTHER));
+        assertTrue(ImmutableTypes.isShareable(Integer.class, OTHER));
+        assertTrue(ImmutableTypes.isShareable(BigInteger.class, OTHER));
+        assertTrue(ImmutableTypes.isShareable(Instant.class, OTHER));
+        assertTrue(ImmutableTypes.isShareable(ZoneId.of("Europe/Paris").getClass(), OTHER));
+        assertTrue(ImmutableTypes.isShareable(TimeUnit.class, OTHER));
+        assertFalse(ImmutableTypes.isShareable(Date.class, OTHER));
+        assertFalse(ImmutableTypes.isShareable(ArrayList.class, OTHER));
+        assertFalse(ImmutableTypes.isShareable(String[].class, OTHER));
+        assertFalse(ImmutableTypes.isShareable(MutableBigInteger.class, LOCAL));
+    }
+
+    @Test
+    public void testDeploymentTypes() {
+        assertTrue(ImmutableTypes.isShareable(Color.class, LOCAL));
+        assertTrue(ImmutableTypes.isShareable(Point.class, LOCAL));
+        assertTrue(ImmutableTypes.isShareable(Line.class, LOCAL));
+        // the class cloner would resolve another class
+        assertFalse(ImmutableTypes.isShareable(Color.class, OTHER));
+        assertFalse(ImmutableTypes.isShareable(Point.class, OTHER));
+        assertFalse(ImmutableTypes.isShareable(Dated.class, LOCAL));
+        assertFalse(ImmutableTypes.isShareable(Values.class, LOCAL));
+        assertFalse(ImmutableTypes.isShareable(Unserializable.class, LOCAL));
+        assertFalse(ImmutableTypes.isShareable(Mutable.class, LOCAL));
+    }
+}
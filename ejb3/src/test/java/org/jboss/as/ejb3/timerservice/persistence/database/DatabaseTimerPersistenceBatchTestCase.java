@@ -0,0 +1,135 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests how {@link DatabaseTimerPersistence} sends the timer writes of a {@link TimerWriteBatch} to the database.
+ */
+public class DatabaseTimerPersistenceBatchTestCase {
+
+    private final DatabaseTimerPersistence persistence = new DatabaseTimerPersistence(null, null, null, null, "", "part", "nodeA", 1000000, true);
+    private final TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement updateStatement = mock(PreparedStatement.class);
+    private final PreparedStatement deleteStatement = mock(PreparedStatement.class);
+
+    @Before
+    public void setUp() throws Exception {
+        final Properties sql = new Properties();
+        sql.setProperty("update-timer", "update...");
+        sql.setProperty("delete-timer", "delete...");
+        this.set("sql", sql);
+        this.set("dataSource", this.dataSource);
+
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.prepareStatement("update...")).thenReturn(this.updateStatement);
+        when(this.connection.prepareStatement("delete...")).thenReturn(this.deleteStatement);
+        when(this.updateStatement.executeBatch()).thenReturn(new int[] { 1, 1 });
+    }
+
+    @Test
+    public void testFlush() throws Exception {
+        TimerWriteBatch batch = new TimerWriteBatch();
+        batch.add(TimerWriteBatch.Operation.UPDATE, this.timer("1"));
+        batch.add(TimerWriteBatch.Operation.UPDATE, this.timer("2"));
+        batch.add(TimerWriteBatch.Operation.DELETE, this.timer("3"));
+
+        this.flush(batch);
+
+        // all the writes are sent on the same connection, with one statement per type of write
+        verify(this.dataSource, times(1)).getConnection();
+        verify(this.connection, times(1)).prepareStatement("update...");
+        verify(this.updateStatement, times(2)).addBatch();
+        verify(this.updateStatement, times(1)).executeBatch();
+        verify(this.connection, times(1)).prepareStatement("delete...");
+        verify(this.deleteStatement, never()).addBatch();
+        verify(this.deleteStatement, times(1)).executeUpdate();
+        verify(this.connection).close();
+
+        assertTrue(batch.isEmpty());
+        assertEquals(1L, this.persistence.getFlushCount());
+        assertEquals(3.0, this.persistence.getAverageBatchSize(), 0.0);
+    }
+
+    @Test
+    public void testEmptyBatch() throws Exception {
+        this.flush(new TimerWriteBatch());
+
+        verify(this.dataSource, never()).getConnection();
+        assertEquals(0L, this.persistence.getFlushCount());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        SQLException exception = new SQLException();
+        when(this.connection.prepareStatement(anyString())).thenThrow(exception);
+        TimerWriteBatch batch = new TimerWriteBatch();
+        batch.add(TimerWriteBatch.Operation.DELETE, this.timer("1"));
+
+        try {
+            this.flush(batch);
+            fail("The failure of the batch must be thrown");
+        } catch (RuntimeException e) {
+            // thrown from the synchronization of the transaction, this rolls the transaction back
+            assertSame(exception, e.getCause());
+        }
+        verify(this.connection).close();
+        assertEquals(1L, this.persistence.getFlushCount());
+    }
+
+    private TimerImpl timer(String id) {
+        return TimerImpl.builder()
+                .setId(id)
+                .setTimedObjectId("timedObject")
+                .setTimerState(TimerState.ACTIVE)
+                .setPersistent(true)
+                .build(this.timerService);
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = DatabaseTimerPersistence.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(this.persistence, value);
+    }
+
+    private void flush(TimerWriteBatch batch) throws Exception {
+        Method method = DatabaseTimerPersistence.class.getDeclaredMethod("flush", TimerWriteBatch.class);
+        method.setAccessible(true);
+        try {
+            method.invoke(this.persistence, batch);
+        } catch (InvocationTargetException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence.TimerChangeListener;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests how the refresh task of {@link DatabaseTimerPersistence} loads the timers changed by other nodes.
+ */
+public class DatabaseTimerPersistenceRefreshTestCase {
+
+    private static final String TIMED_OBJECT_ID = "timedObject";
+
+    private final DatabaseTimerPersistence persistence = new DatabaseTimerPersistence(null, null, null, null, "", "part", "nodeA", 1000000, true);
+    private final TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+    private final TimerChangeListener listener = mock(TimerChangeListener.class);
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statesStatement = mock(PreparedStatement.class);
+    private final PreparedStatement loadTimersStatement = mock(PreparedStatement.class);
+
+    @Before
+    public void setUp() throws Exception {
+        final Properties sql = new Properties();
+        sql.setProperty("load-timer-states", "states (%s)");
+        sql.setProperty("load-timers", "load-timers (%s)");
+        sql.setProperty("load-all-timers", "load-all...");
+        this.set("sql", sql);
+        this.set("dataSource", this.dataSource);
+        this.knownTimerIds().put(TIMED_OBJECT_ID, new HashSet<>());
+        this.persistence.registerChangeListener(TIMED_OBJECT_ID, this.listener);
+
+        when(this.listener.getTimerService()).thenReturn(this.timerService);
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.prepareStatement(startsWith("states"))).thenReturn(this.statesStatement);
+        when(this.connection.prepareStatement(startsWith("load-timers"))).thenReturn(this.loadTimersStatement);
+    }
+
+    @Test
+    public void testAddedTimersAreLoadedTogether() throws Exception {
+        this.knownTimerIds().get(TIMED_OBJECT_ID).add("0");
+        ResultSet states = this.resultSet("0", "1", "2", "3");
+        when(this.statesStatement.executeQuery()).thenReturn(states);
+        ResultSet timers = this.resultSet("1", "2", "3");
+        when(this.loadTimersStatement.executeQuery()).thenReturn(timers);
+
+        this.refresh();
+
+        // only the timed objects deployed on this node are probed
+        verify(this.connection).prepareStatement("states (?)");
+        verify(this.statesStatement).setString(1, "part");
+        verify(this.statesStatement).setString(2, TIMED_OBJECT_ID);
+        // the three timers added by other nodes are loaded by their ids with a single query
+        verify(this.dataSource, times(1)).getConnection();
+        verify(this.connection, times(1)).prepareStatement("load-timers (?, ?, ?)");
+        verify(this.loadTimersStatement, times(1)).executeQuery();
+        verify(this.loadTimersStatement, never()).setString(anyInt(), eq("0"));
+        verify(this.connection, never()).prepareStatement("load-all...");
+        verify(this.listener, times(3)).timerAdded(any(TimerImpl.class));
+        verify(this.listener, never()).timerAdded(argThat(timer -> timer.getId().equals("0")));
+        verify(this.statesStatement).close();
+        verify(this.loadTimersStatement).close();
+        verify(this.connection).close();
+    }
+
+    @Test
+    public void testAddedTimersAreLoadedInBatches() throws Exception {
+        String[] ids = new String[150];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = String.valueOf(i);
+        }
+        ResultSet states = this.resultSet(ids);
+        when(this.statesStatement.executeQuery()).thenReturn(states);
+        ResultSet first = this.resultSet(Arrays.copyOfRange(ids, 0, 100));
+        ResultSet second = this.resultSet(Arrays.copyOfRange(ids, 100, 150));
+        when(this.loadTimersStatement.executeQuery()).thenReturn(first, second);
+
+        this.refresh();
+
+        verify(this.loadTimersStatement, times(2)).executeQuery();
+        verify(this.loadTimersStatement, times(2)).close();
+        verify(this.listener, times(150)).timerAdded(any(TimerImpl.class));
+    }
+
+    @Test
+    public void testAddedTimerIsLoadedById() throws Exception {
+        ResultSet states = this.resultSet("1");
+        when(this.statesStatement.executeQuery()).thenReturn(states);
+        ResultSet timer = this.resultSet("1");
+        when(this.loadTimersStatement.executeQuery()).thenReturn(timer);
+
+        this.refresh();
+
+        verify(this.connection).prepareStatement("load-timers (?)");
+        verify(this.loadTimersStatement).setString(1, TIMED_OBJECT_ID);
+        verify(this.loadTimersStatement).setString(2, "part");
+        verify(this.loadTimersStatement).setString(3, "1");
+        verify(this.loadTimersStatement, times(1)).executeQuery();
+        verify(this.connection, never()).prepareStatement("load-all...");
+        verify(this.listener, times(1)).timerAdded(any(TimerImpl.class));
+    }
+
+    @Test
+    public void testUnchangedTimersAreNotLoaded() throws Exception {
+        this.knownTimerIds().get(TIMED_OBJECT_ID).add("1");
+        ResultSet states = this.resultSet("1");
+        when(this.statesStatement.executeQuery()).thenReturn(states);
+
+        this.refresh();
+
+        verify(this.connection, never()).prepareStatement(startsWith("load-timers"));
+        verify(this.connection, never()).prepareStatement("load-all...");
+        verify(this.listener, never()).timerAdded(any(TimerImpl.class));
+    }
+
+    @Test
+    public void testTimerCreatedDuringRefreshIsNotRemoved() throws Exception {
+        this.knownTimerIds().get(TIMED_OBJECT_ID).add("1");
+        TimerImpl created = mock(TimerImpl.class);
+        when(created.getState()).thenReturn(TimerState.ACTIVE);
+        when(this.timerService.getTimer("2")).thenReturn(created);
+        ResultSet states = this.resultSet("1");
+        // this node creates a timer after the state query has read the table
+        when(this.statesStatement.executeQuery()).thenAnswer(invocation -> {
+            this.knownTimerIds().get(TIMED_OBJECT_ID).add("2");
+            return states;
+        });
+
+        this.refresh();
+
+        verify(this.listener, never()).timerRemoved("2");
+        assertTrue(this.knownTimerIds().get(TIMED_OBJECT_ID).contains("2"));
+    }
+
+    /**
+     * Returns the rows of active interval timers of the timed object, in the columns of both the state query and the timer queries.
+     */
+    private ResultSet resultSet(String... ids) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        Boolean[] next = new Boolean[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            next[i] = i < ids.length - 1;
+        }
+        when(resultSet.next()).thenReturn(true, next);
+        String[] otherIds = new String[ids.length - 1];
+        System.arraycopy(ids, 1, otherIds, 0, otherIds.length);
+        when(resultSet.getString(1)).thenReturn(ids[0], otherIds);
+        when(resultSet.getString(2)).thenReturn(TIMED_OBJECT_ID);
+        when(resultSet.getString(3)).thenReturn("ACTIVE");
+        when(resultSet.getString(9)).thenReturn("ACTIVE");
+        return resultSet;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Set<String>> knownTimerIds() throws ReflectiveOperationException {
+        Field field = DatabaseTimerPersistence.class.getDeclaredField("knownTimerIds");
+        field.setAccessible(true);
+        return (Map<String, Set<String>>) field.get(this.persistence);
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = DatabaseTimerPersistence.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(this.persistence, value);
+    }
+
+    private void refresh() throws ReflectiveOperationException {
+        Class<?> taskClass = Class.forName(DatabaseTimerPersistence.class.getName() + "$RefreshTask");
+        Constructor<?> constructor = taskClass.getDeclaredConstructor(DatabaseTimerPersistence.class);
+        constructor.setAccessible(true);
+        ((Runnable) constructor.newInstance(this.persistence)).run();
+    }
+}
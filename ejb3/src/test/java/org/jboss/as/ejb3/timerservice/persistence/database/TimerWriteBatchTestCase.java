@@ -0,0 +1,91 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.junit.Test;
+
+/**
+ * Tests the coalescing of the timer writes of a transaction by {@link TimerWriteBatch}.
+ */
+public class TimerWriteBatchTestCase {
+
+    private final TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+
+    private TimerImpl timer(String id) {
+        return TimerImpl.builder()
+                .setId(id)
+                .setTimedObjectId("timedObject")
+                .setTimerState(TimerState.CREATED)
+                .setPersistent(true)
+                .build(this.timerService);
+    }
+
+    @Test
+    public void testInsertThenUpdate() {
+        TimerWriteBatch batch = new TimerWriteBatch();
+        TimerImpl timer = this.timer("1");
+        batch.add(TimerWriteBatch.Operation.INSERT, timer);
+        batch.add(TimerWriteBatch.Operation.UPDATE, timer);
+
+        List<TimerWriteBatch.Write> writes = batch.drain();
+        assertEquals(1, writes.size());
+        assertEquals(TimerWriteBatch.Operation.INSERT, writes.get(0).operation);
+        assertSame(timer, writes.get(0).timer);
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void testInsertThenDelete() {
+        TimerWriteBatch batch = new TimerWriteBatch();
+        TimerImpl timer = this.timer("1");
+        batch.add(TimerWriteBatch.Operation.INSERT, timer);
+        batch.add(TimerWriteBatch.Operation.UPDATE, timer);
+        batch.add(TimerWriteBatch.Operation.DELETE, timer);
+
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void testUpdateThenDelete() {
+        TimerWriteBatch batch = new TimerWriteBatch();
+        TimerImpl timer = this.timer("1");
+        batch.add(TimerWriteBatch.Operation.UPDATE, timer);
+        batch.add(TimerWriteBatch.Operation.UPDATE, timer);
+        batch.add(TimerWriteBatch.Operation.DELETE, timer);
+
+        List<TimerWriteBatch.Write> writes = batch.drain();
+        assertEquals(1, writes.size());
+        assertEquals(TimerWriteBatch.Operation.DELETE, writes.get(0).operation);
+    }
+
+    @Test
+    public void testOrder() {
+        TimerWriteBatch batch = new TimerWriteBatch();
+        TimerImpl first = this.timer("1");
+        TimerImpl second = this.timer("2");
+        TimerImpl third = this.timer("3");
+        batch.add(TimerWriteBatch.Operation.INSERT, first);
+        batch.add(TimerWriteBatch.Operation.UPDATE, second);
+        batch.add(TimerWriteBatch.Operation.INSERT, third);
+        batch.add(TimerWriteBatch.Operation.UPDATE, first);
+        assertEquals(3, batch.size());
+
+        List<TimerWriteBatch.Write> writes = batch.drain();
+        assertSame(first, writes.get(0).timer);
+        assertSame(second, writes.get(1).timer);
+        assertSame(third, writes.get(2).timer);
+    }
+}
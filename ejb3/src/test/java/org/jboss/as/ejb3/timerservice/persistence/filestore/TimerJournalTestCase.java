@@ -0,0 +1,135 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the replay, recovery and compaction of a {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("timer-journal").toFile();
+    }
+
+    @After
+    public void deleteDirectory() {
+        for (File file : this.directory.listFiles()) {
+            file.delete();
+        }
+        this.directory.delete();
+    }
+
+    private static byte[] timer(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        try (TimerJournal journal = new TimerJournal(this.directory, 1024 * 1024)) {
+            assertTrue(journal.open().isEmpty());
+            journal.put("1", timer("first"));
+            journal.put("2", timer("second"));
+            journal.put("1", timer("first updated"));
+            journal.remove("2");
+            journal.put("3", timer("third"));
+            journal.sync();
+        }
+
+        try (TimerJournal journal = new TimerJournal(this.directory, 1024 * 1024)) {
+            Map<String, byte[]> timers = journal.open();
+            assertEquals(2, timers.size());
+            assertArrayEquals(timer("first updated"), timers.get("1"));
+            assertFalse(timers.containsKey("2"));
+            assertArrayEquals(timer("third"), timers.get("3"));
+        }
+    }
+
+    @Test
+    public void testTornRecord() throws IOException {
+        try (TimerJournal journal = new TimerJournal(this.directory, 1024 * 1024)) {
+            journal.open();
+            journal.put("1", timer("first"));
+            journal.put("2", timer("second"));
+        }
+        // a crash while the last record was appended
+        File segment = this.directory.listFiles()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        try (TimerJournal journal = new TimerJournal(this.directory, 1024 * 1024)) {
+            Map<String, byte[]> timers = journal.open();
+            assertEquals(1, timers.size());
+            assertArrayEquals(timer("first"), timers.get("1"));
+            // the torn record was dropped, so that the next one is readable
+            journal.put("3", timer("third"));
+        }
+
+        try (TimerJournal journal = new TimerJournal(this.directory, 1024 * 1024)) {
+            Map<String, byte[]> timers = journal.open();
+            assertEquals(2, timers.size());
+            assertArrayEquals(timer("third"), timers.get("3"));
+        }
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        int segmentSize = 1024;
+        try (TimerJournal journal = new TimerJournal(this.directory, segmentSize)) {
+            journal.open();
+            for (int i = 0; i < 1000; i++) {
+                journal.put(Integer.toString(i % 10), timer("timer " + i));
+            }
+            journal.remove("9");
+        }
+        // the superseded records were discarded
+        long size = 0;
+        for (File file : this.directory.listFiles()) {
+            size += file.length();
+        }
+        assertTrue(Long.toString(size), size < 4 * segmentSize);
+
+        try (TimerJournal journal = new TimerJournal(this.directory, segmentSize)) {
+            Map<String, byte[]> timers = journal.open();
+            assertEquals(9, timers.size());
+            for (int i = 0; i < 9; i++) {
+                assertArrayEquals(timer("timer " + (990 + i)), timers.get(Integer.toString(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testDelete() throws IOException {
+        TimerJournal journal = new TimerJournal(this.directory, 1024 * 1024);
+        journal.open();
+        journal.put("1", timer("first"));
+        journal.delete();
+
+        assertEquals(0, TimerJournal.segments(this.directory).length);
+        try (TimerJournal reopened = new TimerJournal(this.directory, 1024 * 1024)) {
+            assertTrue(reopened.open().isEmpty());
+        }
+    }
+}
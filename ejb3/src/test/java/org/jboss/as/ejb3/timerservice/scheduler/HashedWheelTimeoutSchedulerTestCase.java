@@ -0,0 +1,117 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler.ScheduledTimeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link HashedWheelTimeoutScheduler}.
+ */
+public class HashedWheelTimeoutSchedulerTestCase {
+
+    private HashedWheelTimeoutScheduler scheduler;
+
+    @Before
+    public void start() {
+        // a small wheel so that the timeouts span several revolutions
+        this.scheduler = new HashedWheelTimeoutScheduler(5, TimeUnit.MILLISECONDS, 8);
+        this.scheduler.start();
+    }
+
+    @After
+    public void stop() {
+        this.scheduler.stop();
+    }
+
+    @Test
+    public void testSchedule() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        this.scheduler.schedule(latch::countDown, 100);
+        assertEquals(1, this.scheduler.getScheduledTimeoutCount());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // never early
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+        assertEquals(0, this.scheduler.getScheduledTimeoutCount());
+    }
+
+    @Test
+    public void testOrder() throws InterruptedException {
+        int count = 20;
+        CountDownLatch latch = new CountDownLatch(count);
+        AtomicInteger last = new AtomicInteger(-1);
+        AtomicInteger outOfOrder = new AtomicInteger();
+        for (int i = count - 1; i >= 0; i--) {
+            int index = i;
+            this.scheduler.schedule(() -> {
+                if (last.getAndSet(index) > index) {
+                    outOfOrder.incrementAndGet();
+                }
+                latch.countDown();
+            }, 10L * (i + 1));
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, outOfOrder.get());
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTimeout timeout = this.scheduler.schedule(runs::incrementAndGet, 50);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, this.scheduler.getScheduledTimeoutCount());
+
+        CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.schedule(latch::countDown, 100);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void testScheduleAtFixedRate() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(5);
+        ScheduledTimeout timeout = this.scheduler.scheduleAtFixedRate(() -> {
+            runs.incrementAndGet();
+            latch.countDown();
+        }, 0, 20);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.cancel());
+        assertEquals(0, this.scheduler.getScheduledTimeoutCount());
+
+        int cancelledRuns = runs.get();
+        Thread.sleep(100);
+        // at most one execution may have been in progress while the timeout was cancelled
+        assertTrue(runs.get() <= cancelledRuns + 1);
+    }
+
+    @Test
+    public void testFailingTask() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.schedule(() -> {
+            throw new IllegalStateException();
+        }, 0);
+        this.scheduler.schedule(latch::countDown, 20);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -10,6 +10,7 @@ import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.api.core.management.ActiveMQServerControl;
 import org.apache.activemq.artemis.core.security.SecurityAuth;
+import org.apache.activemq.artemis.core.server.management.NotificationListener;
 
 /**
  * Wrapper interface to expose methods from {@link org.apache.activemq.artemis.core.server.ActiveMQServer}
@@ -103,4 +104,18 @@ public interface ActiveMQBroker {
      * @return the JSON description of the address settings of the specified match address
      */
     String getAddressSettingsAsJSON(String addressMatch);
+
+    /**
+     * Registers a listener of the notifications of the underlying {@link org.apache.activemq.artemis.core.server.ActiveMQServer}.
+     * @param listener the listener.
+     * @see org.apache.activemq.artemis.core.server.management.ManagementService#addNotificationListener(org.apache.activemq.artemis.core.server.management.NotificationListener).
+     */
+    void addNotificationListener(NotificationListener listener);
+
+    /**
+     * Unregisters a listener of the notifications of the underlying {@link org.apache.activemq.artemis.core.server.ActiveMQServer}.
+     * @param listener the listener.
+     * @see org.apache.activemq.artemis.core.server.management.ManagementService#removeNotificationListener(org.apache.activemq.artemis.core.server.management.NotificationListener).
+     */
+    void removeNotificationListener(NotificationListener listener);
 }
@@ -11,6 +11,7 @@ import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.api.core.management.ActiveMQServerControl;
 import org.apache.activemq.artemis.core.security.SecurityAuth;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.management.NotificationListener;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 
 /**
@@ -90,5 +91,19 @@ public class ActiveMQBrokerImpl implements ActiveMQBroker {
         return ManagementUtil.convertAddressSettingInfosAsJSON(settings.toJSON());
     }
 
+    @Override
+    public void addNotificationListener(NotificationListener listener) {
+        if (delegate.getManagementService() != null) {
+            delegate.getManagementService().addNotificationListener(listener);
+        }
+    }
+
+    @Override
+    public void removeNotificationListener(NotificationListener listener) {
+        if (delegate.getManagementService() != null) {
+            delegate.getManagementService().removeNotificationListener(listener);
+        }
+    }
+
 
 }
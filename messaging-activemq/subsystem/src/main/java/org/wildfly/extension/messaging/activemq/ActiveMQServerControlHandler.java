@@ -10,6 +10,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.dmr.ModelType.BOOLEAN;
 import static org.jboss.dmr.ModelType.LIST;
+import static org.jboss.dmr.ModelType.OBJECT;
 import static org.jboss.dmr.ModelType.STRING;
 import static org.wildfly.extension.messaging.activemq.ActiveMQActivationService.rollbackOperationIfServerNotActive;
 import static org.wildfly.extension.messaging.activemq.ManagementUtil.reportListOfStrings;
@@ -19,15 +20,22 @@ import static org.wildfly.extension.messaging.activemq.OperationDefinitionHelper
 import static org.wildfly.extension.messaging.activemq.OperationDefinitionHelper.runtimeOnlyOperation;
 import static org.wildfly.extension.messaging.activemq.OperationDefinitionHelper.runtimeReadOnlyOperation;
 
+import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.management.ActiveMQServerControl;
+import org.apache.activemq.artemis.api.core.management.QueueControl;
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.apache.activemq.artemis.core.postoffice.Address;
+import org.apache.activemq.artemis.core.postoffice.impl.AddressImpl;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.operations.validation.StringAllowedValuesValidator;
@@ -93,6 +101,7 @@ public class ActiveMQServerControlHandler extends AbstractRuntimeOnlyHandler {
     public static final String GET_ROLES_AS_JSON = "get-roles-as-json";
     public static final String GET_ADDRESS_SETTINGS_AS_JSON = "get-address-settings-as-json";
     public static final String FORCE_FAILOVER = "force-failover";
+    public static final String READ_QUEUE_STATISTICS = "read-queue-statistics";
 
     public static final AttributeDefinition TRANSACTION_AS_BASE_64 = createNonEmptyStringAttribute("transaction-as-base-64");
     public static final AttributeDefinition ADDRESS_MATCH = createNonEmptyStringAttribute("address-match");
@@ -103,6 +112,18 @@ public class ActiveMQServerControlHandler extends AbstractRuntimeOnlyHandler {
             .setRequired(false)
             .setValidator(new StringLengthValidator(1, Integer.MAX_VALUE, true, false))
             .build();
+    public static final AttributeDefinition QUEUE_MATCH = SimpleAttributeDefinitionBuilder.create("queue-match", ModelType.STRING)
+            .setRequired(false)
+            .setValidator(new StringLengthValidator(1, Integer.MAX_VALUE, true, false))
+            .build();
+
+    // the columns of the result of the read-queue-statistics operation, one element per queue
+    private static final AttributeDefinition QUEUE_NAMES = new StringListAttributeDefinition.Builder("queue-name").build();
+    private static final AttributeDefinition MESSAGE_COUNTS = new PrimitiveListAttributeDefinition.Builder(CommonAttributes.MESSAGE_COUNT.getName(), ModelType.LONG).build();
+    private static final AttributeDefinition DELIVERING_COUNTS = new PrimitiveListAttributeDefinition.Builder(CommonAttributes.DELIVERING_COUNT.getName(), ModelType.INT).build();
+    private static final AttributeDefinition CONSUMER_COUNTS = new PrimitiveListAttributeDefinition.Builder(CommonAttributes.CONSUMER_COUNT.getName(), ModelType.INT).build();
+    private static final AttributeDefinition MESSAGES_ADDED = new PrimitiveListAttributeDefinition.Builder(CommonAttributes.MESSAGES_ADDED.getName(), ModelType.LONG).build();
+    private static final AttributeDefinition MESSAGES_ACKNOWLEDGED = new PrimitiveListAttributeDefinition.Builder("messages-acknowledged", ModelType.LONG).build();
 
     private ActiveMQServerControlHandler() {
     }
@@ -135,6 +156,11 @@ public class ActiveMQServerControlHandler extends AbstractRuntimeOnlyHandler {
             return;
         }
 
+        if (READ_QUEUE_STATISTICS.equals(operationName)) {
+            readQueueStatistics(context, operation, getBroker(context, operation));
+            return;
+        }
+
         final ActiveMQServerControl serverControl = getServerControl(context, operation);
 
         try {
@@ -324,6 +350,18 @@ public class ActiveMQServerControlHandler extends AbstractRuntimeOnlyHandler {
                 .build(),
                 this);
 
+        registry.registerOperationHandler(runtimeReadOnlyOperation(READ_QUEUE_STATISTICS, resolver)
+                .setParameters(QUEUE_MATCH)
+                .setReplyType(OBJECT)
+                .setReplyParameters(QUEUE_NAMES,
+                        MESSAGE_COUNTS,
+                        DELIVERING_COUNTS,
+                        CONSUMER_COUNTS,
+                        MESSAGES_ADDED,
+                        MESSAGES_ACKNOWLEDGED)
+                .build(),
+                this);
+
         registry.registerOperationHandler(runtimeReadOnlyOperation(GET_ROLES, resolver)
                 .setParameters(ADDRESS_MATCH)
                 .setReplyType(LIST)
@@ -377,13 +415,56 @@ public class ActiveMQServerControlHandler extends AbstractRuntimeOnlyHandler {
         }
     }
 
+    /**
+     * Reads the statistics of all the queues matching the optional queue-match parameter in a single pass over the
+     * queues of the broker.
+     */
+    private void readQueueStatistics(OperationContext context, ModelNode operation, ActiveMQBroker broker) throws OperationFailedException {
+        final String queueMatch = QUEUE_MATCH.resolveModelAttribute(context, operation).asStringOrNull();
+        final WildcardConfiguration wildcardConfiguration = ActiveMQServer.class.cast(broker.getDelegate()).getConfiguration().getWildcardConfiguration();
+        readQueueStatistics(broker.getResources(QueueControl.class), queueMatch, wildcardConfiguration, context.getResult());
+    }
+
+    /**
+     * Reads the statistics of the queues whose name matches the queue match, with the wildcards of the broker, as the
+     * address-match of the address settings. The result holds a list per statistic, whose elements are in the order of
+     * the queue names.
+     *
+     * @param queueMatch the queue match, or {@code null} to read all the queues
+     */
+    static void readQueueStatistics(Object[] queueControls, String queueMatch, WildcardConfiguration wildcardConfiguration, ModelNode result) {
+        final Address match = queueMatch == null ? null : new AddressImpl(SimpleString.toSimpleString(queueMatch), wildcardConfiguration);
+        final ModelNode names = result.get(QUEUE_NAMES.getName()).setEmptyList();
+        final ModelNode messageCounts = result.get(MESSAGE_COUNTS.getName()).setEmptyList();
+        final ModelNode deliveringCounts = result.get(DELIVERING_COUNTS.getName()).setEmptyList();
+        final ModelNode consumerCounts = result.get(CONSUMER_COUNTS.getName()).setEmptyList();
+        final ModelNode messagesAdded = result.get(MESSAGES_ADDED.getName()).setEmptyList();
+        final ModelNode messagesAcknowledged = result.get(MESSAGES_ACKNOWLEDGED.getName()).setEmptyList();
+        for (Object obj : queueControls) {
+            final QueueControl control = QueueControl.class.cast(obj);
+            final String name = control.getName();
+            // the name is matched against the queue match, which holds the wildcards
+            if (match == null || new AddressImpl(SimpleString.toSimpleString(name), wildcardConfiguration).matches(match)) {
+                names.add(name);
+                messageCounts.add(control.getMessageCount());
+                deliveringCounts.add(control.getDeliveringCount());
+                consumerCounts.add(control.getConsumerCount());
+                messagesAdded.add(control.getMessagesAdded());
+                messagesAcknowledged.add(control.getMessagesAcknowledged());
+            }
+        }
+    }
+
     private ActiveMQServerControl getServerControl(final OperationContext context, ModelNode operation) throws OperationFailedException {
+        return getBroker(context, operation).getActiveMQServerControl();
+    }
+
+    private ActiveMQBroker getBroker(final OperationContext context, ModelNode operation) throws OperationFailedException {
         final ServiceName serviceName = MessagingServices.getActiveMQServiceName(PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR)));
         ServiceController<?> service = context.getServiceRegistry(false).getService(serviceName);
         if (service == null || service.getState() != ServiceController.State.UP) {
             throw MessagingLogger.ROOT_LOGGER.activeMQServerNotInstalled(serviceName.getSimpleName());
         }
-        ActiveMQBroker server = ActiveMQBroker.class.cast(service.getValue());
-        return server.getActiveMQServerControl();
+        return ActiveMQBroker.class.cast(service.getValue());
     }
 }
@@ -12,9 +12,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
-import org.apache.activemq.artemis.api.core.management.AddressControl;
-import org.apache.activemq.artemis.api.core.management.QueueControl;
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -32,6 +31,8 @@ import org.wildfly.extension.messaging.activemq._private.MessagingLogger;
 public class ActiveMQServerResource implements Resource {
 
     private final Resource delegate;
+    // shared with the clones of this resource, so that the broker has a single listener
+    private final AtomicReference<RuntimeResourceIndex> runtimeResourceIndex;
     private volatile ServiceController<ActiveMQBroker> activeMQServerServiceController;
 
     public ActiveMQServerResource() {
@@ -39,7 +40,12 @@ public class ActiveMQServerResource implements Resource {
     }
 
     public ActiveMQServerResource(final Resource delegate) {
+        this(delegate, new AtomicReference<>());
+    }
+
+    private ActiveMQServerResource(final Resource delegate, final AtomicReference<RuntimeResourceIndex> runtimeResourceIndex) {
         this.delegate = delegate;
+        this.runtimeResourceIndex = runtimeResourceIndex;
     }
 
     public ServiceController<ActiveMQBroker> getActiveMQServerServiceController() {
@@ -47,9 +53,25 @@ public class ActiveMQServerResource implements Resource {
     }
 
     public void setActiveMQServerServiceController(ServiceController<ActiveMQBroker> activeMQServerServiceController) {
+        if (this.activeMQServerServiceController != activeMQServerServiceController) {
+            closeRuntimeResourceIndex();
+        }
         this.activeMQServerServiceController = activeMQServerServiceController;
     }
 
+    /**
+     * Removes the index of the runtime resources from the broker, once the server resource is removed or its broker is
+     * replaced. The index is built again if the runtime resources are read afterwards.
+     */
+    void closeRuntimeResourceIndex() {
+        synchronized (runtimeResourceIndex) {
+            final RuntimeResourceIndex index = runtimeResourceIndex.getAndSet(null);
+            if (index != null) {
+                index.close();
+            }
+        }
+    }
+
     @Override
     public ModelNode getModel() {
         return delegate.getModel();
@@ -107,9 +129,9 @@ public class ActiveMQServerResource implements Resource {
     @Override
     public boolean hasChildren(String childType) {
         if (CORE_ADDRESS.equals(childType)) {
-            return !getChildrenNames(CORE_ADDRESS).isEmpty();
+            return !getCoreAddressNames().isEmpty();
         } else if (RUNTIME_QUEUE.equals(childType)) {
-            return !getChildrenNames(RUNTIME_QUEUE).isEmpty();
+            return !getCoreQueueNames().isEmpty();
         } else {
             return delegate.hasChildren(childType);
         }
@@ -214,8 +236,8 @@ public class ActiveMQServerResource implements Resource {
 
     @Override
     public Resource clone() {
-        ActiveMQServerResource clone = new ActiveMQServerResource(delegate.clone());
-        clone.setActiveMQServerServiceController(activeMQServerServiceController);
+        ActiveMQServerResource clone = new ActiveMQServerResource(delegate.clone(), runtimeResourceIndex);
+        clone.activeMQServerServiceController = activeMQServerServiceController;
         return clone;
     }
 
@@ -230,33 +252,44 @@ public class ActiveMQServerResource implements Resource {
     }
 
     private Set<String> getCoreAddressNames() {
-        final ActiveMQBroker broker = getActiveMQBroker();
-        if (broker == null) {
-            return Collections.emptySet();
-        } else {
-            Set<String> result = new HashSet<String>();
-            for (Object obj : broker.getResources(AddressControl.class)) {
-                AddressControl ac = AddressControl.class.cast(obj);
-                result.add(ac.getAddress());
-            }
-            return result;
-        }
+        final RuntimeResourceIndex index = getRuntimeResourceIndex();
+        return index == null ? Collections.emptySet() : index.getAddressNames();
     }
 
     private Set<String> getCoreQueueNames() {
+        final RuntimeResourceIndex index = getRuntimeResourceIndex();
+        return index == null ? Collections.emptySet() : index.getQueueNames();
+    }
+
+    /**
+     * Returns the index of the runtime resources of the current broker, which is rebuilt whenever the broker is
+     * replaced, activated or deactivated, as its management resources are then registered or unregistered at once.
+     */
+    private RuntimeResourceIndex getRuntimeResourceIndex() {
         final ActiveMQBroker broker = getActiveMQBroker();
-        if (broker == null) {
-            return Collections.emptySet();
-        } else {
-            Set<String> result = new HashSet<String>();
-            for (Object obj : broker.getResources(QueueControl.class)) {
-                QueueControl qc = QueueControl.class.cast(obj);
-                result.add(qc.getName());
+        final boolean active = broker != null && broker.isActive();
+        RuntimeResourceIndex index = runtimeResourceIndex.get();
+        if (isCurrent(index, broker, active)) {
+            return index;
+        }
+        synchronized (runtimeResourceIndex) {
+            index = runtimeResourceIndex.get();
+            if (isCurrent(index, broker, active)) {
+                return index;
             }
-            return result;
+            if (index != null) {
+                index.close();
+            }
+            index = broker == null ? null : new RuntimeResourceIndex(broker, active);
+            runtimeResourceIndex.set(index);
+            return index;
         }
     }
 
+    private static boolean isCurrent(RuntimeResourceIndex index, ActiveMQBroker broker, boolean active) {
+        return index == null ? broker == null : broker != null && index.indexes(broker, active);
+    }
+
     private ActiveMQBroker getActiveMQBroker() {
         if (activeMQServerServiceController == null
                 || activeMQServerServiceController.getState() != ServiceController.State.UP) {
@@ -11,14 +11,23 @@ import static org.wildfly.extension.messaging.activemq.MessagingExtension.JOURNA
 import static org.wildfly.extension.messaging.activemq.MessagingExtension.LARGE_MESSAGES_DIRECTORY_PATH;
 import static org.wildfly.extension.messaging.activemq.MessagingExtension.PAGING_DIRECTORY_PATH;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.activemq.artemis.cli.commands.tools.xml.XmlDataExporter;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -30,6 +39,8 @@ import org.wildfly.extension.messaging.activemq._private.MessagingLogger;
  * Export a dump of Artemis journal. WildFly must be running in ADMIN-ONLY mode to perform this operation.
  *
  * The dump is stored on WildFly host and is not sent to the client invoking the operation.
+ * It can be compressed with GZIP, and its SHA-256 checksum is written next to it, in the format of the {@code sha256sum}
+ * command, so that its integrity can be verified once it is copied to another host.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2015 Red Hat inc.
  */
@@ -40,6 +51,16 @@ public class ExportJournalOperation extends AbstractArtemisActionHandler {
 
     // name file of the dump follows the format journal-yyyyMMdd-HHmmssSSSTZ-dump.xml
     private static final String FILE_NAME_FORMAT = "journal-%1$tY%<tm%<td-%<tH%<tM%<tS%<TL%<tz-dump.xml";
+    private static final String COMPRESSED_FILE_SUFFIX = ".gz";
+    static final String CHECKSUM_FILE_SUFFIX = ".sha256";
+    static final String CHECKSUM_ALGORITHM = "SHA-256";
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final AttributeDefinition COMPRESS = SimpleAttributeDefinitionBuilder.create("compress", ModelType.BOOLEAN)
+            .setDefaultValue(ModelNode.FALSE)
+            .setAllowExpression(false)
+            .setRequired(false)
+            .build();
 
     private ExportJournalOperation() {
 
@@ -47,6 +68,7 @@ public class ExportJournalOperation extends AbstractArtemisActionHandler {
 
     static void registerOperation(final ManagementResourceRegistration registry, final ResourceDescriptionResolver resourceDescriptionResolver) {
         registry.registerOperationHandler(new SimpleOperationDefinitionBuilder(OPERATION_NAME, resourceDescriptionResolver)
+                        .addParameter(COMPRESS)
                         .setRuntimeOnly()
                         .setReplyValueType(ModelType.STRING)
                         .build(),
@@ -65,25 +87,24 @@ public class ExportJournalOperation extends AbstractArtemisActionHandler {
         final String paging = resolvePath(context,  PAGING_DIRECTORY_PATH);
         final String largeMessages = resolvePath(context, LARGE_MESSAGES_DIRECTORY_PATH);
 
+        final boolean compress = COMPRESS.resolveModelAttribute(context, operation).asBoolean();
+
         final XmlDataExporter exporter = new XmlDataExporter();
 
-        String name = String.format(FILE_NAME_FORMAT, new Date());
+        String name = String.format(FILE_NAME_FORMAT, new Date()) + (compress ? COMPRESSED_FILE_SUFFIX : "");
         // write the exported dump at the same level than the journal directory
         File dump = new File(new File(journal).getParent(), name);
-        FileOutputStream fos = null;
         try {
-            fos = new FileOutputStream(dump);
-            exporter.process(fos, bindings, journal, paging, largeMessages);
+            final MessageDigest digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+            try (OutputStream fos = new DigestOutputStream(new FileOutputStream(dump), digest);
+                 OutputStream os = new BufferedOutputStream(compress ? new GZIPOutputStream(fos, BUFFER_SIZE) : fos, BUFFER_SIZE)) {
+                exporter.process(os, bindings, journal, paging, largeMessages);
+            }
+            final String checksum = HexFormat.of().formatHex(digest.digest()) + "  " + name + "\n";
+            Files.writeString(new File(dump.getParent(), name + CHECKSUM_FILE_SUFFIX).toPath(), checksum, StandardCharsets.UTF_8);
             context.getResult().set(dump.getAbsolutePath());
         } catch (Exception e) {
             throw new OperationFailedException(e);
-        } finally {
-            if (fos != null) {
-                try {
-                    fos.close();
-                } catch (IOException e) {
-                }
-            }
         }
     }
 }
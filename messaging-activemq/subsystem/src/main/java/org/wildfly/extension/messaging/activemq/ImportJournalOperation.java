@@ -8,12 +8,20 @@ package org.wildfly.extension.messaging.activemq;
 import static org.jboss.as.controller.PathAddress.EMPTY_ADDRESS;
 import static org.jboss.as.controller.RunningMode.NORMAL;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
@@ -42,23 +50,34 @@ import org.wildfly.extension.messaging.activemq._private.MessagingLogger;
  * WildFly must be running in NORMAL mode to perform this operation.
  *
  * The dump file MUST be on WildFly host. It is not attached to the operation stream.
+ * A dump compressed with GZIP is decompressed on the fly. If requested, the dump is verified against the SHA-256 checksum
+ * file written next to it by the {@link ExportJournalOperation export-journal} operation before it is imported. As this
+ * reads the whole dump a second time, it is not done by default.
+ * The import is synchronous: the management operation returns once the whole dump is imported, while the server keeps
+ * serving its clients. Its progress is only logged.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2015 Red Hat inc.
  */
 public class ImportJournalOperation extends AbstractArtemisActionHandler {
 
-    private static AttributeDefinition FILE = SimpleAttributeDefinitionBuilder.create("file", PathResourceDefinition.PATH)
+    private static final AttributeDefinition FILE = SimpleAttributeDefinitionBuilder.create("file", PathResourceDefinition.PATH)
             .setAllowExpression(false)
             .setRequired(true)
             .build();
 
-    private static AttributeDefinition LEGACY_PREFIXES = SimpleAttributeDefinitionBuilder.create("legacy-prefixes", ModelType.BOOLEAN)
+    private static final AttributeDefinition LEGACY_PREFIXES = SimpleAttributeDefinitionBuilder.create("legacy-prefixes", ModelType.BOOLEAN)
             // import with legacy prefix by default for backwards compatibility
             .setDefaultValue(ModelNode.TRUE)
             .setAllowExpression(false)
             .setRequired(false)
             .build();
 
+    private static final AttributeDefinition VERIFY_CHECKSUM = SimpleAttributeDefinitionBuilder.create("verify-checksum", ModelType.BOOLEAN)
+            .setDefaultValue(ModelNode.FALSE)
+            .setAllowExpression(false)
+            .setRequired(false)
+            .build();
+
     private static final String OPERATION_NAME = "import-journal";
 
     static final ImportJournalOperation INSTANCE = new ImportJournalOperation();
@@ -71,6 +90,7 @@ public class ImportJournalOperation extends AbstractArtemisActionHandler {
         registry.registerOperationHandler(new SimpleOperationDefinitionBuilder(OPERATION_NAME, resourceDescriptionResolver)
                         .addParameter(FILE)
                         .addParameter(LEGACY_PREFIXES)
+                        .addParameter(VERIFY_CHECKSUM)
                         .setRuntimeOnly()
                         .setReplyValueType(ModelType.BOOLEAN)
                         .build(),
@@ -87,22 +107,71 @@ public class ImportJournalOperation extends AbstractArtemisActionHandler {
         String file = FILE.resolveModelAttribute(context, operation).asString();
         boolean legacyPrefixes = LEGACY_PREFIXES.resolveModelAttribute(context, operation).asBoolean();
 
+        boolean verifyChecksum = VERIFY_CHECKSUM.resolveModelAttribute(context, operation).asBoolean();
+
         final XmlDataImporter importer = new XmlDataImporter();
         importer.legacyPrefixes = legacyPrefixes;
 
         TransportConfiguration transportConfiguration = createInVMTransportConfiguration(context);
         try (
-                InputStream is = new FileInputStream(new File(file));
+                InputStream is = openDump(new File(file), verifyChecksum);
                 ServerLocator serverLocator = ActiveMQClient.createServerLocator(false, transportConfiguration);
                 ClientSessionFactory sf = serverLocator.createSessionFactory()
         ) {
             ClientSession session = sf.createSession();
             importer.process(is, session);
+        } catch (OperationFailedException e) {
+            throw e;
         } catch (Exception e) {
             throw new OperationFailedException(e);
         }
     }
 
+    /**
+     * Verifies the dump against the checksum file next to it.
+     */
+    static void verifyChecksum(File dump) throws OperationFailedException {
+        final File checksumFile = new File(dump.getParentFile(), dump.getName() + ExportJournalOperation.CHECKSUM_FILE_SUFFIX);
+        if (!checksumFile.exists()) {
+            throw MessagingLogger.ROOT_LOGGER.journalDumpChecksumNotFound(checksumFile.getPath(), dump.getPath());
+        }
+        try {
+            // the checksum is followed by the name of the dump, which may have been renamed since
+            final String expected = Files.readString(checksumFile.toPath(), StandardCharsets.UTF_8).trim().split("\\s+")[0];
+            final MessageDigest digest = MessageDigest.getInstance(ExportJournalOperation.CHECKSUM_ALGORITHM);
+            final byte[] buffer = new byte[ExportJournalOperation.BUFFER_SIZE];
+            try (InputStream is = new FileInputStream(dump)) {
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            if (!expected.equalsIgnoreCase(HexFormat.of().formatHex(digest.digest()))) {
+                throw MessagingLogger.ROOT_LOGGER.journalDumpChecksumMismatch(dump.getPath(), checksumFile.getPath());
+            }
+        } catch (OperationFailedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OperationFailedException(e);
+        }
+    }
+
+    /**
+     * Opens the dump, decompressing it if it starts with the GZIP magic number, and logs the progress of its reading.
+     *
+     * @param verifyChecksum whether the dump is verified against the checksum file next to it before it is opened
+     */
+    static InputStream openDump(File dump, boolean verifyChecksum) throws OperationFailedException, IOException {
+        if (verifyChecksum) {
+            verifyChecksum(dump);
+        }
+        final InputStream is = new BufferedInputStream(new ProgressInputStream(new FileInputStream(dump), dump), ExportJournalOperation.BUFFER_SIZE);
+        is.mark(2);
+        final boolean compressed = is.read() == (GZIPInputStream.GZIP_MAGIC & 0xff) && is.read() == (GZIPInputStream.GZIP_MAGIC >> 8);
+        is.reset();
+        return compressed ? new BufferedInputStream(new GZIPInputStream(is, ExportJournalOperation.BUFFER_SIZE), ExportJournalOperation.BUFFER_SIZE) : is;
+    }
+
     /**
      * The XmlDataImporter requires a connector to connect to the artemis broker.
      *
@@ -124,4 +193,47 @@ public class ImportJournalOperation extends AbstractArtemisActionHandler {
         TransportConfiguration transportConfiguration = new TransportConfiguration(InVMConnectorFactory.class.getName(), params);
         return transportConfiguration;
     }
+
+    /**
+     * Logs every 10% of a dump which has been read.
+     */
+    private static class ProgressInputStream extends FilterInputStream {
+        private final File dump;
+        private final long length;
+        private long read;
+        private int percent;
+
+        ProgressInputStream(InputStream in, File dump) {
+            super(in);
+            this.dump = dump;
+            this.length = dump.length();
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b != -1) {
+                progress(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int count = super.read(b, off, len);
+            if (count > 0) {
+                progress(count);
+            }
+            return count;
+        }
+
+        private void progress(int count) {
+            read += count;
+            final int current = length > 0 ? (int) (read * 10 / length) * 10 : 100;
+            if (current > percent) {
+                percent = current;
+                MessagingLogger.ROOT_LOGGER.journalDumpImportProgress(percent, dump.getPath());
+            }
+        }
+    }
 }
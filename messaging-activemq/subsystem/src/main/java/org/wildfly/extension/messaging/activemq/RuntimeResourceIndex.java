@@ -0,0 +1,143 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.management.AddressControl;
+import org.apache.activemq.artemis.api.core.management.CoreNotificationType;
+import org.apache.activemq.artemis.api.core.management.ManagementHelper;
+import org.apache.activemq.artemis.api.core.management.QueueControl;
+import org.apache.activemq.artemis.core.postoffice.BindingType;
+import org.apache.activemq.artemis.core.server.management.Notification;
+import org.apache.activemq.artemis.core.server.management.NotificationListener;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
+
+/**
+ * Index of the names of the addresses and of the queues of a broker, which are exposed as runtime resources.
+ * <p/>
+ * The index is filled once from the management resources of the broker, then maintained from the address and binding
+ * notifications of the broker, so that the runtime resources can be enumerated without looking up every management
+ * resource of the broker.
+ * <p/>
+ * A resource may be added or removed while the index is filled: the outcome of the notifications received meanwhile is
+ * recorded, and applied again once the index is filled, so that a name read before the removal of its resource is not
+ * kept in the index.
+ */
+final class RuntimeResourceIndex implements NotificationListener {
+
+    private final ActiveMQBroker broker;
+    private final boolean active;
+    private final Set<String> addressNames = ConcurrentHashMap.newKeySet();
+    private final Set<String> queueNames = ConcurrentHashMap.newKeySet();
+    // whether each name notified while the index is filled was added or removed last, null once the index is filled
+    private Map<String, Boolean> notifiedAddressNames = new HashMap<>();
+    private Map<String, Boolean> notifiedQueueNames = new HashMap<>();
+
+    RuntimeResourceIndex(ActiveMQBroker broker, boolean active) {
+        this.broker = broker;
+        this.active = active;
+        // the listener is registered first so that no resource created meanwhile is missed
+        broker.addNotificationListener(this);
+        for (Object obj : broker.getResources(AddressControl.class)) {
+            addressNames.add(AddressControl.class.cast(obj).getAddress());
+        }
+        for (Object obj : broker.getResources(QueueControl.class)) {
+            queueNames.add(QueueControl.class.cast(obj).getName());
+        }
+        synchronized (this) {
+            replay(addressNames, notifiedAddressNames);
+            replay(queueNames, notifiedQueueNames);
+            notifiedAddressNames = null;
+            notifiedQueueNames = null;
+        }
+    }
+
+    private static void replay(Set<String> names, Map<String, Boolean> notified) {
+        for (Map.Entry<String, Boolean> entry : notified.entrySet()) {
+            update(names, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @return true if this index was built for the underlying server of the specified broker, in the specified state
+     */
+    boolean indexes(ActiveMQBroker broker, boolean active) {
+        return broker.getDelegate() == this.broker.getDelegate() && active == this.active;
+    }
+
+    Set<String> getAddressNames() {
+        return Collections.unmodifiableSet(addressNames);
+    }
+
+    Set<String> getQueueNames() {
+        return Collections.unmodifiableSet(queueNames);
+    }
+
+    void close() {
+        broker.removeNotificationListener(this);
+    }
+
+    @Override
+    public void onNotification(Notification notification) {
+        if (!(notification.getType() instanceof CoreNotificationType)) {
+            return;
+        }
+        final TypedProperties properties = notification.getProperties();
+        switch ((CoreNotificationType) notification.getType()) {
+            case ADDRESS_ADDED:
+                updateAddress(properties.getSimpleStringProperty(ManagementHelper.HDR_ADDRESS).toString(), true);
+                break;
+            case ADDRESS_REMOVED:
+                updateAddress(properties.getSimpleStringProperty(ManagementHelper.HDR_ADDRESS).toString(), false);
+                break;
+            case BINDING_ADDED:
+                if (isLocalQueue(properties)) {
+                    updateQueue(properties.getSimpleStringProperty(ManagementHelper.HDR_ROUTING_NAME).toString(), true);
+                }
+                break;
+            case BINDING_REMOVED:
+                if (isLocalQueue(properties)) {
+                    updateQueue(properties.getSimpleStringProperty(ManagementHelper.HDR_ROUTING_NAME).toString(), false);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private synchronized void updateAddress(String name, boolean added) {
+        if (notifiedAddressNames != null) {
+            notifiedAddressNames.put(name, added);
+        }
+        update(addressNames, name, added);
+    }
+
+    private synchronized void updateQueue(String name, boolean added) {
+        if (notifiedQueueNames != null) {
+            notifiedQueueNames.put(name, added);
+        }
+        update(queueNames, name, added);
+    }
+
+    private static void update(Set<String> names, String name, boolean added) {
+        if (added) {
+            names.add(name);
+        } else {
+            names.remove(name);
+        }
+    }
+
+    private static boolean isLocalQueue(TypedProperties properties) {
+        final SimpleString bindingType = ManagementHelper.HDR_BINDING_TYPE;
+        return properties.containsProperty(bindingType) && properties.getIntProperty(bindingType) == BindingType.LOCAL_QUEUE.toInt();
+    }
+}
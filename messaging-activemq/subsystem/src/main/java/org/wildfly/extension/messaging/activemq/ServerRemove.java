@@ -8,6 +8,8 @@ package org.wildfly.extension.messaging.activemq;
 import org.jboss.as.controller.AbstractRemoveStepHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceName;
 import org.wildfly.extension.messaging.activemq.jms.JMSServices;
@@ -25,6 +27,15 @@ class ServerRemove extends AbstractRemoveStepHandler {
     private ServerRemove() {
     }
 
+    @Override
+    protected void performRemove(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+        final Resource resource = context.readResource(PathAddress.EMPTY_ADDRESS, false);
+        super.performRemove(context, operation, model);
+        if (resource instanceof ActiveMQServerResource) {
+            // the index is built again if the removal is rolled back and the runtime resources are read
+            ((ActiveMQServerResource) resource).closeRuntimeResourceIndex();
+        }
+    }
 
     @Override
     protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
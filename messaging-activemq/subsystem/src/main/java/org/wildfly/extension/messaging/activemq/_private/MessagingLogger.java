@@ -905,4 +905,14 @@ public interface MessagingLogger extends BasicLogger {
 
     @Message(id = 119, value = "'%s' wasn't found among existing JMS resources.")
     OperationFormatException jndiWasNotFound(String jndiName);
+
+    @Message(id = 120, value = "The checksum of the journal dump %s does not match the checksum in %s")
+    OperationFailedException journalDumpChecksumMismatch(String file, String checksumFile);
+
+    @LogMessage(level = INFO)
+    @Message(id = 121, value = "Imported %d%% of the journal dump %s")
+    void journalDumpImportProgress(int percent, String file);
+
+    @Message(id = 122, value = "The checksum file %s of the journal dump %s was not found")
+    OperationFailedException journalDumpChecksumNotFound(String checksumFile, String file);
 }
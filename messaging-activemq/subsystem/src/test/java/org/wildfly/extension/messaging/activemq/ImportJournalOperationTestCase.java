@@ -0,0 +1,104 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.messaging.activemq;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+import org.jboss.as.controller.OperationFailedException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests how {@link ImportJournalOperation} opens and verifies a journal dump.
+ */
+public class ImportJournalOperationTestCase {
+
+    private static final byte[] CONTENT = "<activemq-journal></activemq-journal>".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testUncompressedDump() throws Exception {
+        File dump = this.folder.newFile("dump.xml");
+        Files.write(dump.toPath(), CONTENT);
+
+        assertArrayEquals(CONTENT, read(dump, false));
+    }
+
+    @Test
+    public void testCompressedDump() throws Exception {
+        File dump = this.folder.newFile("dump.xml.gz");
+        try (OutputStream os = new GZIPOutputStream(new FileOutputStream(dump))) {
+            os.write(CONTENT);
+        }
+
+        assertArrayEquals(CONTENT, read(dump, false));
+    }
+
+    @Test
+    public void testVerifiedDump() throws Exception {
+        File dump = this.folder.newFile("dump.xml");
+        Files.write(dump.toPath(), CONTENT);
+        writeChecksum(dump, checksum(CONTENT));
+
+        assertArrayEquals(CONTENT, read(dump, true));
+    }
+
+    @Test
+    public void testChecksumMismatch() throws Exception {
+        File dump = this.folder.newFile("dump.xml");
+        Files.write(dump.toPath(), CONTENT);
+        writeChecksum(dump, checksum("<activemq-journal/>".getBytes(StandardCharsets.UTF_8)));
+
+        assertThrows(OperationFailedException.class, () -> read(dump, true));
+    }
+
+    @Test
+    public void testMissingChecksum() throws Exception {
+        File dump = this.folder.newFile("dump.xml");
+        Files.write(dump.toPath(), CONTENT);
+
+        assertThrows(OperationFailedException.class, () -> read(dump, true));
+    }
+
+    @Test
+    public void testChecksumNotVerified() throws Exception {
+        File dump = this.folder.newFile("dump.xml");
+        Files.write(dump.toPath(), CONTENT);
+        writeChecksum(dump, checksum("<activemq-journal/>".getBytes(StandardCharsets.UTF_8)));
+
+        // the checksum file is ignored unless the verification is requested
+        assertArrayEquals(CONTENT, read(dump, false));
+    }
+
+    private static byte[] read(File dump, boolean verifyChecksum) throws OperationFailedException, IOException {
+        try (InputStream is = ImportJournalOperation.openDump(dump, verifyChecksum)) {
+            return is.readAllBytes();
+        }
+    }
+
+    private static String checksum(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(ExportJournalOperation.CHECKSUM_ALGORITHM).digest(content));
+    }
+
+    private static void writeChecksum(File dump, String checksum) throws IOException {
+        File file = new File(dump.getParentFile(), dump.getName() + ExportJournalOperation.CHECKSUM_FILE_SUFFIX);
+        Files.writeString(file.toPath(), checksum + "  " + dump.getName() + "\n", StandardCharsets.UTF_8);
+    }
+}
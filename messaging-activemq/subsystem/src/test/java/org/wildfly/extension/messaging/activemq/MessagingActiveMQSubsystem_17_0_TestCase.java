@@ -5,6 +5,14 @@
 package org.wildfly.extension.messaging.activemq;
 
 import static org.jboss.as.controller.PathElement.pathElement;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_DESCRIPTION_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUIRED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_7_4_0;
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_8_0_0;
 import static org.junit.Assert.assertTrue;
@@ -32,6 +40,7 @@ import java.util.Set;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.security.CredentialReference;
 import org.jboss.as.model.test.FailedOperationTransformationConfig;
 import org.jboss.as.model.test.ModelTestControllerVersion;
@@ -41,6 +50,7 @@ import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.KernelServicesBuilder;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.junit.Assert;
 import org.junit.Test;
 import org.wildfly.clustering.server.service.ClusteringServiceDescriptor;
@@ -99,6 +109,24 @@ public class MessagingActiveMQSubsystem_17_0_TestCase extends AbstractSubsystemB
         kernelServices.shutdown();
     }
 
+    @Test
+    public void testReadQueueStatisticsDescription() throws Exception {
+        KernelServices kernelServices = standardSubsystemTest(null, false);
+        ModelNode operation = Util.createOperation(READ_OPERATION_DESCRIPTION_OPERATION, PathAddress.pathAddress(SUBSYSTEM_PATH, pathElement(SERVER, DEFAULT)));
+        operation.get(NAME).set(ActiveMQServerControlHandler.READ_QUEUE_STATISTICS);
+        ModelNode description = ModelTestUtils.checkOutcome(kernelServices.executeOperation(operation)).get(RESULT);
+
+        ModelNode queueMatch = description.get(REQUEST_PROPERTIES, ActiveMQServerControlHandler.QUEUE_MATCH.getName());
+        Assert.assertEquals(ModelType.STRING, queueMatch.get(TYPE).asType());
+        Assert.assertFalse(queueMatch.get(REQUIRED).asBoolean());
+        ModelNode reply = description.get(REPLY_PROPERTIES);
+        Assert.assertEquals(ModelType.OBJECT, reply.get(TYPE).asType());
+        for (String statistic : List.of("queue-name", "message-count", "delivering-count", "consumer-count", "messages-added", "messages-acknowledged")) {
+            Assert.assertEquals(statistic, ModelType.LIST, reply.get(VALUE_TYPE, statistic, TYPE).asType());
+        }
+        kernelServices.shutdown();
+    }
+
     /////////////////////////////////////////
     //  Tests for HA Policy Configuration  //
     /////////////////////////////////////////
@@ -0,0 +1,89 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.messaging.activemq;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.management.QueueControl;
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests how the read-queue-statistics operation of {@link ActiveMQServerControlHandler} selects the queues and shapes
+ * its result.
+ */
+public class ReadQueueStatisticsTestCase {
+
+    private final Object[] queues = new Object[] {
+            queue("jms.queue.orders", 1),
+            queue("jms.queue.orders.eu", 2),
+            queue("jms.queue.invoices", 3),
+            queue("DLQ", 4),
+    };
+
+    @Test
+    public void testAllQueues() {
+        ModelNode result = this.read(null);
+
+        assertEquals(List.of("jms.queue.orders", "jms.queue.orders.eu", "jms.queue.invoices", "DLQ"), names(result));
+        // one list per statistic, whose elements are in the order of the queue names
+        for (String statistic : List.of("message-count", "delivering-count", "consumer-count", "messages-added", "messages-acknowledged")) {
+            assertEquals(statistic, 4, result.get(statistic).asList().size());
+        }
+        assertEquals(3L, result.get("message-count").get(2).asLong());
+        assertEquals(30, result.get("delivering-count").get(2).asInt());
+        assertEquals(300, result.get("consumer-count").get(2).asInt());
+        assertEquals(3000L, result.get("messages-added").get(2).asLong());
+        assertEquals(30000L, result.get("messages-acknowledged").get(2).asLong());
+    }
+
+    @Test
+    public void testSingleWordWildcard() {
+        assertEquals(List.of("jms.queue.orders", "jms.queue.invoices"), names(this.read("jms.queue.*")));
+    }
+
+    @Test
+    public void testAnyWordsWildcard() {
+        assertEquals(List.of("jms.queue.orders", "jms.queue.orders.eu"), names(this.read("jms.queue.orders.#")));
+        assertEquals(List.of("jms.queue.orders", "jms.queue.orders.eu", "jms.queue.invoices", "DLQ"), names(this.read("#")));
+    }
+
+    @Test
+    public void testExactName() {
+        assertEquals(List.of("DLQ"), names(this.read("DLQ")));
+        assertEquals(List.of(), names(this.read("jms.queue")));
+    }
+
+    private ModelNode read(String queueMatch) {
+        ModelNode result = new ModelNode();
+        ActiveMQServerControlHandler.readQueueStatistics(this.queues, queueMatch, new WildcardConfiguration(), result);
+        return result;
+    }
+
+    private static List<String> names(ModelNode result) {
+        List<String> names = new ArrayList<>();
+        for (ModelNode name : result.get("queue-name").asList()) {
+            names.add(name.asString());
+        }
+        return names;
+    }
+
+    private static QueueControl queue(String name, int count) {
+        QueueControl control = mock(QueueControl.class);
+        when(control.getName()).thenReturn(name);
+        when(control.getMessageCount()).thenReturn((long) count);
+        when(control.getDeliveringCount()).thenReturn(count * 10);
+        when(control.getConsumerCount()).thenReturn(count * 100);
+        when(control.getMessagesAdded()).thenReturn(count * 1000L);
+        when(control.getMessagesAcknowledged()).thenReturn(count * 10000L);
+        return control;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.management.AddressControl;
+import org.apache.activemq.artemis.api.core.management.CoreNotificationType;
+import org.apache.activemq.artemis.api.core.management.ManagementHelper;
+import org.apache.activemq.artemis.api.core.management.QueueControl;
+import org.apache.activemq.artemis.core.postoffice.BindingType;
+import org.apache.activemq.artemis.core.server.management.Notification;
+import org.apache.activemq.artemis.core.server.management.NotificationListener;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.junit.Test;
+
+/**
+ * Tests how a {@link RuntimeResourceIndex} follows the notifications of the broker.
+ */
+public class RuntimeResourceIndexTestCase {
+
+    private final ActiveMQBroker broker = mock(ActiveMQBroker.class);
+    private final AtomicReference<NotificationListener> listener = new AtomicReference<>();
+
+    @Test
+    public void testNotifications() {
+        this.registerListener();
+        when(this.broker.getResources(AddressControl.class)).thenReturn(new Object[] { address("a1") });
+        when(this.broker.getResources(QueueControl.class)).thenReturn(new Object[] { queue("q1") });
+        RuntimeResourceIndex index = new RuntimeResourceIndex(this.broker, true);
+        assertEquals(Set.of("a1"), index.getAddressNames());
+        assertEquals(Set.of("q1"), index.getQueueNames());
+
+        this.notify(CoreNotificationType.ADDRESS_ADDED, ManagementHelper.HDR_ADDRESS, "a2", null);
+        this.notify(CoreNotificationType.BINDING_ADDED, ManagementHelper.HDR_ROUTING_NAME, "q2", BindingType.LOCAL_QUEUE);
+        // a remote binding is not a runtime queue
+        this.notify(CoreNotificationType.BINDING_ADDED, ManagementHelper.HDR_ROUTING_NAME, "remote", BindingType.REMOTE_QUEUE);
+        this.notify(CoreNotificationType.ADDRESS_REMOVED, ManagementHelper.HDR_ADDRESS, "a1", null);
+        assertEquals(Set.of("a2"), index.getAddressNames());
+        assertEquals(Set.of("q1", "q2"), index.getQueueNames());
+
+        index.close();
+        verify(this.broker).removeNotificationListener(index);
+    }
+
+    @Test
+    public void testRemovedWhileFilled() {
+        this.registerListener();
+        when(this.broker.getResources(AddressControl.class)).thenReturn(new Object[0]);
+        // the queue is removed once it was read, but before the index is filled, and another one is added
+        Object[] queues = new Object[] { queue("q1"), queue("q2") };
+        when(this.broker.getResources(QueueControl.class)).thenAnswer(invocation -> {
+            this.notify(CoreNotificationType.BINDING_REMOVED, ManagementHelper.HDR_ROUTING_NAME, "q1", BindingType.LOCAL_QUEUE);
+            this.notify(CoreNotificationType.BINDING_ADDED, ManagementHelper.HDR_ROUTING_NAME, "q3", BindingType.LOCAL_QUEUE);
+            return queues;
+        });
+        RuntimeResourceIndex index = new RuntimeResourceIndex(this.broker, true);
+
+        assertEquals(Set.of("q2", "q3"), index.getQueueNames());
+    }
+
+    private void registerListener() {
+        doAnswer(invocation -> {
+            this.listener.set(invocation.getArgument(0));
+            return null;
+        }).when(this.broker).addNotificationListener(any());
+    }
+
+    private void notify(CoreNotificationType type, SimpleString header, String name, BindingType bindingType) {
+        TypedProperties properties = new TypedProperties();
+        properties.putSimpleStringProperty(header, SimpleString.toSimpleString(name));
+        if (bindingType != null) {
+            properties.putIntProperty(ManagementHelper.HDR_BINDING_TYPE, bindingType.toInt());
+        }
+        this.listener.get().onNotification(new Notification(null, type, properties));
+    }
+
+    private static AddressControl address(String name) {
+        AddressControl control = mock(AddressControl.class);
+        when(control.getAddress()).thenReturn(name);
+        return control;
+    }
+
+    private static QueueControl queue(String name) {
+        QueueControl control = mock(QueueControl.class);
+        when(control.getName()).thenReturn(name);
+        return control;
+    }
+}
@@ -94,6 +94,8 @@ public class MetricCollector {
         }
 
         ModelNode resourceDescription = null;
+        // all the metrics of the resource are read together from a single snapshot
+        ResourceMetricSnapshot snapshot = null;
         for (Map.Entry<String, AttributeAccess> entry : attributes.entrySet()) {
             String attributeName = entry.getKey();
 
@@ -111,7 +113,10 @@ public class MetricCollector {
             boolean isCounter = attributeAccess.getFlags().contains(AttributeAccess.Flag.COUNTER_METRIC);
             String attributeDescription = resourceDescription.get(ATTRIBUTES, attributeName, DESCRIPTION).asStringOrNull();
 
-            WildFlyMetric metric = new WildFlyMetric(modelControllerClient, resourceAddress, attributeName);
+            if (snapshot == null) {
+                snapshot = new ResourceMetricSnapshot(modelControllerClient, resourceAddress);
+            }
+            WildFlyMetric metric = new WildFlyMetric(snapshot, attributeName);
             WildFlyMetricMetadata metadata = new WildFlyMetricMetadata(attributeName, resourceAddress, prefix, attributeDescription, unit, isCounter ? COUNTER : GAUGE);
 
             registration.addRegistrationTask(() -> registration.registerMetric(metric, metadata));
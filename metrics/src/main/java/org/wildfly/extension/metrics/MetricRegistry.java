@@ -10,8 +10,7 @@ package org.wildfly.extension.metrics;
 public interface MetricRegistry {
 
     /**
-     * Registers the given metric. Calls will block if another thread
-     * {@link #readLock() holds the registry read lock}.
+     * Registers the given metric.
      *
      * @param metric the metric. Cannot be {@code null}
      * @param metadata metadata for the metric. Cannot be {@code null}
@@ -19,8 +18,7 @@ public interface MetricRegistry {
     void registerMetric(Metric metric, MetricMetadata metadata);
 
     /**
-     * Unregisters the given metric, if it is registered. Calls will block if another thread
-     * {@link #readLock() holds the registry read lock}.
+     * Unregisters the given metric, if it is registered.
      *
      * @param metricID the id for the metric. Cannot be {@code null}
      */
@@ -30,11 +28,18 @@ public interface MetricRegistry {
      * Acquires a non-exclusive read lock that will cause calls from other threads
      * to {@link #registerMetric(Metric, MetricMetadata)} or {@link #unregister(MetricID)}
      * to block. Must be followed by a call to {@link #unlock()}.
+     *
+     * @deprecated registries are expected to let readers work on a consistent snapshot of their metrics
+     * without blocking registrations.
      */
+    @Deprecated
     void readLock();
 
     /**
      * Releases the non-exclusive lock obtained by a call to {@link #readLock()}.
+     *
+     * @deprecated see {@link #readLock()}
      */
+    @Deprecated
     void unlock();
 }
@@ -10,11 +10,20 @@ import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_H
 import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_HTTP_SECURITY_CAPABILITY;
 import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_REGISTRY_RUNTIME_CAPABILITY;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.encoding.ContentEncodingRepository;
+import io.undertow.server.handlers.encoding.EncodingHandler;
+import io.undertow.server.handlers.encoding.GzipEncodingProvider;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.server.mgmt.domain.ExtensibleHttpManagement;
 import org.jboss.msc.Service;
@@ -35,6 +44,8 @@ public class MetricsContextService implements Service {
     private Supplier<WildFlyMetricRegistry> wildflyMetricRegistry;
     private final Supplier<Boolean> securityEnabledSupplier;
     private final PrometheusExporter prometheusExporter = new PrometheusExporter();
+    private static final int WRITER_BUFFER_SIZE = 8192;
+
     private HttpHandler overrideableMetricHandler;
 
     static void install(OperationContext context, boolean securityEnabled) {
@@ -68,24 +79,39 @@ public class MetricsContextService implements Service {
 
     @Override
     public void start(StartContext context) {
-        extensibleHttpManagement.get().addManagementHandler(CONTEXT_NAME, securityEnabledSupplier.get(), new HttpHandler() {
+        HttpHandler exportHandler = new HttpHandler() {
             @Override
             public void handleRequest(HttpServerExchange exchange) throws Exception {
-                if (overrideableMetricHandler != null) {
-                    overrideableMetricHandler.handleRequest(exchange);
+                // reading the metrics and writing them with a blocking stream must not be done on the IO thread
+                if (exchange.isInIoThread()) {
+                    exchange.dispatch(this);
                     return;
                 }
 
-                WildFlyMetricRegistry metricRegistry = wildflyMetricRegistry.get();
-                metricRegistry.readLock();
-                try {
-                    String wildFlyMetrics = prometheusExporter.export(metricRegistry);
-                    exchange.getResponseSender().send(wildFlyMetrics);
-                } finally {
-                    metricRegistry.unlock();
+                boolean openMetrics = acceptsOpenMetrics(exchange);
+                exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, openMetrics ? PrometheusExporter.OPENMETRICS_CONTENT_TYPE : PrometheusExporter.TEXT_CONTENT_TYPE);
+                exchange.startBlocking();
+
+                try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getOutputStream(), StandardCharsets.UTF_8), WRITER_BUFFER_SIZE)) {
+                    // the metrics are streamed to the response instead of being accumulated in memory
+                    prometheusExporter.export(wildflyMetricRegistry.get(), out, openMetrics);
+                }
+            }
+        };
+        // compress the export if the client supports it. A handler overriding the export keeps its own encoding.
+        HttpHandler encodingHandler = new EncodingHandler(exportHandler, new ContentEncodingRepository()
+                .addEncodingHandler("gzip", new GzipEncodingProvider(), 50));
+        HttpHandler metricsHandler = new HttpHandler() {
+            @Override
+            public void handleRequest(HttpServerExchange exchange) throws Exception {
+                if (overrideableMetricHandler != null) {
+                    overrideableMetricHandler.handleRequest(exchange);
+                    return;
                 }
+                encodingHandler.handleRequest(exchange);
             }
-        });
+        };
+        extensibleHttpManagement.get().addManagementHandler(CONTEXT_NAME, securityEnabledSupplier.get(), metricsHandler);
         consumer.accept(this);
     }
 
@@ -95,6 +121,18 @@ public class MetricsContextService implements Service {
         consumer.accept(null);
     }
 
+    private static boolean acceptsOpenMetrics(HttpServerExchange exchange) {
+        HeaderValues accept = exchange.getRequestHeaders().get(Headers.ACCEPT);
+        if (accept != null) {
+            for (String value : accept) {
+                if (value.contains(PrometheusExporter.OPENMETRICS_MEDIA_TYPE)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     public void setOverrideableMetricHandler(HttpHandler handler) {
         this.overrideableMetricHandler = handler;
     }
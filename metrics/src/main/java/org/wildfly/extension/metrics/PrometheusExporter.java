@@ -4,57 +4,66 @@
  */
 package org.wildfly.extension.metrics;
 
-import java.util.HashSet;
-import java.util.Map;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.OptionalDouble;
-import java.util.Set;
 
-import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.wildfly.extension.metrics.MetricMetadata.MetricTag;
 
 public class PrometheusExporter {
 
-    private static final String LF = "\n";
+    static final String TEXT_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    static final String OPENMETRICS_CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    static final String OPENMETRICS_MEDIA_TYPE = "application/openmetrics-text";
+
+    private static final char LF = '\n';
 
     public String export(WildFlyMetricRegistry registry) {
-        Set<String> alreadyExportedMetrics = new HashSet<String>();
+        StringWriter out = new StringWriter();
+        try {
+            export(registry, out, false);
+        } catch (IOException e) {
+            // StringWriter does not throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
 
-        StringBuilder out = new StringBuilder();
+    /**
+     * Writes the metrics of the registry to the given writer.
+     *
+     * @param registry the registry of metrics
+     * @param out the writer to write to. It is not flushed nor closed by this method
+     * @param openMetrics {@code true} to write the metrics in the OpenMetrics format, {@code false} to use the
+     *                    Prometheus text format
+     * @throws IOException if writing to the writer failed
+     */
+    public void export(WildFlyMetricRegistry registry, Writer out, boolean openMetrics) throws IOException {
+        // series are sorted by their metric ID so all the series of a family are contiguous
+        String lastExportedFamily = null;
 
-        for (Map.Entry<MetricID, Metric> entry : registry.getMetrics().entrySet()) {
-            MetricID metricID = entry.getKey();
-            String metricName = metricID.getMetricName();
-            MetricMetadata metadata = registry.getMetricMetadata().get(metricName);
-            String prometheusMetricName = toPrometheusMetricName(metricID, metadata);
-            OptionalDouble metricValue = entry.getValue().getValue();
+        for (PrometheusSeries series : registry.getSeries()) {
+            OptionalDouble metricValue = series.getMetric().getValue();
             // if the metric does not return a value, we skip printing the HELP and TYPE
             if (!metricValue.isPresent()) {
                 continue;
             }
-            if (!alreadyExportedMetrics.contains(metricName)) {
-                out.append("# HELP " + prometheusMetricName + " " + metadata.getDescription());
-                out.append(LF);
-                out.append("# TYPE " + prometheusMetricName + " " + metadata.getType());
-                out.append(LF);
-                alreadyExportedMetrics.add(metricName);
-            }
-            double scaledValue = scaleToBaseUnit(metricValue.getAsDouble(), metadata.getMeasurementUnit());
-            // I'm pretty sure this is incorrect but that aligns with smallrye-metrics OpenMetricsExporter behaviour
-            if (metadata.getType() == MetricMetadata.Type.COUNTER && metadata.getMeasurementUnit() != MeasurementUnit.NONE) {
-                prometheusMetricName += "_" + metadata.getBaseMetricUnit();
+            if (!series.getFamily().equals(lastExportedFamily)) {
+                out.write(series.getHeader(openMetrics));
+                lastExportedFamily = series.getFamily();
             }
-            out.append(prometheusMetricName + getTagsAsAString(metricID) + " " + scaledValue);
-            out.append(LF);
+            out.write(series.getSamplePrefix(openMetrics));
+            out.write(Double.toString(series.scaleToBaseUnit(metricValue.getAsDouble())));
+            out.write(LF);
+        }
+        if (openMetrics) {
+            out.write("# EOF\n");
         }
-
-        return out.toString();
-    }
-
-    private static double scaleToBaseUnit(double value, MeasurementUnit unit) {
-        return value * MeasurementUnit.calculateOffset(unit, unit.getBaseUnits());
     }
 
-    private static String toPrometheusMetricName(MetricID metricID, MetricMetadata metadata) {
+    static String toPrometheusMetricName(MetricID metricID, MetricMetadata metadata) {
         String prometheusName = metricID.getMetricName();
         // change the Prometheus name depending on type and measurement unit
         if (metadata.getType() == WildFlyMetricMetadata.Type.COUNTER) {
@@ -80,8 +89,8 @@ public class PrometheusExporter {
                 out.append(",");
             }
             MetricTag tag = tags[i];
-            out.append(tag.getKey() + "=\"" + tag.getValue() + "\"");
+            out.append(tag.getKey()).append("=\"").append(tag.getValue()).append('"');
         }
         return out.append("}").toString();
     }
-}
\ No newline at end of file
+}
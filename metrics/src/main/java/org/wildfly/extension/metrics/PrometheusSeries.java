@@ -0,0 +1,85 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.metrics;
+
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+
+/**
+ * A metric registered in the {@link WildFlyMetricRegistry} with its Prometheus representation rendered once at
+ * registration time so that scrapes only have to write the metric value.
+ */
+final class PrometheusSeries {
+
+    private final Metric metric;
+    private final String family;
+    private final double scale;
+    private final String header;
+    private final String samplePrefix;
+    private final String openMetricsHeader;
+    private final String openMetricsSamplePrefix;
+
+    /**
+     * @param metric the metric providing the values of the series
+     * @param metricID the id of the metric
+     * @param familyMetadata the metadata of the first metric registered with the same name, it is used to describe
+     *                       all the series with that name
+     */
+    PrometheusSeries(Metric metric, MetricID metricID, MetricMetadata familyMetadata) {
+        this.metric = metric;
+        this.family = metricID.getMetricName();
+        this.scale = MeasurementUnit.calculateOffset(familyMetadata.getMeasurementUnit(), familyMetadata.getMeasurementUnit().getBaseUnits());
+
+        String tags = PrometheusExporter.getTagsAsAString(metricID);
+        String prometheusMetricName = PrometheusExporter.toPrometheusMetricName(metricID, familyMetadata);
+        this.header = "# HELP " + prometheusMetricName + " " + familyMetadata.getDescription() + "\n" +
+                "# TYPE " + prometheusMetricName + " " + familyMetadata.getType() + "\n";
+        String sampleName = prometheusMetricName;
+        // I'm pretty sure this is incorrect but that aligns with smallrye-metrics OpenMetricsExporter behaviour
+        if (familyMetadata.getType() == MetricMetadata.Type.COUNTER && familyMetadata.getMeasurementUnit() != MeasurementUnit.NONE) {
+            sampleName += "_" + familyMetadata.getBaseMetricUnit();
+        }
+        this.samplePrefix = sampleName + tags + " ";
+
+        // OpenMetrics requires the samples of a counter to be named after its family with a _total suffix
+        String openMetricsFamily = metricID.getMetricName();
+        String baseUnit = familyMetadata.getBaseMetricUnit();
+        if (!MetricMetadata.NONE.equals(baseUnit)) {
+            openMetricsFamily += "_" + baseUnit;
+        }
+        this.openMetricsHeader = "# HELP " + openMetricsFamily + " " + familyMetadata.getDescription() + "\n" +
+                "# TYPE " + openMetricsFamily + " " + familyMetadata.getType() + "\n";
+        String openMetricsSampleName = familyMetadata.getType() == MetricMetadata.Type.COUNTER ? openMetricsFamily + "_total" : openMetricsFamily;
+        this.openMetricsSamplePrefix = openMetricsSampleName + tags + " ";
+    }
+
+    Metric getMetric() {
+        return metric;
+    }
+
+    /**
+     * @return the name of the metric, shared by all the series of the same family
+     */
+    String getFamily() {
+        return family;
+    }
+
+    double scaleToBaseUnit(double value) {
+        return value * scale;
+    }
+
+    /**
+     * @return the {@code # HELP} and {@code # TYPE} lines of the family of this series
+     */
+    String getHeader(boolean openMetrics) {
+        return openMetrics ? openMetricsHeader : header;
+    }
+
+    /**
+     * @return the name and the tags of this series, followed by a space
+     */
+    String getSamplePrefix(boolean openMetrics) {
+        return openMetrics ? openMetricsSamplePrefix : samplePrefix;
+    }
+}
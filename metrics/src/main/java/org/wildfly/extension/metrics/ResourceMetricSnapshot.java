@@ -0,0 +1,177 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.wildfly.extension.metrics._private.MetricsLogger.LOGGER;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Snapshot of the values of all the metrics exposed by a single management resource.
+ *
+ * Instead of executing a {@code read-attribute} operation for each metric on every scrape, the metric attributes
+ * of a resource are read together with a single composite operation. The values are kept as primitive doubles and
+ * are reused by all the {@link WildFlyMetric metrics} of the resource until they are older than the configured
+ * freshness window (set with the {@value #MAX_AGE_PROPERTY} system property, in milliseconds).
+ */
+final class ResourceMetricSnapshot {
+
+    static final String MAX_AGE_PROPERTY = "wildfly.metrics.snapshot.max-age";
+    private static final long MAX_AGE_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong(MAX_AGE_PROPERTY, 1000L));
+
+    private final LocalModelControllerClient modelControllerClient;
+    private final PathAddress address;
+    private final List<String> attributeNames = new CopyOnWriteArrayList<>();
+
+    private volatile Values current;
+
+    ResourceMetricSnapshot(LocalModelControllerClient modelControllerClient, PathAddress address) {
+        this.modelControllerClient = modelControllerClient;
+        this.address = address;
+    }
+
+    /**
+     * Adds an attribute to the set of attributes read by this snapshot.
+     *
+     * @param attributeName the name of the metric attribute
+     * @return the index of the attribute in the snapshot
+     */
+    synchronized int addAttribute(String attributeName) {
+        int index = attributeNames.indexOf(attributeName);
+        if (index < 0) {
+            attributeNames.add(attributeName);
+            index = attributeNames.size() - 1;
+            // force a new read to include the added attribute
+            current = null;
+        }
+        return index;
+    }
+
+    OptionalDouble getValue(int index) {
+        Values values = current;
+        long now = System.nanoTime();
+        if (values == null || index >= values.values.length || now - values.readTime > MAX_AGE_NANOS) {
+            // the management operation is executed without holding any lock. Concurrent readers of a stale snapshot
+            // may read the resource at the same time, the last one to complete publishes its values.
+            values = read(now);
+            current = values;
+        }
+        return values.defined[index] ? OptionalDouble.of(values.values[index]) : OptionalDouble.empty();
+    }
+
+    private Values read(long now) {
+        List<String> names = new ArrayList<>(attributeNames);
+        int size = names.size();
+        Values values = new Values(now, size);
+        if (size == 1) {
+            store(values, 0, names.get(0), readAttributeValue(names.get(0)));
+            return values;
+        }
+
+        final ModelNode compositeOp = new ModelNode();
+        compositeOp.get(OP).set(COMPOSITE);
+        compositeOp.get(OP_ADDR).setEmptyList();
+        // a failure to read one of the attributes must not discard the values of the other ones
+        compositeOp.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).set(false);
+        ModelNode steps = compositeOp.get(STEPS);
+        for (String attributeName : names) {
+            steps.add(createReadAttributeOperation(attributeName));
+        }
+        ModelNode response = modelControllerClient.execute(compositeOp);
+        ModelNode stepResults = response.get(RESULT);
+        if (!stepResults.isDefined()) {
+            // the composite operation failed as a whole (e.g. the resource is gone), read the attributes individually
+            // so that each failure is reported for its own attribute
+            for (int i = 0; i < size; i++) {
+                store(values, i, names.get(i), readAttributeValue(names.get(i)));
+            }
+            return values;
+        }
+        for (int i = 0; i < size; i++) {
+            store(values, i, names.get(i), handleResponse(names.get(i), stepResults.get("step-" + (i + 1))));
+        }
+        return values;
+    }
+
+    private void store(Values values, int index, String attributeName, ModelNode result) {
+        if (result.isDefined()) {
+            try {
+                values.values[index] = result.asDouble();
+                values.defined[index] = true;
+            } catch (Exception e) {
+                LOGGER.unableToConvertAttribute(attributeName, address, e);
+            }
+        }
+    }
+
+    private ModelNode readAttributeValue(String attributeName) {
+        return handleResponse(attributeName, modelControllerClient.execute(createReadAttributeOperation(attributeName)));
+    }
+
+    private ModelNode createReadAttributeOperation(String attributeName) {
+        final ModelNode readAttributeOp = new ModelNode();
+        readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        readAttributeOp.get(OP_ADDR).set(address.toModelNode());
+        readAttributeOp.get(INCLUDE_UNDEFINED_METRIC_VALUES).set(false);
+        readAttributeOp.get(NAME).set(attributeName);
+        return readAttributeOp;
+    }
+
+    private ModelNode handleResponse(String attributeName, ModelNode response) {
+        String error = getFailureDescription(response);
+        if (error != null) {
+            // [WFLY-11933] if the value can not be read if the management resource is not accessible due to RBAC,
+            // it is logged it at a lower level.
+            if (error.contains("WFLYCTL0216")) {
+                LOGGER.debugf("Unable to read attribute %s: %s.", attributeName, error);
+            } else {
+                LOGGER.unableToReadAttribute(attributeName, address, error);
+            }
+            return new ModelNode();
+        }
+        return response.get(RESULT);
+    }
+
+    private static String getFailureDescription(ModelNode result) {
+        if (result.hasDefined(FAILURE_DESCRIPTION)) {
+            return result.get(FAILURE_DESCRIPTION).toString();
+        }
+        return null;
+    }
+
+    /**
+     * Values read at the same time, never modified once published.
+     */
+    private static final class Values {
+        final long readTime;
+        final double[] values;
+        final boolean[] defined;
+
+        Values(long readTime, int size) {
+            this.readTime = readTime;
+            this.values = new double[size];
+            this.defined = new boolean[size];
+        }
+    }
+}
@@ -8,38 +8,53 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.Closeable;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 
+/**
+ * Registry of the WildFly metrics.
+ *
+ * Registrations are applied to a sorted map guarded by the registry monitor while scrapes read an immutable sorted
+ * snapshot of the registered series. The snapshot is discarded when a metric is registered or unregistered and
+ * rebuilt by the next scrape, so scrapes never block registrations (and the reverse) for the duration of an export
+ * and several scrapes can run concurrently.
+ */
 public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
 
     /* Key is the metric name */
-    private Map<String, MetricMetadata> metadataMap = new HashMap();
-    private Map<MetricID, Metric> metricMap = new TreeMap<>();
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-
+    // guarded by this
+    private final Map<String, MetricMetadata> metadataMap = new HashMap<>();
+    // guarded by this
+    private final Map<MetricID, PrometheusSeries> metricMap = new TreeMap<>();
+    // null when it must be rebuilt from the metricMap
+    private volatile List<PrometheusSeries> snapshot = List.of();
 
     @Override
-    public void close() {
-
-        lock.writeLock().lock();
-        try {
-            metricMap.clear();
-            metadataMap.clear();
-        } finally {
-            lock.writeLock().unlock();
-        }
-    }
-
-    Map<MetricID, Metric> getMetrics() {
-        return metricMap;
+    public synchronized void close() {
+        metricMap.clear();
+        metadataMap.clear();
+        invalidateSnapshot();
     }
 
-    Map<String, MetricMetadata> getMetricMetadata() {
-        return metadataMap;
+    /**
+     * Returns the registered series, sorted by their metric ID.
+     *
+     * @return an immutable snapshot of the series. It is not affected by subsequent registrations.
+     */
+    List<PrometheusSeries> getSeries() {
+        List<PrometheusSeries> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null) {
+                snapshot = current = List.copyOf(metricMap.values());
+            }
+            return current;
+        }
     }
 
     @Override
@@ -47,35 +62,40 @@ public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
         requireNonNull(metadata);
         requireNonNull(metric);
 
-        lock.writeLock().lock();
-        try {
-            MetricID metricID = metadata.getMetricID();
-            if (!metadataMap.containsKey(metadata.getMetricName())) {
-                metadataMap.put(metadata.getMetricName(), metadata);
-            }
-            metricMap.put(metricID, metric);
-        } finally {
-            lock.writeLock().unlock();
+        MetricID metricID = metadata.getMetricID();
+        MetricMetadata familyMetadata = metadataMap.putIfAbsent(metadata.getMetricName(), metadata);
+        if (familyMetadata == null) {
+            familyMetadata = metadata;
         }
+        // render the Prometheus representation of the metric once instead of on every scrape
+        metricMap.put(metricID, new PrometheusSeries(metric, metricID, familyMetadata));
+        invalidateSnapshot();
     }
 
     @Override
-    public void unregister(MetricID metricID) {
-        lock.writeLock().lock();
-        try {
-            metricMap.remove(metricID);
-        } finally {
-            lock.writeLock().unlock();
+    public synchronized void unregister(MetricID metricID) {
+        if (metricMap.remove(metricID) != null) {
+            invalidateSnapshot();
         }
     }
 
+    private void invalidateSnapshot() {
+        snapshot = null;
+    }
+
+    /**
+     * @deprecated scrapes read an immutable snapshot of the registry and no longer need to lock it.
+     */
+    @Deprecated
     @Override
     public void readLock() {
-        lock.readLock().lock();
     }
 
+    /**
+     * @deprecated scrapes read an immutable snapshot of the registry and no longer need to lock it.
+     */
+    @Deprecated
     @Override
     public void unlock() {
-        lock.readLock().unlock();
     }
-}
\ No newline at end of file
+}
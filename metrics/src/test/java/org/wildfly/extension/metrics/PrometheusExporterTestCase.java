@@ -0,0 +1,92 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalDouble;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the names exported by the {@link PrometheusExporter} in the Prometheus text format and in OpenMetrics.
+ */
+public class PrometheusExporterTestCase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress("subsystem", "undertow").append("server", "default");
+
+    private WildFlyMetricRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new WildFlyMetricRegistry();
+        register("processing-time", MeasurementUnit.MILLISECONDS, MetricMetadata.Type.COUNTER, OptionalDouble.of(1500));
+        register("request-count", MeasurementUnit.NONE, MetricMetadata.Type.COUNTER, OptionalDouble.of(3));
+        register("bytes-sent", MeasurementUnit.BYTES, MetricMetadata.Type.GAUGE, OptionalDouble.of(1024));
+        register("undefined-value", MeasurementUnit.NONE, MetricMetadata.Type.GAUGE, OptionalDouble.empty());
+    }
+
+    @Test
+    public void testPrometheusText() throws IOException {
+        List<String> lines = export(false);
+
+        assertTrue(lines.contains("# TYPE undertow_processing_time_total counter"));
+        // the unit of a counter is appended after the _total suffix, as smallrye-metrics does
+        assertEquals(1.5, sample(lines, "undertow_processing_time_total_seconds{server=\"default\"} "), 0.0);
+        assertTrue(lines.contains("# TYPE undertow_request_count_total counter"));
+        assertEquals(3.0, sample(lines, "undertow_request_count_total{server=\"default\"} "), 0.0);
+        assertTrue(lines.contains("# TYPE undertow_bytes_sent_bytes gauge"));
+        assertEquals(1024.0, sample(lines, "undertow_bytes_sent_bytes{server=\"default\"} "), 0.0);
+
+        assertFalse(lines.stream().anyMatch(line -> line.contains("undefined_value")));
+        assertFalse(lines.contains("# EOF"));
+    }
+
+    @Test
+    public void testOpenMetrics() throws IOException {
+        List<String> lines = export(true);
+
+        // the family of a counter is named with its unit and its samples with the _total suffix
+        assertTrue(lines.contains("# HELP undertow_processing_time_seconds processing-time"));
+        assertTrue(lines.contains("# TYPE undertow_processing_time_seconds counter"));
+        assertEquals(1.5, sample(lines, "undertow_processing_time_seconds_total{server=\"default\"} "), 0.0);
+        assertTrue(lines.contains("# TYPE undertow_request_count counter"));
+        assertEquals(3.0, sample(lines, "undertow_request_count_total{server=\"default\"} "), 0.0);
+        assertTrue(lines.contains("# TYPE undertow_bytes_sent_bytes gauge"));
+        assertEquals(1024.0, sample(lines, "undertow_bytes_sent_bytes{server=\"default\"} "), 0.0);
+
+        assertFalse(lines.stream().anyMatch(line -> line.contains("undefined_value")));
+        assertEquals("# EOF", lines.get(lines.size() - 1));
+    }
+
+    private void register(String attributeName, MeasurementUnit unit, MetricMetadata.Type type, OptionalDouble value) {
+        registry.registerMetric(() -> value, new WildFlyMetricMetadata(attributeName, ADDRESS, null, attributeName, unit, type));
+    }
+
+    private List<String> export(boolean openMetrics) throws IOException {
+        StringWriter out = new StringWriter();
+        new PrometheusExporter().export(registry, out, openMetrics);
+        return Arrays.asList(out.toString().split("\n"));
+    }
+
+    private static double sample(List<String> lines, String prefix) {
+        for (String line : lines) {
+            if (line.startsWith(prefix)) {
+                return Double.parseDouble(line.substring(prefix.length()));
+            }
+        }
+        throw new AssertionError("No sample " + prefix + "in " + lines);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ResourceMetricSnapshot} shared by the metrics of a resource.
+ */
+public class ResourceMetricSnapshotTestCase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress("subsystem", "test");
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    public void testMetricsOfResourceAreReadTogether() {
+        ResourceMetricSnapshot snapshot = new ResourceMetricSnapshot(client(ResourceMetricSnapshotTestCase::readAll), ADDRESS);
+        List<WildFlyMetric> metrics = List.of(new WildFlyMetric(snapshot, "a"), new WildFlyMetric(snapshot, "b"), new WildFlyMetric(snapshot, "c"));
+
+        assertEquals(OptionalDouble.of(1), metrics.get(0).getValue());
+        assertEquals(OptionalDouble.of(2), metrics.get(1).getValue());
+        assertEquals(OptionalDouble.of(3), metrics.get(2).getValue());
+        // the three metrics were read by a single composite operation
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testUndefinedValue() {
+        ResourceMetricSnapshot snapshot = new ResourceMetricSnapshot(client(operation -> {
+            ModelNode response = readAll(operation);
+            response.get(RESULT, "step-2").remove(RESULT);
+            return response;
+        }), ADDRESS);
+        WildFlyMetric a = new WildFlyMetric(snapshot, "a");
+        WildFlyMetric b = new WildFlyMetric(snapshot, "b");
+
+        assertEquals(OptionalDouble.of(1), a.getValue());
+        assertFalse(b.getValue().isPresent());
+    }
+
+    @Test
+    public void testAddedAttributeIsRead() {
+        ResourceMetricSnapshot snapshot = new ResourceMetricSnapshot(client(ResourceMetricSnapshotTestCase::readAll), ADDRESS);
+        WildFlyMetric a = new WildFlyMetric(snapshot, "a");
+        assertEquals(OptionalDouble.of(1), a.getValue());
+
+        WildFlyMetric b = new WildFlyMetric(snapshot, "b");
+        assertEquals(OptionalDouble.of(2), b.getValue());
+        assertEquals(OptionalDouble.of(1), a.getValue());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void testReadDoesNotHoldLock() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResourceMetricSnapshot snapshot = new ResourceMetricSnapshot(client(operation -> {
+            reading.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return readAll(operation);
+        }), ADDRESS);
+        WildFlyMetric a = new WildFlyMetric(snapshot, "a");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<OptionalDouble> value = executor.submit(a::getValue);
+            assertTrue(reading.await(10, TimeUnit.SECONDS));
+            // the snapshot can still be modified while the management operation is executing
+            assertEquals(1, snapshot.addAttribute("b"));
+            release.countDown();
+            assertEquals(OptionalDouble.of(1), value.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private LocalModelControllerClient client(UnaryOperator<ModelNode> handler) {
+        return (LocalModelControllerClient) Proxy.newProxyInstance(LocalModelControllerClient.class.getClassLoader(), new Class<?>[] { LocalModelControllerClient.class }, (proxy, method, args) -> {
+            if (method.getName().equals("execute") && args.length == 1 && args[0] instanceof ModelNode) {
+                executions.incrementAndGet();
+                return handler.apply((ModelNode) args[0]);
+            }
+            if (method.getName().equals("close")) {
+                return null;
+            }
+            throw new UnsupportedOperationException(method.toString());
+        });
+    }
+
+    /**
+     * Returns the position of the attribute in the alphabet as its value.
+     */
+    private static ModelNode readAll(ModelNode operation) {
+        ModelNode response = new ModelNode();
+        if (operation.get(OP).asString().equals(COMPOSITE)) {
+            List<ModelNode> steps = operation.get(STEPS).asList();
+            for (int i = 0; i < steps.size(); i++) {
+                response.get(RESULT, "step-" + (i + 1)).set(readAll(steps.get(i)));
+            }
+        } else {
+            response.get(RESULT).set(operation.get(NAME).asString().charAt(0) - 'a' + 1);
+        }
+        return response;
+    }
+}
@@ -15,10 +15,8 @@ import static org.jboss.as.naming.util.NamingUtils.nameNotFoundException;
 import static org.jboss.as.naming.util.NamingUtils.notAContextException;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -36,11 +34,16 @@ import javax.naming.event.NamingEvent;
 import javax.naming.event.NamingListener;
 import javax.naming.spi.ResolveResult;
 import org.jboss.as.naming.logging.NamingLogger;
+import org.jboss.as.naming.util.HashTrieMap;
 
 /**
  * In-memory implementation of the NamingStore.  The backing for the entries is a basic tree structure with either context
  * nodes or binding nodes.  The context nodes are allowed to have children and can be represented by a NamingContext.  A
  * binding node is only allowed to have a normal object binding.
+ * <p/>
+ * The children of a context node are held by an immutable {@link HashTrieMap}, replaced by compare and set on each
+ * update.  The read operations do not lock and resolve the names which are bound without allocating, the write
+ * operations copy only the path of the updated child.
  *
  * @author John E. Bailey
  */
@@ -169,6 +172,10 @@ public class InMemoryNamingStore implements WritableNamingStore {
             final Name emptyName = new CompositeName("");
             return new NamingContext(emptyName, this, new Hashtable<String, Object>());
         }
+        final TreeNode node = resolve(name);
+        if (node != null) {
+            return node.binding.getObject();
+        }
         return root.accept(new LookupVisitor(name));
     }
 
@@ -186,6 +193,10 @@ public class InMemoryNamingStore implements WritableNamingStore {
      * @throws NamingException
      */
     public List<NameClassPair> list(final Name name) throws NamingException {
+        final TreeNode node = resolve(name);
+        if (node instanceof ContextNode) {
+            return new ListVisitor(name).found((ContextNode) node);
+        }
         final Name nodeName = name.isEmpty() ? new CompositeName("") : name;
         return root.accept(new ListVisitor(nodeName));
     }
@@ -198,6 +209,10 @@ public class InMemoryNamingStore implements WritableNamingStore {
      * @throws NamingException
      */
     public List<Binding> listBindings(final Name name) throws NamingException {
+        final TreeNode node = resolve(name);
+        if (node instanceof ContextNode) {
+            return new ListBindingsVisitor(name).found((ContextNode) node);
+        }
         final Name nodeName = name.isEmpty() ? new CompositeName("") : name;
         return root.accept(new ListBindingsVisitor(nodeName));
     }
@@ -259,6 +274,26 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
     }
 
+    /**
+     * Resolves the node bound to a name, without the allocations of a visitor.
+     *
+     * @param name The entry name
+     * @return The node, or null if the name does not resolve to a node, in which case the visitors handle it
+     */
+    private TreeNode resolve(final Name name) {
+        TreeNode node = root;
+        for (int i = 0; i < name.size(); i++) {
+            if (!(node instanceof ContextNode)) {
+                return null;
+            }
+            node = ((ContextNode) node).children.get(name.get(i));
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
     private void checkReferenceForContinuation(final Name name, final Object object) throws CannotProceedException {
         if (object instanceof Reference
                 && ((Reference) object).get("nns") != null) {
@@ -278,10 +313,11 @@ public class InMemoryNamingStore implements WritableNamingStore {
         protected abstract <T> T accept(NodeVisitor<T> visitor) throws NamingException;
     }
 
-    private static final AtomicMapFieldUpdater<ContextNode, String, TreeNode> childrenUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(ContextNode.class, Map.class, "children"));
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ContextNode, HashTrieMap> childrenUpdater = AtomicReferenceFieldUpdater.newUpdater(ContextNode.class, HashTrieMap.class, "children");
 
     private class ContextNode extends TreeNode {
-        volatile Map<String, TreeNode> children = Collections.emptyMap();
+        volatile HashTrieMap<String, TreeNode> children = HashTrieMap.empty();
         protected final String name;
         protected final ContextNode parentNode;
 
@@ -292,28 +328,59 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
 
         private void addChild(final String childName, final TreeNode childNode) throws NamingException {
-            if (childrenUpdater.putIfAbsent(this, childName, childNode) != null) {
+            if (putChildIfAbsent(childName, childNode) != null) {
                 throw nameAlreadyBoundException(fullName.add(childName));
             }
         }
 
         private TreeNode replaceChild(final String childName, final TreeNode childNode) throws NamingException {
-            return childrenUpdater.put(this, childName, childNode);
+            HashTrieMap<String, TreeNode> current;
+            do {
+                current = children;
+            } while (!childrenUpdater.compareAndSet(this, current, current.put(childName, childNode)));
+            return current.get(childName);
         }
 
         private TreeNode removeChild(final String childName) throws NameNotFoundException {
-            TreeNode old = childrenUpdater.remove(this, childName);
-            if (old == null) {
-                throw nameNotFoundException(childName, fullName);
-            }
-            if(parentNode != null && children.isEmpty()) {
-                childrenUpdater.remove(parentNode, name);
+            HashTrieMap<String, TreeNode> current;
+            HashTrieMap<String, TreeNode> updated;
+            do {
+                current = children;
+                updated = current.remove(childName);
+                if (updated == current) {
+                    throw nameNotFoundException(childName, fullName);
+                }
+            } while (!childrenUpdater.compareAndSet(this, current, updated));
+            if(parentNode != null && updated.isEmpty()) {
+                parentNode.removeChild(name, this);
             }
-            return old;
+            return current.get(childName);
+        }
+
+        private void removeChild(final String childName, final TreeNode childNode) {
+            HashTrieMap<String, TreeNode> current;
+            do {
+                current = children;
+                if (current.get(childName) != childNode) {
+                    return;
+                }
+            } while (!childrenUpdater.compareAndSet(this, current, current.remove(childName)));
+        }
+
+        private TreeNode putChildIfAbsent(final String childName, final TreeNode childNode) {
+            HashTrieMap<String, TreeNode> current;
+            do {
+                current = children;
+                final TreeNode existing = current.get(childName);
+                if (existing != null) {
+                    return existing;
+                }
+            } while (!childrenUpdater.compareAndSet(this, current, current.put(childName, childNode)));
+            return null;
         }
 
         private void clear() {
-            childrenUpdater.clear(this);
+            children = HashTrieMap.empty();
         }
 
         protected final <T> T accept(NodeVisitor<T> visitor) throws NamingException {
@@ -321,7 +388,7 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
 
         public TreeNode addOrGetChild(final String childName, final TreeNode childNode) {
-            TreeNode appearing = childrenUpdater.putIfAbsent(this, childName, childNode);
+            TreeNode appearing = putChildIfAbsent(childName, childNode);
             return appearing == null ? childNode : appearing;
         }
     }
@@ -521,8 +588,9 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
 
         protected List<Binding> found(final ContextNode contextNode) throws NamingException {
-            final List<Binding> bindings = new ArrayList<Binding>();
-            for (TreeNode childNode : contextNode.children.values()) {
+            final List<TreeNode> childNodes = contextNode.children.values();
+            final List<Binding> bindings = new ArrayList<Binding>(childNodes.size());
+            for (TreeNode childNode : childNodes) {
                 bindings.add(childNode.binding);
             }
             return bindings;
@@ -13,7 +13,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -41,6 +45,9 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  * @author Eduardo Martins
  */
 public class ServiceBasedNamingStore implements NamingStore {
+    private static final LongAdder LOOKUP_CACHE_HITS = new LongAdder();
+    private static final LongAdder LOOKUP_CACHE_MISSES = new LongAdder();
+
     private final Name EMPTY_NAME = new CompositeName();
     private Name baseName;
     private final ServiceRegistry serviceRegistry;
@@ -48,6 +55,15 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
 
+    /**
+     * The bindings found by the lookups, by name, so that a repeated lookup of a bound name does not build its
+     * service name nor query the service registry. Only the exact bindings are cached, as the resolution of the other
+     * names depends on the surrounding bindings.
+     */
+    private final ConcurrentMap<String, CachedBinding> lookupCache = new ConcurrentHashMap<String, CachedBinding>();
+    // incremented on each change of the bound services, so that a lookup racing with a change does not cache a stale binding
+    private final AtomicLong modCount = new AtomicLong();
+
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
         this.serviceNameBase = serviceNameBase;
@@ -62,8 +78,23 @@ public class ServiceBasedNamingStore implements NamingStore {
         if (name.isEmpty()) {
             return new NamingContext(EMPTY_NAME, this, null);
         }
+        final String key = name.toString();
+        final CachedBinding cached = lookupCache.get(key);
+        if (cached != null) {
+            LOOKUP_CACHE_HITS.increment();
+            return dereference(key, cached.binding, dereference);
+        }
+        LOOKUP_CACHE_MISSES.increment();
+        final long modCount = this.modCount.get();
         final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
+        final Object binding = getBinding(key, lookupName);
+        Object obj = dereference(key, binding, dereference);
+        if (binding != null && boundServices.contains(lookupName)) {
+            lookupCache.put(key, new CachedBinding(lookupName, binding));
+            if (this.modCount.get() != modCount) {
+                lookupCache.remove(key);
+            }
+        }
         if (obj == null) {
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
@@ -107,39 +138,57 @@ public class ServiceBasedNamingStore implements NamingStore {
     }
 
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
+        return dereference(name, getBinding(name, lookupName), dereference);
+    }
+
+    /**
+     * Gets the value of the binder service of a service name.
+     *
+     * @return the bound object, or null if the service does not exist
+     */
+    private Object getBinding(final String name, final ServiceName lookupName) throws NamingException {
         try {
             final ServiceController<?> controller = serviceRegistry.getService(lookupName);
-            if (controller != null) {
-                final Object object = controller.getValue();
-                if (dereference && object instanceof ManagedReferenceFactory) {
-                    if(WildFlySecurityManager.isChecking()) {
-                        //WFLY-3487 JNDI lookups should be executed in a clean access control context
-                        return AccessController.doPrivileged(new PrivilegedAction<Object>() {
-                            @Override
-                            public Object run() {
-                                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                                return managedReference != null ? managedReference.getInstance() : null;
-                            }
-                        });
-                    } else {
+            return controller != null ? controller.getValue() : null;
+        } catch (SecurityException ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw lookupFailure(name, t);
+        }
+    }
+
+    private Object dereference(final String name, final Object object, boolean dereference) throws NamingException {
+        if (!dereference || !(object instanceof ManagedReferenceFactory)) {
+            return object;
+        }
+        try {
+            if(WildFlySecurityManager.isChecking()) {
+                //WFLY-3487 JNDI lookups should be executed in a clean access control context
+                return AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                    @Override
+                    public Object run() {
                         final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
                         return managedReference != null ? managedReference.getInstance() : null;
                     }
-                } else {
-                    return object;
-                }
+                });
             } else {
-                return null;
+                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                return managedReference != null ? managedReference.getInstance() : null;
             }
-        } catch (IllegalStateException e) {
-            NameNotFoundException n = new NameNotFoundException(name);
-            n.initCause(e);
-            throw n;
         } catch (SecurityException ex) {
             throw ex;
         } catch (Throwable t) {
-            throw NamingLogger.ROOT_LOGGER.lookupError(t, name);
+            throw lookupFailure(name, t);
+        }
+    }
+
+    private static NamingException lookupFailure(final String name, final Throwable t) {
+        if (t instanceof IllegalStateException) {
+            NameNotFoundException n = new NameNotFoundException(name);
+            n.initCause(t);
+            return n;
         }
+        return NamingLogger.ROOT_LOGGER.lookupError(t, name);
     }
 
     public List<NameClassPair> list(final Name name) throws NamingException {
@@ -240,6 +289,8 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        modCount.incrementAndGet();
+        lookupCache.clear();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -254,10 +305,38 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw NamingLogger.ROOT_LOGGER.serviceAlreadyBound(serviceName);
         }
         boundServices.add(serviceName);
+        invalidate(serviceName);
     }
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        invalidate(serviceName);
+    }
+
+    /**
+     * Discards the cached lookups of a binding, which must be called whenever the object bound to a service name changes.
+     *
+     * @param serviceName the service name of the binding
+     */
+    protected void invalidate(final ServiceName serviceName) {
+        modCount.incrementAndGet();
+        if (!lookupCache.isEmpty()) {
+            lookupCache.values().removeIf(cached -> cached.serviceName.equals(serviceName));
+        }
+    }
+
+    /**
+     * @return the number of lookups of all the service based naming stores that were served by their lookup cache
+     */
+    public static long getLookupCacheHitCount() {
+        return LOOKUP_CACHE_HITS.sum();
+    }
+
+    /**
+     * @return the number of lookups of all the service based naming stores that were not served by their lookup cache
+     */
+    public static long getLookupCacheMissCount() {
+        return LOOKUP_CACHE_MISSES.sum();
     }
 
     protected ServiceName buildServiceName(final Name name) {
@@ -350,4 +429,14 @@ public class ServiceBasedNamingStore implements NamingStore {
         }
         return new CompositeName();
     }
+
+    private static final class CachedBinding {
+        final ServiceName serviceName;
+        final Object binding;
+
+        CachedBinding(final ServiceName serviceName, final Object binding) {
+            this.serviceName = serviceName;
+            this.binding = binding;
+        }
+    }
 }
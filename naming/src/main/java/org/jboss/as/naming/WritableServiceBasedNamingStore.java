@@ -102,6 +102,7 @@ public class WritableServiceBasedNamingStore extends ServiceBasedNamingStore imp
                 duBindingReferences.add(binderService);
             }
             binderService.getManagedObjectInjector().setValue(() -> new ImmediateManagedReferenceFactory(object));
+            invalidate(bindName);
         }
     }
 
@@ -0,0 +1,31 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.naming.subsystem;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.naming.ServiceBasedNamingStore;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Reads the statistics of the lookup caches of the {@link ServiceBasedNamingStore}s.
+ */
+class LookupCacheMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    static final LookupCacheMetricsHandler INSTANCE = new LookupCacheMetricsHandler();
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        if (NamingSubsystemModel.LOOKUP_CACHE_HITS.equals(attributeName)) {
+            context.getResult().set(ServiceBasedNamingStore.getLookupCacheHitCount());
+        } else if (NamingSubsystemModel.LOOKUP_CACHE_MISSES.equals(attributeName)) {
+            context.getResult().set(ServiceBasedNamingStore.getLookupCacheMissCount());
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.naming.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable hash map based on a hash array mapped trie.
+ * <p/>
+ * An update returns a new map, which shares with this map all the nodes of the trie that are not on the path of the
+ * updated key, so that the cost of an update is proportional to the depth of the trie instead of the size of the map.
+ * It is meant to be published through a volatile field, the readers then never block nor see a partially updated map.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class HashTrieMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final HashTrieMap<Object, Object> EMPTY = new HashTrieMap<>(null, 0);
+
+    // a Leaf, a Branch or a Collision
+    private final Object root;
+    private final int size;
+
+    private HashTrieMap(Object root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> HashTrieMap<K, V> empty() {
+        return (HashTrieMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        final int hash = hash(key);
+        Object node = this.root;
+        int shift = 0;
+        while (node != null) {
+            if (node instanceof Branch) {
+                final Branch branch = (Branch) node;
+                final int bit = 1 << ((hash >>> shift) & MASK);
+                if ((branch.bitmap & bit) == 0) {
+                    return null;
+                }
+                node = branch.children[Integer.bitCount(branch.bitmap & (bit - 1))];
+                shift += BITS;
+            } else if (node instanceof Leaf) {
+                final Leaf leaf = (Leaf) node;
+                return (leaf.hash == hash && key.equals(leaf.key)) ? (V) leaf.value : null;
+            } else {
+                final Leaf leaf = ((Collision) node).find(hash, key);
+                return (leaf != null) ? (V) leaf.value : null;
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(Object key) {
+        return this.get(key) != null;
+    }
+
+    /**
+     * @return a map with the value associated to the key, or this map if the key is already associated to this value
+     */
+    public HashTrieMap<K, V> put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException();
+        }
+        final Leaf leaf = new Leaf(hash(key), key, value);
+        final Object root = (this.root == null) ? leaf : put(this.root, leaf, 0);
+        if (root == this.root) {
+            return this;
+        }
+        return new HashTrieMap<>(root, this.get(key) == null ? this.size + 1 : this.size);
+    }
+
+    /**
+     * @return a map without the key, or this map if it does not contain the key
+     */
+    public HashTrieMap<K, V> remove(Object key) {
+        if (this.root == null || this.get(key) == null) {
+            return this;
+        }
+        return (this.size == 1) ? empty() : new HashTrieMap<>(remove(this.root, hash(key), key, 0), this.size - 1);
+    }
+
+    /**
+     * @return the values of this map, in no particular order
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        final List<V> values = new ArrayList<>(this.size);
+        collect(this.root, (List<Object>) values);
+        return values;
+    }
+
+    private static int hash(Object key) {
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static Object put(Object node, Leaf leaf, int shift) {
+        if (node instanceof Branch) {
+            final Branch branch = (Branch) node;
+            final int bit = 1 << ((leaf.hash >>> shift) & MASK);
+            final int index = Integer.bitCount(branch.bitmap & (bit - 1));
+            if ((branch.bitmap & bit) == 0) {
+                final Object[] children = new Object[branch.children.length + 1];
+                System.arraycopy(branch.children, 0, children, 0, index);
+                children[index] = leaf;
+                System.arraycopy(branch.children, index, children, index + 1, branch.children.length - index);
+                return new Branch(branch.bitmap | bit, children);
+            }
+            final Object child = branch.children[index];
+            final Object updated = put(child, leaf, shift + BITS);
+            if (updated == child) {
+                return branch;
+            }
+            final Object[] children = branch.children.clone();
+            children[index] = updated;
+            return new Branch(branch.bitmap, children);
+        }
+        if (node instanceof Leaf) {
+            final Leaf existing = (Leaf) node;
+            if (existing.hash == leaf.hash && existing.key.equals(leaf.key)) {
+                return (existing.value == leaf.value) ? existing : leaf;
+            }
+            return merge(existing, existing.hash, leaf, shift);
+        }
+        final Collision collision = (Collision) node;
+        if (collision.hash == leaf.hash) {
+            return collision.put(leaf);
+        }
+        return merge(collision, collision.hash, leaf, shift);
+    }
+
+    /**
+     * Creates the branches that separate a node from a leaf whose hash differs, or a collision if they share their hash.
+     */
+    private static Object merge(Object node, int hash, Leaf leaf, int shift) {
+        if (hash == leaf.hash) {
+            return new Collision(hash, new Leaf[] { (Leaf) node, leaf });
+        }
+        final int nodeIndex = (hash >>> shift) & MASK;
+        final int leafIndex = (leaf.hash >>> shift) & MASK;
+        if (nodeIndex == leafIndex) {
+            return new Branch(1 << nodeIndex, new Object[] { merge(node, hash, leaf, shift + BITS) });
+        }
+        final Object[] children = (nodeIndex < leafIndex) ? new Object[] { node, leaf } : new Object[] { leaf, node };
+        return new Branch((1 << nodeIndex) | (1 << leafIndex), children);
+    }
+
+    /**
+     * Removes a key that is known to be present.
+     *
+     * @return the node without the key, or null if it is empty
+     */
+    private static Object remove(Object node, int hash, Object key, int shift) {
+        if (node instanceof Leaf) {
+            return null;
+        }
+        if (node instanceof Collision) {
+            return ((Collision) node).remove(key);
+        }
+        final Branch branch = (Branch) node;
+        final int bit = 1 << ((hash >>> shift) & MASK);
+        final int index = Integer.bitCount(branch.bitmap & (bit - 1));
+        final Object child = remove(branch.children[index], hash, key, shift + BITS);
+        if (child != null) {
+            if (branch.children.length == 1 && !(child instanceof Branch)) {
+                // a leaf does not need the branches above it
+                return child;
+            }
+            final Object[] children = branch.children.clone();
+            children[index] = child;
+            return new Branch(branch.bitmap, children);
+        }
+        if (branch.children.length == 1) {
+            return null;
+        }
+        if (branch.children.length == 2 && !(branch.children[index ^ 1] instanceof Branch)) {
+            return branch.children[index ^ 1];
+        }
+        final Object[] children = new Object[branch.children.length - 1];
+        System.arraycopy(branch.children, 0, children, 0, index);
+        System.arraycopy(branch.children, index + 1, children, index, children.length - index);
+        return new Branch(branch.bitmap & ~bit, children);
+    }
+
+    private static void collect(Object node, List<Object> values) {
+        if (node instanceof Branch) {
+            for (Object child : ((Branch) node).children) {
+                collect(child, values);
+            }
+        } else if (node instanceof Leaf) {
+            values.add(((Leaf) node).value);
+        } else if (node instanceof Collision) {
+            for (Leaf leaf : ((Collision) node).leaves) {
+                values.add(leaf.value);
+            }
+        }
+    }
+
+    private static final class Leaf {
+        final int hash;
+        final Object key;
+        final Object value;
+
+        Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class Branch {
+        final int bitmap;
+        final Object[] children;
+
+        Branch(int bitmap, Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+    }
+
+    /**
+     * The leaves whose keys have the same hash.
+     */
+    private static final class Collision {
+        final int hash;
+        final Leaf[] leaves;
+
+        Collision(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        Leaf find(int hash, Object key) {
+            if (hash == this.hash) {
+                for (Leaf leaf : this.leaves) {
+                    if (key.equals(leaf.key)) {
+                        return leaf;
+                    }
+                }
+            }
+            return null;
+        }
+
+        Object put(Leaf leaf) {
+            for (int i = 0; i < this.leaves.length; i++) {
+                if (leaf.key.equals(this.leaves[i].key)) {
+                    if (this.leaves[i].value == leaf.value) {
+                        return this;
+                    }
+                    final Leaf[] leaves = this.leaves.clone();
+                    leaves[i] = leaf;
+                    return new Collision(this.hash, leaves);
+                }
+            }
+            final Leaf[] leaves = Arrays.copyOf(this.leaves, this.leaves.length + 1);
+            leaves[this.leaves.length] = leaf;
+            return new Collision(this.hash, leaves);
+        }
+
+        Object remove(Object key) {
+            int index = 0;
+            while (!key.equals(this.leaves[index].key)) {
+                index++;
+            }
+            if (this.leaves.length == 2) {
+                return this.leaves[index ^ 1];
+            }
+            final Leaf[] leaves = new Leaf[this.leaves.length - 1];
+            System.arraycopy(this.leaves, 0, leaves, 0, index);
+            System.arraycopy(this.leaves, index + 1, leaves, index, leaves.length - index);
+            return new Collision(this.hash, leaves);
+        }
+    }
+}
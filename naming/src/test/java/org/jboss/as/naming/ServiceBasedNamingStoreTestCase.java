@@ -13,6 +13,7 @@ import javax.naming.Binding;
 import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.Name;
+import javax.naming.NameNotFoundException;
 import javax.naming.NameClassPair;
 import javax.naming.NameParser;
 import javax.naming.NamingEnumeration;
@@ -20,6 +21,7 @@ import javax.naming.NamingException;
 
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
@@ -291,6 +293,35 @@ public class ServiceBasedNamingStoreTestCase {
         assertEquals(value, obj);
     }
 
+    @Test
+    public void testLookupCache() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
+        final Object value = new Object();
+        bindObject(bindingName, value);
+
+        assertEquals(value, store.lookup(new CompositeName("foo/bar")));
+        final long hits = ServiceBasedNamingStore.getLookupCacheHitCount();
+        assertEquals(value, store.lookup(new CompositeName("foo/bar")));
+        assertTrue(ServiceBasedNamingStore.getLookupCacheHitCount() > hits);
+    }
+
+    @Test
+    public void testLookupCacheInvalidation() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
+        bindObject(bindingName, "first");
+        assertEquals("first", store.lookup(new CompositeName("foo/bar")));
+
+        container.getService(bindingName).setMode(ServiceController.Mode.REMOVE);
+        container.awaitStability();
+        try {
+            store.lookup(new CompositeName("foo/bar"));
+            fail("The binding was removed");
+        } catch (NameNotFoundException expected) {
+        }
+
+        bindObject(bindingName, "second");
+        assertEquals("second", store.lookup(new CompositeName("foo/bar")));
+    }
 
     @Test
     public void testList() throws Exception {
@@ -389,6 +420,7 @@ public class ServiceBasedNamingStoreTestCase {
             }
 
             public void stop(StopContext context) {
+                store.remove(serviceName);
             }
 
             public ManagedReferenceFactory getValue() throws IllegalStateException, IllegalArgumentException {
@@ -0,0 +1,86 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.naming.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the updates of a {@link HashTrieMap} against a {@link HashMap}.
+ */
+public class HashTrieMapTestCase {
+
+    /**
+     * A key whose hash is chosen, to force collisions.
+     */
+    private static final class Key {
+        private final int hash;
+        private final int id;
+
+        Key(int hash, int id) {
+            this.hash = hash;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return (object instanceof Key) && ((Key) object).hash == this.hash && ((Key) object).id == this.id;
+        }
+    }
+
+    @Test
+    public void testUpdates() {
+        Random random = new Random(42);
+        Map<Key, Integer> expected = new HashMap<>();
+        HashTrieMap<Key, Integer> map = HashTrieMap.empty();
+        for (int i = 0; i < 100000; i++) {
+            // few hashes, so that many keys collide
+            Key key = new Key(random.nextInt(1000) * 0x10001, random.nextInt(3));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, i);
+                map = map.put(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Key, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+        for (Key key : expected.keySet()) {
+            map = map.remove(key);
+            assertNull(map.get(key));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testStructuralSharing() {
+        HashTrieMap<String, String> map = HashTrieMap.<String, String>empty().put("a", "1").put("b", "2");
+        HashTrieMap<String, String> updated = map.put("c", "3");
+        assertEquals(2, map.size());
+        assertNull(map.get("c"));
+        assertEquals("3", updated.get("c"));
+        assertSame(map, map.put("a", "1"));
+        assertSame(map, map.remove("c"));
+    }
+}
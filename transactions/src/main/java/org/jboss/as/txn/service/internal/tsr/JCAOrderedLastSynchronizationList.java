@@ -32,6 +32,9 @@ import org.wildfly.transaction.client.ContextTransactionSynchronizationRegistry;
 public class JCAOrderedLastSynchronizationList implements Synchronization {
     private final List<Synchronization> preJcaSyncs = new ArrayList<Synchronization>();
     private final List<Synchronization> jcaSyncs = new ArrayList<Synchronization>();
+    // the times recorded in the transaction latency statistics
+    private final long started = System.nanoTime();
+    private volatile long prepared;
 
     public JCAOrderedLastSynchronizationList() {
     }
@@ -110,10 +113,14 @@ public class JCAOrderedLastSynchronizationList implements Synchronization {
             jcaSync.beforeCompletion();
             lastIndexProcessed = lastIndexProcessed + 1;
         }
+        prepared = System.nanoTime();
     }
 
     @Override
     public void afterCompletion(int status) {
+        if (status == Status.STATUS_COMMITTED) {
+            TransactionLatencyStatistics.getInstance().recordCommitted(started, prepared, System.nanoTime());
+        }
         // The list should be iterated in reverse order - has issues with Enterprise Beans 3 if not. See the afterCompletion method in:
         // https://github.com/jbosstm/narayana/blob/main/ArjunaCore/arjuna/classes/com/arjuna/ats/arjuna/coordinator/TwoPhaseCoordinator.java
         for (int i = preJcaSyncs.size() - 1; i>= 0; --i) {
@@ -0,0 +1,148 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.txn.service.internal.tsr;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import com.arjuna.ats.arjuna.common.arjPropertyManager;
+
+/**
+ * Latency distributions of the committed transactions which registered an interposed synchronization, recorded while
+ * the transaction statistics are enabled.
+ * <p>
+ * The transaction time is measured from the registration of the first interposed synchronization, which happens when
+ * the transaction is first used by a resource, to the completion of the transaction. The commit time is measured from
+ * the end of the before completion synchronizations to the completion of the transaction, and covers the prepare and
+ * the commit phases of the resources.
+ */
+public final class TransactionLatencyStatistics {
+
+    private static final TransactionLatencyStatistics INSTANCE = new TransactionLatencyStatistics();
+
+    private final Histogram transactionTime = new Histogram();
+    private final Histogram commitTime = new Histogram();
+
+    private TransactionLatencyStatistics() {
+    }
+
+    public static TransactionLatencyStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the distribution of the transaction time, in nanoseconds
+     */
+    public Histogram getTransactionTime() {
+        return transactionTime;
+    }
+
+    /**
+     * @return the distribution of the commit time, in nanoseconds
+     */
+    public Histogram getCommitTime() {
+        return commitTime;
+    }
+
+    /**
+     * Records a committed transaction.
+     *
+     * @param started the time the transaction was first used, as returned by {@link System#nanoTime()}
+     * @param prepared the time its before completion synchronizations ended, or 0 if they did not run
+     * @param completed the time it completed
+     */
+    void recordCommitted(long started, long prepared, long completed) {
+        if (!arjPropertyManager.getCoordinatorEnvironmentBean().isEnableStatistics()) {
+            return;
+        }
+        transactionTime.record(completed - started);
+        if (prepared != 0) {
+            commitTime.record(completed - prepared);
+        }
+    }
+
+    /**
+     * A lock-free histogram of non-negative values, whose buckets grow exponentially so that a percentile is reported
+     * with a relative error of at most 1/8, whatever the magnitude of the values.
+     */
+    public static final class Histogram {
+        // each power of 2 is divided in 2^SUB_BUCKET_BITS buckets
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final AtomicLongArray counts = new AtomicLongArray((Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        public void record(long value) {
+            final long recorded = Math.max(0L, value);
+            counts.incrementAndGet(index(recorded));
+            max.accumulate(recorded);
+        }
+
+        /**
+         * @return the number of recorded values
+         */
+        public long getCount() {
+            long count = 0L;
+            for (int i = 0; i < counts.length(); i++) {
+                count += counts.get(i);
+            }
+            return count;
+        }
+
+        /**
+         * @return the highest recorded value
+         */
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * @param percentile the percentile, between 0 and 100
+         * @return the value which is greater than or equal to the specified percentage of the recorded values, or 0 if
+         * no value was recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            final long[] snapshot = new long[counts.length()];
+            long count = 0L;
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = counts.get(i);
+                count += snapshot[i];
+            }
+            if (count == 0L) {
+                return 0L;
+            }
+            final long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * count));
+            long cumulated = 0L;
+            for (int i = 0; i < snapshot.length; i++) {
+                cumulated += snapshot[i];
+                if (cumulated >= rank) {
+                    return Math.min(highestValue(i), getMax());
+                }
+            }
+            return getMax();
+        }
+
+        static int index(long value) {
+            // the smallest values have a bucket of their own
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+            // the bits which follow the highest bit select the bucket within the power of 2
+            final int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+            return (shift + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        static long highestValue(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            final int shift = index / SUB_BUCKETS - 1;
+            final long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+            return lowest + (1L << shift) - 1;
+        }
+    }
+}
@@ -70,6 +70,14 @@ interface CommonAttributes {
     String NUMBER_OF_RESOURCE_ROLLBACKS = "number-of-resource-rollbacks";
     String NUMBER_OF_SYSTEM_ROLLBACKS = "number-of-system-rollbacks";
     String AVERAGE_COMMIT_TIME = "average-commit-time";
+    String TRANSACTION_TIME_P50 = "transaction-time-p50";
+    String TRANSACTION_TIME_P99 = "transaction-time-p99";
+    String TRANSACTION_TIME_P999 = "transaction-time-p999";
+    String MAX_TRANSACTION_TIME = "max-transaction-time";
+    String COMMIT_TIME_P50 = "commit-time-p50";
+    String COMMIT_TIME_P99 = "commit-time-p99";
+    String COMMIT_TIME_P999 = "commit-time-p999";
+    String MAX_COMMIT_TIME = "max-commit-time";
 
 
     String PARTICIPANT = "participant";
@@ -15,20 +15,24 @@ import org.jboss.as.txn.logging.TransactionLogger;
 import org.jboss.dmr.ModelNode;
 
 import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
 import javax.management.InstanceNotFoundException;
 import javax.management.IntrospectionException;
 import javax.management.JMException;
+import javax.management.MBeanException;
 import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanInfo;
 import javax.management.MBeanServer;
 import javax.management.MBeanServerConnection;
-import javax.management.MalformedObjectNameException;
-import javax.management.ObjectInstance;
 import javax.management.ObjectName;
 import javax.management.ReflectionException;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -44,6 +48,10 @@ public class LogStoreProbeHandler implements OperationStepHandler {
     static final String osMBeanName = "jboss.jta:type=ObjectStore";
     static final String JNDI_PROPNAME =
             LogStoreConstants.MODEL_TO_JMX_PARTICIPANT_NAMES.get(LogStoreConstants.JNDI_ATTRIBUTE);
+    private static final String STATUS_ATTRIBUTE = "status";
+    private static final String STATUS_PROPNAME = LogStoreConstants.MODEL_TO_JMX_PARTICIPANT_NAMES.get(STATUS_ATTRIBUTE);
+    private static final String AGE_ATTRIBUTE = "age-in-seconds";
+    private static final String AGE_PROPNAME = LogStoreConstants.MODEL_TO_JMX_TXN_NAMES.get(AGE_ATTRIBUTE);
 
     private Map<String, String> getMBeanValues(MBeanServerConnection cnx, ObjectName on, String ... attributeNames)
             throws InstanceNotFoundException, IOException, ReflectionException, IntrospectionException {
@@ -79,18 +87,41 @@ public class LogStoreProbeHandler implements OperationStepHandler {
         }
     }
 
-    private void addParticipants(final Resource parent, Set<ObjectInstance> participants, MBeanServer mbs)
-            throws IntrospectionException, InstanceNotFoundException, IOException, ReflectionException {
+    private void addParticipants(final Resource parent, Set<ObjectName> participants, Map<ObjectName, Resource> previous, MBeanServer mbs)
+            throws IntrospectionException, InstanceNotFoundException, IOException, ReflectionException, AttributeNotFoundException, MBeanException {
+        final Map<ObjectName, Resource> added = new LinkedHashMap<>();
+
+        // the participants found by the previous probe keep their address and their metadata, only their status may have changed
+        for (ObjectName participant : participants) {
+            final Resource previousParticipant = previous.get(participant);
+            final Resource resource = new LogStoreResource.LogStoreRuntimeResource(participant);
+
+            if (previousParticipant == null) {
+                added.put(participant, resource);
+                continue;
+            }
+            // the previous resource is still exposed until the log-store is updated, so it is copied rather than changed
+            final ModelNode model = previousParticipant.getModel().clone();
+            final Object status = mbs.getAttribute(participant, STATUS_PROPNAME);
+
+            model.get(STATUS_ATTRIBUTE).set(status == null ? "" : status.toString());
+            resource.writeModel(model);
+            parent.registerChild(PathElement.pathElement(LogStoreConstants.PARTICIPANTS, model.get(LogStoreConstants.JNDI_ATTRIBUTE).asString()), resource);
+        }
+
         int i = 1;
 
-        for (ObjectInstance participant : participants) {
-            final Resource resource = new LogStoreResource.LogStoreRuntimeResource(participant.getObjectName());
+        for (Map.Entry<ObjectName, Resource> participant : added.entrySet()) {
+            final Resource resource = participant.getValue();
             final ModelNode model = resource.getModel();
-            Map<String, String> pAttributes = getMBeanValues(mbs,  participant.getObjectName(),
+            Map<String, String> pAttributes = getMBeanValues(mbs,  participant.getKey(),
                     LogStoreConstants.PARTICIPANT_JMX_NAMES);
             String pAddress = pAttributes.get(JNDI_PROPNAME);
 
             if (pAddress == null || pAddress.length() == 0) {
+                while (parent.hasChild(PathElement.pathElement(LogStoreConstants.PARTICIPANTS, String.valueOf(i)))) {
+                    i++;
+                }
                 pAttributes.put(JNDI_PROPNAME, String.valueOf(i++));
                 pAddress = pAttributes.get(JNDI_PROPNAME);
             }
@@ -103,36 +134,49 @@ public class LogStoreProbeHandler implements OperationStepHandler {
         }
     }
 
-    private void addTransactions(final Resource parent, Set<ObjectInstance> transactions, MBeanServer mbs)
-            throws IntrospectionException, InstanceNotFoundException, IOException,
-            ReflectionException, MalformedObjectNameException {
-
-        for (ObjectInstance oi : transactions) {
-            String transactionId = oi.getObjectName().getCanonicalName();
-
-            if (!transactionId.contains("puid") && transactionId.contains("itype")) {
-                final Resource transaction = new LogStoreResource.LogStoreRuntimeResource(oi.getObjectName());
-                final ModelNode model = transaction.getModel();
-
+    private void addTransactions(final Resource parent, Set<ObjectName> transactions, Map<ObjectName, Set<ObjectName>> participants,
+            Map<ObjectName, Resource> previous, MBeanServer mbs)
+            throws IntrospectionException, InstanceNotFoundException, IOException, ReflectionException, AttributeNotFoundException, MBeanException {
+
+        for (ObjectName on : transactions) {
+            final Resource transaction = new LogStoreResource.LogStoreRuntimeResource(on);
+            final Resource previousTransaction = previous.get(on);
+            final Map<ObjectName, Resource> previousParticipants = new HashMap<>();
+            final ModelNode model;
+
+            if (previousTransaction != null) {
+                // the id and the type of a transaction do not change, only its age has to be read again
+                model = previousTransaction.getModel().clone();
+                model.get(AGE_ATTRIBUTE).set(String.valueOf(mbs.getAttribute(on, AGE_PROPNAME)));
+                for (String name : previousTransaction.getChildrenNames(LogStoreConstants.PARTICIPANTS)) {
+                    final Resource participant = previousTransaction.getChild(PathElement.pathElement(LogStoreConstants.PARTICIPANTS, name));
+                    previousParticipants.put(LogStoreResource.getObjectName(participant), participant);
+                }
+            } else {
+                model = new ModelNode();
                 Map<String, String> tAttributes = getMBeanValues(
-                        mbs,  oi.getObjectName(), LogStoreConstants.TXN_JMX_NAMES);
-                String txnId = tAttributes.get("Id");
+                        mbs,  on, LogStoreConstants.TXN_JMX_NAMES);
 
                 addAttributes(model, LogStoreConstants.MODEL_TO_JMX_TXN_NAMES, tAttributes);
                 // model.get(LogStoreConstants.JMX_ON_ATTRIBUTE).set(transactionId);
+            }
+            transaction.writeModel(model);
 
-                String participantQuery =  transactionId + ",puid=*";
-                Set<ObjectInstance> participants = mbs.queryMBeans(new ObjectName(participantQuery), null);
-
-                addParticipants(transaction, participants, mbs);
+            addParticipants(transaction, participants.getOrDefault(on, Collections.emptySet()), previousParticipants, mbs);
 
-                final PathElement element = PathElement.pathElement(LogStoreConstants.TRANSACTIONS, txnId);
-                parent.registerChild(element, transaction);
-            }
+            final PathElement element = PathElement.pathElement(LogStoreConstants.TRANSACTIONS, model.get("id").asString());
+            parent.registerChild(element, transaction);
         }
     }
 
-    private Resource probeTransactions(MBeanServer mbs, boolean exposeAllLogs)
+    /**
+     * Probes the object store, then builds the log-store tree from the MBeans of its records.
+     * The MBeans are queried at once, and the records which were already found by the previous probe are not read again,
+     * except for the attributes which may have changed since.
+     *
+     * @param previous the transactions found by the previous probe, by object name
+     */
+    Resource probeTransactions(MBeanServer mbs, boolean exposeAllLogs, Map<ObjectName, Resource> previous)
             throws OperationFailedException {
         try {
             ObjectName on = new ObjectName(osMBeanName);
@@ -140,10 +184,22 @@ public class LogStoreProbeHandler implements OperationStepHandler {
             mbs.setAttribute(on, new javax.management.Attribute("ExposeAllRecordsAsMBeans", Boolean.valueOf(exposeAllLogs)));
             mbs.invoke(on, "probe", null, null);
 
-            Set<ObjectInstance> transactions = mbs.queryMBeans(new ObjectName(osMBeanName +  ",*"), null);
+            final Set<ObjectName> transactions = new LinkedHashSet<>();
+            final Map<ObjectName, Set<ObjectName>> participants = new HashMap<>();
+
+            for (ObjectName name : mbs.queryNames(new ObjectName(osMBeanName +  ",*"), null)) {
+                if (name.getKeyProperty("puid") != null) {
+                    // the name of the transaction of a participant is the name of the participant, without its puid
+                    final Hashtable<String, String> properties = new Hashtable<>(name.getKeyPropertyList());
+                    properties.remove("puid");
+                    participants.computeIfAbsent(ObjectName.getInstance(name.getDomain(), properties), k -> new LinkedHashSet<>()).add(name);
+                } else if (name.getKeyProperty("itype") != null) {
+                    transactions.add(name);
+                }
+            }
 
             final Resource resource = Resource.Factory.create();
-            addTransactions(resource, transactions, mbs);
+            addTransactions(resource, transactions, participants, previous, mbs);
             return resource;
 
         } catch (JMException e) {
@@ -167,7 +223,12 @@ public class LogStoreProbeHandler implements OperationStepHandler {
             // Get the expose-all-logs parameter value
             final ModelNode subModel = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
             final boolean exposeAllLogs = LogStoreConstants.EXPOSE_ALL_LOGS.resolveModelAttribute(context, subModel).asBoolean();
-            final Resource storeModel = probeTransactions(mbs, exposeAllLogs);
+            final Map<ObjectName, Resource> previous = new HashMap<>();
+            for (String name : logStore.getChildrenNames(LogStoreConstants.TRANSACTIONS)) {
+                final Resource transaction = logStore.getChild(PathElement.pathElement(LogStoreConstants.TRANSACTIONS, name));
+                previous.put(LogStoreResource.getObjectName(transaction), transaction);
+            }
+            final Resource storeModel = probeTransactions(mbs, exposeAllLogs, previous);
             // Replace the current model with an updated one
             context.acquireControllerLock();
             // WFLY-3020 -- don't drop the root model
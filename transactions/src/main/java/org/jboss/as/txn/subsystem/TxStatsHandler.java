@@ -22,6 +22,7 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.txn.logging.TransactionLogger;
+import org.jboss.as.txn.service.internal.tsr.TransactionLatencyStatistics;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -67,7 +68,15 @@ public class TxStatsHandler extends AbstractRuntimeOnlyHandler {
         AVERAGE_COMMIT_TIME(SimpleAttributeDefinitionBuilder.create(CommonAttributes.AVERAGE_COMMIT_TIME, ModelType.LONG, true)
                 .setAttributeGroup(CommonAttributes.STATISTICS)
                 .setMeasurementUnit(NANOSECONDS)
-                .build());
+                .build()),
+        TRANSACTION_TIME_P50(latency(CommonAttributes.TRANSACTION_TIME_P50)),
+        TRANSACTION_TIME_P99(latency(CommonAttributes.TRANSACTION_TIME_P99)),
+        TRANSACTION_TIME_P999(latency(CommonAttributes.TRANSACTION_TIME_P999)),
+        MAX_TRANSACTION_TIME(latency(CommonAttributes.MAX_TRANSACTION_TIME)),
+        COMMIT_TIME_P50(latency(CommonAttributes.COMMIT_TIME_P50)),
+        COMMIT_TIME_P99(latency(CommonAttributes.COMMIT_TIME_P99)),
+        COMMIT_TIME_P999(latency(CommonAttributes.COMMIT_TIME_P999)),
+        MAX_COMMIT_TIME(latency(CommonAttributes.MAX_COMMIT_TIME));
 
         private static final Map<String, TxStat> MAP = new HashMap<String, TxStat>();
         static {
@@ -80,6 +89,13 @@ public class TxStatsHandler extends AbstractRuntimeOnlyHandler {
             this.definition = definition;
         }
 
+        private static AttributeDefinition latency(final String name) {
+            return SimpleAttributeDefinitionBuilder.create(name, ModelType.LONG, true)
+                    .setAttributeGroup(CommonAttributes.STATISTICS)
+                    .setMeasurementUnit(NANOSECONDS)
+                    .setFlags(GAUGE_METRIC).build();
+        }
+
         @Override
         public final String toString() {
             return definition.getName();
@@ -93,6 +109,7 @@ public class TxStatsHandler extends AbstractRuntimeOnlyHandler {
     public static final TxStatsHandler INSTANCE = new  TxStatsHandler();
 
     private final TxStats txStats = TxStats.getInstance();
+    private final TransactionLatencyStatistics latencyStats = TransactionLatencyStatistics.getInstance();
 
     private TxStatsHandler() {
     }
@@ -140,6 +157,30 @@ public class TxStatsHandler extends AbstractRuntimeOnlyHandler {
                 case AVERAGE_COMMIT_TIME:
                     result.set(txStats.getAverageCommitTime());
                     break;
+                case TRANSACTION_TIME_P50:
+                    result.set(latencyStats.getTransactionTime().getValueAtPercentile(50));
+                    break;
+                case TRANSACTION_TIME_P99:
+                    result.set(latencyStats.getTransactionTime().getValueAtPercentile(99));
+                    break;
+                case TRANSACTION_TIME_P999:
+                    result.set(latencyStats.getTransactionTime().getValueAtPercentile(99.9));
+                    break;
+                case MAX_TRANSACTION_TIME:
+                    result.set(latencyStats.getTransactionTime().getMax());
+                    break;
+                case COMMIT_TIME_P50:
+                    result.set(latencyStats.getCommitTime().getValueAtPercentile(50));
+                    break;
+                case COMMIT_TIME_P99:
+                    result.set(latencyStats.getCommitTime().getValueAtPercentile(99));
+                    break;
+                case COMMIT_TIME_P999:
+                    result.set(latencyStats.getCommitTime().getValueAtPercentile(99.9));
+                    break;
+                case MAX_COMMIT_TIME:
+                    result.set(latencyStats.getCommitTime().getMax());
+                    break;
                 default:
                     throw new IllegalStateException(TransactionLogger.ROOT_LOGGER.unknownMetric(stat));
             }
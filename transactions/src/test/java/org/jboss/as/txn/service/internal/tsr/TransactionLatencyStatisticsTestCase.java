@@ -0,0 +1,63 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.txn.service.internal.tsr;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the percentiles reported by a {@link TransactionLatencyStatistics.Histogram}.
+ */
+public class TransactionLatencyStatisticsTestCase {
+
+    @Test
+    public void testEmpty() {
+        TransactionLatencyStatistics.Histogram histogram = new TransactionLatencyStatistics.Histogram();
+        Assert.assertEquals(0L, histogram.getCount());
+        Assert.assertEquals(0L, histogram.getMax());
+        Assert.assertEquals(0L, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testBuckets() {
+        // the buckets are contiguous, and each value falls in its bucket
+        long previousHighest = -1L;
+        for (int index = 0; index < 488; index++) {
+            long highest = TransactionLatencyStatistics.Histogram.highestValue(index);
+            Assert.assertEquals(index, TransactionLatencyStatistics.Histogram.index(previousHighest + 1));
+            Assert.assertEquals(index, TransactionLatencyStatistics.Histogram.index(highest));
+            previousHighest = highest;
+        }
+        Assert.assertEquals(Long.MAX_VALUE, previousHighest);
+    }
+
+    @Test
+    public void testPercentiles() {
+        TransactionLatencyStatistics.Histogram histogram = new TransactionLatencyStatistics.Histogram();
+        for (long value = 1; value <= 10000; value++) {
+            histogram.record(value * 1000);
+        }
+        Assert.assertEquals(10000L, histogram.getCount());
+        Assert.assertEquals(10000000L, histogram.getMax());
+        assertWithinError(5000000L, histogram.getValueAtPercentile(50));
+        assertWithinError(9900000L, histogram.getValueAtPercentile(99));
+        assertWithinError(9990000L, histogram.getValueAtPercentile(99.9));
+        Assert.assertEquals(10000000L, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testNegativeValue() {
+        TransactionLatencyStatistics.Histogram histogram = new TransactionLatencyStatistics.Histogram();
+        histogram.record(-1L);
+        Assert.assertEquals(1L, histogram.getCount());
+        Assert.assertEquals(0L, histogram.getValueAtPercentile(50));
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        // a percentile is the highest value of its bucket, which is at most 1/8 above the exact value
+        Assert.assertTrue(actual + " < " + expected, actual >= expected);
+        Assert.assertTrue(actual + " > " + expected, actual <= expected + expected / 8);
+    }
+}
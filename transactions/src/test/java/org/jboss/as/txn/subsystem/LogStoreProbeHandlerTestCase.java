@@ -0,0 +1,161 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.txn.subsystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests how {@link LogStoreProbeHandler} builds the log-store tree from the result of the previous probe.
+ */
+public class LogStoreProbeHandlerTestCase {
+
+    private static final String TRANSACTION = LogStoreProbeHandler.osMBeanName + ",itype=AtomicAction,uid=0_ffff_1";
+    private static final String PARTICIPANT = TRANSACTION + ",puid=0_ffff_2";
+
+    private final MBeanServer mbs = MBeanServerFactory.newMBeanServer();
+    private RecordMBean transaction;
+    private RecordMBean participant;
+
+    @Before
+    public void setUp() throws Exception {
+        this.mbs.registerMBean(new RecordMBean(), new ObjectName(LogStoreProbeHandler.osMBeanName));
+        this.transaction = this.register(TRANSACTION, "Id", "0:ffff:1", "AgeInSeconds", "10", "Type", "AtomicAction");
+        this.participant = this.register(PARTICIPANT, "Type", "XAResourceRecord", "Status", "PREPARED", "JndiName", "java:/xa",
+                "EisProductName", "DB", "EisProductVersion", "1.0");
+    }
+
+    @Test
+    public void testIncrementalProbe() throws Exception {
+        Resource first = this.probe(null);
+        assertEquals("10", transaction(first).getModel().get("age-in-seconds").asString());
+        Resource firstParticipant = participant(first);
+        assertEquals("PREPARED", firstParticipant.getModel().get("status").asString());
+        assertEquals("DB", firstParticipant.getModel().get("eis-product-name").asString());
+
+        this.transaction.attributes.put("AgeInSeconds", "20");
+        this.participant.attributes.put("Status", "HEURISTIC");
+        Resource second = this.probe(first);
+        assertEquals("20", transaction(second).getModel().get("age-in-seconds").asString());
+        Resource secondParticipant = participant(second);
+        assertEquals("HEURISTIC", secondParticipant.getModel().get("status").asString());
+        assertEquals("DB", secondParticipant.getModel().get("eis-product-name").asString());
+
+        // the tree of the previous probe, which is still exposed while the next one is built, is not changed
+        assertNotSame(firstParticipant, secondParticipant);
+        assertEquals("PREPARED", firstParticipant.getModel().get("status").asString());
+        // the records found by the previous probe are not read again
+        assertEquals(1, this.transaction.reads);
+        assertEquals(1, this.participant.reads);
+    }
+
+    @Test
+    public void testRemovedTransaction() throws Exception {
+        Resource first = this.probe(null);
+        this.mbs.unregisterMBean(new ObjectName(PARTICIPANT));
+        this.mbs.unregisterMBean(new ObjectName(TRANSACTION));
+
+        assertTrue(this.probe(first).getChildrenNames(LogStoreConstants.TRANSACTIONS).isEmpty());
+    }
+
+    private Resource probe(Resource previous) throws Exception {
+        Map<ObjectName, Resource> transactions = new HashMap<>();
+        if (previous != null) {
+            for (String name : previous.getChildrenNames(LogStoreConstants.TRANSACTIONS)) {
+                Resource transaction = previous.getChild(PathElement.pathElement(LogStoreConstants.TRANSACTIONS, name));
+                transactions.put(LogStoreResource.getObjectName(transaction), transaction);
+            }
+        }
+        return LogStoreProbeHandler.INSTANCE.probeTransactions(this.mbs, false, transactions);
+    }
+
+    private RecordMBean register(String name, String... attributes) throws Exception {
+        RecordMBean record = new RecordMBean();
+        for (int i = 0; i < attributes.length; i += 2) {
+            record.attributes.put(attributes[i], attributes[i + 1]);
+        }
+        this.mbs.registerMBean(record, new ObjectName(name));
+        return record;
+    }
+
+    private static Resource transaction(Resource logStore) {
+        return logStore.requireChild(PathElement.pathElement(LogStoreConstants.TRANSACTIONS, "0:ffff:1"));
+    }
+
+    private static Resource participant(Resource logStore) {
+        return transaction(logStore).requireChild(PathElement.pathElement(LogStoreConstants.PARTICIPANTS, "java:/xa"));
+    }
+
+    /**
+     * The MBean of the object store or of one of its records, which counts how many times its attributes are read at once.
+     */
+    public static class RecordMBean implements DynamicMBean {
+        final Map<String, Object> attributes = new HashMap<>();
+        int reads;
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            if (!this.attributes.containsKey(attribute)) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return this.attributes.get(attribute);
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) {
+            this.attributes.put(attribute.getName(), attribute.getValue());
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] names) {
+            this.reads++;
+            AttributeList list = new AttributeList();
+            for (String name : names) {
+                if (name != null && this.attributes.containsKey(name)) {
+                    list.add(new Attribute(name, this.attributes.get(name)));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            for (Attribute attribute : attributes.asList()) {
+                this.setAttribute(attribute);
+            }
+            return attributes;
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            // probe
+            return null;
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            return new MBeanInfo(this.getClass().getName(), null, null, null, null, null);
+        }
+    }
+}
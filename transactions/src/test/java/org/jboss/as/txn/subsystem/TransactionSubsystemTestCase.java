@@ -10,6 +10,7 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.model.test.ModelTestUtils;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.as.txn.service.internal.tsr.TransactionLatencyStatistics;
 import org.jboss.dmr.ModelNode;
 import org.junit.Assert;
 import org.junit.Test;
@@ -122,6 +123,11 @@ public class TransactionSubsystemTestCase extends AbstractSubsystemBaseTest {
         result = kernelServices.executeOperation(operation);
         Assert.assertEquals("success", result.get("outcome").asString());
         Assert.assertEquals(TxStats.getInstance().getAverageCommitTime(), result.get(ModelDescriptionConstants.RESULT).asLong());
+
+        operation = createReadAttributeOperation(CommonAttributes.COMMIT_TIME_P99);
+        result = kernelServices.executeOperation(operation);
+        Assert.assertEquals("success", result.get("outcome").asString());
+        Assert.assertEquals(TransactionLatencyStatistics.getInstance().getCommitTime().getValueAtPercentile(99), result.get(ModelDescriptionConstants.RESULT).asLong());
     }
 
     @Test
@@ -20,18 +20,36 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import static java.security.AccessController.doPrivileged;
+
 /**
  * Persistent session manager
  *
@@ -42,80 +60,191 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
 
     public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("undertow", "persistent-session-manager");
 
+    // the number of sessions marshalled or unmarshalled by a task
+    private static final int BATCH_SIZE = 1000;
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
     private final Consumer<SessionPersistenceManager> serviceConsumer;
     private final Supplier<ModuleLoader> moduleLoader;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
+    // runs the batches of sessions to marshal or unmarshal
+    private ExecutorService executor;
 
     AbstractPersistentSessionManager(final Consumer<SessionPersistenceManager> serviceConsumer, final Supplier<ModuleLoader> moduleLoader) {
         this.serviceConsumer = serviceConsumer;
         this.moduleLoader = moduleLoader;
     }
 
+    protected abstract Map<String, SessionEntry> loadSerializedSessions(final String deploymentName) throws IOException;
+
     @Override
-    public void persistSessions(String deploymentName, Map<String, PersistentSession> sessionData) {
+    public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, final ClassLoader classLoader) {
         try {
-            final Marshaller marshaller = createMarshaller();
-            try {
+            Map<String, SessionEntry> data = loadSerializedSessions(deploymentName);
+            if (data != null) {
+                return unmarshalSessions(data.entrySet().iterator(), classLoader);
+            }
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+        }
+        return null;
+    }
+
+    /**
+     * Marshals the attributes of sessions in parallel, by batches.
+     * The batches are passed to the consumer in turn, on the calling thread, so that at most a few batches are held in memory.
+     * The batches are marshalled with the context class loader of the calling thread, which is the one of the deployment.
+     *
+     * @param sessionData the sessions, by session id
+     * @param consumer the consumer of the marshalled sessions
+     */
+    protected void marshalSessions(Map<String, PersistentSession> sessionData, BatchConsumer<Map<String, SessionEntry>> consumer) throws Exception {
+        final Iterator<Map.Entry<String, PersistentSession>> sessions = sessionData.entrySet().iterator();
+        runBatches(WildFlySecurityManager.getCurrentContextClassLoaderPrivileged(), () -> {
+            if (!sessions.hasNext()) {
+                return null;
+            }
+            final List<Map.Entry<String, PersistentSession>> batch = new ArrayList<>(BATCH_SIZE);
+            while (sessions.hasNext() && batch.size() < BATCH_SIZE) {
+                batch.add(sessions.next());
+            }
+            return () -> {
                 final Map<String, SessionEntry> serializedData = new HashMap<String, SessionEntry>();
-                for (Map.Entry<String, PersistentSession> sessionEntry : sessionData.entrySet()) {
-                    Map<String, byte[]> data = new HashMap<String, byte[]>();
-                    for (Map.Entry<String, Object> sessionAttribute : sessionEntry.getValue().getSessionData().entrySet()) {
-                        try {
-                            final ByteArrayOutputStream out = new ByteArrayOutputStream();
-                            marshaller.start(new OutputStreamByteOutput(out));
-                            marshaller.writeObject(sessionAttribute.getValue());
-                            marshaller.finish();
-                            data.put(sessionAttribute.getKey(), out.toByteArray());
-                        } catch (Exception e) {
-                            UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(sessionAttribute.getKey(), sessionAttribute.getValue(), sessionEntry.getKey(), e);
-                        }
+                final Marshaller marshaller = createMarshaller();
+                try {
+                    for (Map.Entry<String, PersistentSession> sessionEntry : batch) {
+                        serializedData.put(sessionEntry.getKey(), marshalSession(marshaller, sessionEntry.getKey(), sessionEntry.getValue()));
                     }
-                    serializedData.put(sessionEntry.getKey(), new SessionEntry(sessionEntry.getValue().getExpiration(), data));
+                } finally {
+                    marshaller.close();
                 }
-                persistSerializedSessions(deploymentName, serializedData);
-            } finally {
-                marshaller.close();
+                return serializedData;
+            };
+        }, consumer);
+    }
+
+    private static SessionEntry marshalSession(Marshaller marshaller, String sessionId, PersistentSession session) {
+        Map<String, byte[]> data = new HashMap<String, byte[]>();
+        for (Map.Entry<String, Object> sessionAttribute : session.getSessionData().entrySet()) {
+            try {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                marshaller.start(new OutputStreamByteOutput(out));
+                marshaller.writeObject(sessionAttribute.getValue());
+                marshaller.finish();
+                data.put(sessionAttribute.getKey(), out.toByteArray());
+            } catch (Exception e) {
+                UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(sessionAttribute.getKey(), sessionAttribute.getValue(), sessionId, e);
             }
-        } catch (Exception e) {
-            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
         }
-
+        return new SessionEntry(session.getExpiration(), data);
     }
 
-    protected abstract void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException;
+    /**
+     * Restores the sessions which have not expired, by unmarshalling their attributes in parallel, by batches.
+     * An attribute which cannot be unmarshalled is logged and dropped, rather than failing the restore of every session.
+     *
+     * @param sessions the marshalled sessions, which are read as they are needed
+     * @param classLoader the class loader of the deployment, set as context class loader while the attributes are unmarshalled
+     * @return the sessions, by session id
+     */
+    protected Map<String, PersistentSession> unmarshalSessions(Iterator<Map.Entry<String, SessionEntry>> sessions, ClassLoader classLoader) throws Exception {
+        final long time = System.currentTimeMillis();
+        final Map<String, PersistentSession> ret = new HashMap<String, PersistentSession>();
+        runBatches((classLoader != null) ? classLoader : WildFlySecurityManager.getCurrentContextClassLoaderPrivileged(), () -> {
+            final List<Map.Entry<String, SessionEntry>> batch = new ArrayList<>(BATCH_SIZE);
+            while (sessions.hasNext() && batch.size() < BATCH_SIZE) {
+                final Map.Entry<String, SessionEntry> sessionEntry = sessions.next();
+                if (sessionEntry.getValue().expiry.getTime() > time) {
+                    batch.add(sessionEntry);
+                }
+            }
+            if (batch.isEmpty()) {
+                return null;
+            }
+            return () -> {
+                final Map<String, PersistentSession> restored = new HashMap<String, PersistentSession>();
+                final Unmarshaller unmarshaller = createUnmarshaller();
+                try {
+                    for (Map.Entry<String, SessionEntry> sessionEntry : batch) {
+                        restored.put(sessionEntry.getKey(), new PersistentSession(sessionEntry.getValue().expiry, unmarshalSession(unmarshaller, sessionEntry.getKey(), sessionEntry.getValue())));
+                    }
+                } finally {
+                    unmarshaller.close();
+                }
+                return restored;
+            };
+        }, ret::putAll);
+        return ret;
+    }
 
-    protected abstract Map<String, SessionEntry> loadSerializedSessions(final String deploymentName) throws IOException;
+    private static Map<String, Object> unmarshalSession(Unmarshaller unmarshaller, String sessionId, SessionEntry entry) {
+        final Map<String, Object> session = new HashMap<String, Object>();
+        for (Map.Entry<String, byte[]> sessionAttribute : entry.data.entrySet()) {
+            try {
+                unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(sessionAttribute.getValue())));
+                try {
+                    session.put(sessionAttribute.getKey(), unmarshaller.readObject());
+                } finally {
+                    unmarshaller.finish();
+                }
+            } catch (Exception e) {
+                UndertowLogger.ROOT_LOGGER.failedToRestoreSessionAttribute(sessionAttribute.getKey(), sessionId, e);
+            }
+        }
+        return session;
+    }
 
-    @Override
-    public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, final ClassLoader classLoader) {
+    /**
+     * Runs batches on a pool of threads, with at most {@link #PARALLELISM} batches pending, and passes their results to the consumer in order.
+     * The pooled threads are shared by all the deployments, so each batch runs with the context class loader of its deployment.
+     *
+     * @param classLoader the context class loader of the batches
+     * @param batches supplies the next batch, or null once there are no more batches
+     */
+    private <T> void runBatches(ClassLoader classLoader, BatchSupplier<T> batches, BatchConsumer<T> consumer) throws Exception {
+        final Deque<Future<T>> pending = new ArrayDeque<>(PARALLELISM);
         try {
-            Unmarshaller unmarshaller = createUnmarshaller();
-            try {
-                long time = System.currentTimeMillis();
-                Map<String, SessionEntry> data = loadSerializedSessions(deploymentName);
-                if (data != null) {
-                    Map<String, PersistentSession> ret = new HashMap<String, PersistentSession>();
-                    for (Map.Entry<String, SessionEntry> sessionEntry : data.entrySet()) {
-                        if (sessionEntry.getValue().expiry.getTime() > time) {
-                            Map<String, Object> session = new HashMap<String, Object>();
-                            for (Map.Entry<String, byte[]> sessionAttribute : sessionEntry.getValue().data.entrySet()) {
-                                unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(sessionAttribute.getValue())));
-                                session.put(sessionAttribute.getKey(), unmarshaller.readObject());
-                                unmarshaller.finish();
-                            }
-                            ret.put(sessionEntry.getKey(), new PersistentSession(sessionEntry.getValue().expiry, session));
-                        }
+            Callable<T> batch = batches.next();
+            while (batch != null) {
+                final Callable<T> task = batch;
+                pending.add(this.executor.submit(() -> {
+                    final ClassLoader current = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(classLoader);
+                    try {
+                        return task.call();
+                    } finally {
+                        WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(current);
                     }
-                    return ret;
+                }));
+                if (pending.size() == PARALLELISM) {
+                    consumer.accept(get(pending.remove()));
                 }
-            } finally {
-                unmarshaller.close();
+                batch = batches.next();
+            }
+            while (!pending.isEmpty()) {
+                consumer.accept(get(pending.remove()));
+            }
+        } finally {
+            for (Future<T> future : pending) {
+                future.cancel(true);
             }
-        } catch (Exception e) {
-            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
         }
-        return null;
+    }
+
+    private static <T> T get(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+        }
+    }
+
+    private interface BatchSupplier<T> {
+        Callable<T> next() throws Exception;
+    }
+
+    protected interface BatchConsumer<T> {
+        void accept(T batch) throws IOException;
     }
 
     protected Marshaller createMarshaller() throws IOException {
@@ -137,12 +266,23 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
         configuration.setClassResolver(ModularClassResolver.getInstance(moduleLoader.get()));
         this.configuration = configuration;
         this.factory = factory;
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("PersistentSessions"), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(PARALLELISM, PARALLELISM, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        // the sessions are only marshalled or unmarshalled when a deployment stops or starts
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
         this.serviceConsumer.accept(this);
     }
 
     @Override
     public void stop(final StopContext stopContext) {
         this.serviceConsumer.accept(null);
+        this.executor.shutdownNow();
+        this.executor = null;
     }
 
     @Override
@@ -154,7 +294,7 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
         private final Date expiry;
         private final Map<String, byte[]> data;
 
-        private SessionEntry(Date expiry, Map<String, byte[]> data) {
+        SessionEntry(Date expiry, Map<String, byte[]> data) {
             this.expiry = expiry;
             this.data = data;
         }
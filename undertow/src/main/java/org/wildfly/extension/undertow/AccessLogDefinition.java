@@ -7,7 +7,9 @@ package org.wildfly.extension.undertow;
 import java.util.Collection;
 import java.util.List;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ServiceRemoveStepHandler;
@@ -19,10 +21,15 @@ import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
 import org.jboss.as.controller.capability.BinaryCapabilityNameResolver;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.ValueExpression;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 
 /**
  * @author Tomaz Cerar (c) 2013 Red Hat Inc.
@@ -96,6 +103,18 @@ class AccessLogDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    static final SimpleAttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(Constants.QUEUE_SIZE, ModelType.INT, true)
+            .setValidator(new IntRangeValidator(1, AsyncAccessLogReceiver.MAX_CAPACITY, true, true))
+            .setAllowExpression(true)
+            .setRestartAllServices()
+            .build();
+
+    static final AttributeDefinition DROPPED_MESSAGES = new SimpleAttributeDefinitionBuilder("dropped-messages", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+
     static final Collection<AttributeDefinition> ATTRIBUTES = List.of(
             // IMPORTANT -- keep these in xsd order as this order controls marshalling
             WORKER,
@@ -107,7 +126,8 @@ class AccessLogDefinition extends PersistentResourceDefinition {
             USE_SERVER_LOG,
             RELATIVE_TO,
             EXTENDED,
-            PREDICATE
+            PREDICATE,
+            QUEUE_SIZE
     );
     private final List<AccessConstraintDefinition> accessConstraints;
 
@@ -131,4 +151,19 @@ class AccessLogDefinition extends PersistentResourceDefinition {
         //noinspection unchecked
         return ATTRIBUTES;
     }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(DROPPED_MESSAGES, new AbstractRuntimeOnlyHandler() {
+            @Override
+            protected void executeRuntimeStep(OperationContext context, ModelNode operation) {
+                ServiceName serviceName = ACCESS_LOG_CAPABILITY.getCapabilityServiceName(context.getCurrentAddress());
+                ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+                if (controller != null && controller.getState() == ServiceController.State.UP) {
+                    context.getResult().set(((AccessLogService) controller.getValue()).getDroppedMessages());
+                }
+            }
+        });
+    }
 }
@@ -23,6 +23,7 @@ import org.wildfly.extension.undertow.logging.UndertowLogger;
 import org.xnio.IoUtils;
 import org.xnio.XnioWorker;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -48,6 +49,7 @@ final class AccessLogService implements Service<AccessLogService> {
     private final boolean useServerLog;
     private final boolean extended;
     private final Predicate predicate;
+    private final int queueSize;
     private volatile AccessLogReceiver logReceiver;
 
     private PathManager.Callback.Handle callbackHandle;
@@ -57,14 +59,18 @@ final class AccessLogService implements Service<AccessLogService> {
     AccessLogService(final Consumer<AccessLogService> serviceConsumer, final Supplier<Host> host,
                      final Supplier<XnioWorker> worker, final Supplier<PathManager> pathManager,
                      final String pattern, final boolean extended, final Predicate predicate) {
-        this(serviceConsumer, host, worker, pathManager, pattern, null, null, null, null, false, extended, true, predicate);
+        this(serviceConsumer, host, worker, pathManager, pattern, null, null, null, null, false, extended, true, predicate, 0);
     }
 
+    /**
+     * @param queueSize the number of messages which can wait for a dedicated writer thread, or 0 to write the messages
+     *                  with the worker
+     */
     AccessLogService(final Consumer<AccessLogService> serviceConsumer, final Supplier<Host> host,
                      final Supplier<XnioWorker> worker, final Supplier<PathManager> pathManager,
                      final String pattern, final String path, final String pathRelativeTo,
                      final String filePrefix, final String fileSuffix, final boolean rotate,
-                     final boolean extended, final boolean useServerLog, final Predicate predicate) {
+                     final boolean extended, final boolean useServerLog, final Predicate predicate, final int queueSize) {
         this.serviceConsumer = serviceConsumer;
         this.host = host;
         this.worker = worker;
@@ -78,6 +84,7 @@ final class AccessLogService implements Service<AccessLogService> {
         this.extended = extended;
         this.useServerLog = useServerLog;
         this.predicate = predicate == null ? Predicates.truePredicate() : predicate;
+        this.queueSize = queueSize;
     }
 
     @Override
@@ -96,21 +103,28 @@ final class AccessLogService implements Service<AccessLogService> {
                     throw UndertowLogger.ROOT_LOGGER.couldNotCreateLogDirectory(directory, e);
                 }
             }
-            try {
-                DefaultAccessLogReceiver.Builder builder = DefaultAccessLogReceiver.builder().setLogWriteExecutor(worker.get())
-                        .setOutputDirectory(directory)
-                        .setLogBaseName(filePrefix)
-                        .setLogNameSuffix(fileSuffix)
-                        .setRotate(rotate);
-                if(extended) {
-                    builder.setLogFileHeaderGenerator(new ExtendedAccessLogParser.ExtendedAccessLogHeaderGenerator(pattern));
-                    extendedPattern = new ExtendedAccessLogParser(getClass().getClassLoader()).parse(pattern);
-                } else {
-                    extendedPattern = null;
+            if (extended) {
+                extendedPattern = new ExtendedAccessLogParser(getClass().getClassLoader()).parse(pattern);
+            } else {
+                extendedPattern = null;
+            }
+            if (queueSize > 0) {
+                logReceiver = new AsyncAccessLogReceiver(directory, filePrefix, fileSuffix, rotate,
+                        extended ? new ExtendedAccessLogParser.ExtendedAccessLogHeaderGenerator(pattern) : null, queueSize);
+            } else {
+                try {
+                    DefaultAccessLogReceiver.Builder builder = DefaultAccessLogReceiver.builder().setLogWriteExecutor(worker.get())
+                            .setOutputDirectory(directory)
+                            .setLogBaseName(filePrefix)
+                            .setLogNameSuffix(fileSuffix)
+                            .setRotate(rotate);
+                    if(extended) {
+                        builder.setLogFileHeaderGenerator(new ExtendedAccessLogParser.ExtendedAccessLogHeaderGenerator(pattern));
+                    }
+                    logReceiver = builder.build();
+                } catch (IllegalStateException e) {
+                    throw new StartException(e);
                 }
-                logReceiver = builder.build();
-            } catch (IllegalStateException e) {
-                throw new StartException(e);
             }
         }
         host.get().setAccessLogService(this);
@@ -125,8 +139,8 @@ final class AccessLogService implements Service<AccessLogService> {
             callbackHandle.remove();
             callbackHandle = null;
         }
-        if( logReceiver instanceof DefaultAccessLogReceiver ) {
-            IoUtils.safeClose((DefaultAccessLogReceiver) logReceiver);
+        if( logReceiver instanceof Closeable ) {
+            IoUtils.safeClose((Closeable) logReceiver);
         }
         logReceiver = null;
     }
@@ -139,6 +153,14 @@ final class AccessLogService implements Service<AccessLogService> {
         }
     }
 
+    /**
+     * @return the number of messages dropped because the dedicated writer thread could not keep up
+     */
+    long getDroppedMessages() {
+        AccessLogReceiver receiver = logReceiver;
+        return (receiver instanceof AsyncAccessLogReceiver) ? ((AsyncAccessLogReceiver) receiver).getDroppedMessages() : 0L;
+    }
+
     boolean isRotate() {
         return rotate;
     }
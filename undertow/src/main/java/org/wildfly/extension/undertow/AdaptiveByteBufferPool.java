@@ -0,0 +1,275 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.undertow.connector.ByteBufferPool;
+import io.undertow.connector.PooledByteBuffer;
+
+/**
+ * A buffer pool which sizes itself to the demand, within the configured bounds.
+ * <p/>
+ * A freed buffer is kept in the cache of the freeing thread, then in the pool shared by all the threads. The cache of
+ * a thread grows, up to the maximum thread local cache size, while most of the buffers allocated by the thread are not
+ * found in its cache, and shrinks by the buffers which stayed unused in the cache over the last allocations. The
+ * limit of the shared pool follows the number of buffers in use at once: it rises to a higher peak at once, and
+ * halves its surplus over a lower peak each time the pool is adapted, so that a short lull does not discard the
+ * buffers of a recurring burst, while memory which is no longer needed is still released instead of being retained
+ * forever. It never exceeds the maximum pool size.
+ * <p/>
+ * The allocations, the buffers found in a thread cache or in the shared pool, and the buffers which had to be created
+ * or were discarded are counted, so that the bounds can be checked against the actual usage.
+ */
+final class AdaptiveByteBufferPool implements ByteBufferPool {
+
+    // the number of allocations of a thread after which its cache is adapted
+    private static final int THREAD_WINDOW = 64;
+    // the minimal interval between two adaptations of the shared pool
+    private static final long ADAPT_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean direct;
+    private final int bufferSize;
+    private final int maxPoolSize;
+    private final int maxThreadLocalCacheSize;
+    private final ThreadLocal<ThreadCache> threadCaches = ThreadLocal.withInitial(ThreadCache::new);
+    private final ConcurrentLinkedQueue<ByteBuffer> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicBoolean adapting = new AtomicBoolean();
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder threadLocalHits = new LongAdder();
+    private final LongAdder poolHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discards = new LongAdder();
+    private final ByteBufferPool arrayBackedPool;
+
+    private volatile int poolLimit;
+    private volatile int peakInUse;
+    private volatile long lastAdapted = System.nanoTime();
+    private volatile boolean closed;
+
+    /**
+     * @param direct whether the buffers are direct
+     * @param bufferSize the size of the buffers
+     * @param maxPoolSize the maximum number of buffers retained by the shared pool, -1 for no limit
+     * @param maxThreadLocalCacheSize the maximum number of buffers retained by the cache of a thread
+     */
+    AdaptiveByteBufferPool(boolean direct, int bufferSize, int maxPoolSize, int maxThreadLocalCacheSize) {
+        this.direct = direct;
+        this.bufferSize = bufferSize;
+        this.maxPoolSize = (maxPoolSize < 0) ? Integer.MAX_VALUE : maxPoolSize;
+        this.maxThreadLocalCacheSize = maxThreadLocalCacheSize;
+        this.poolLimit = this.maxPoolSize;
+        this.arrayBackedPool = direct ? new AdaptiveByteBufferPool(false, bufferSize, maxPoolSize, maxThreadLocalCacheSize) : this;
+    }
+
+    @Override
+    public PooledByteBuffer allocate() {
+        if (this.closed) {
+            throw new IllegalStateException();
+        }
+        this.allocations.increment();
+        int used = this.inUse.incrementAndGet();
+        if (used > this.peakInUse) {
+            this.peakInUse = used;
+        }
+        ThreadCache cache = this.threadCaches.get();
+        ByteBuffer buffer = cache.buffers.pollFirst();
+        if (buffer != null) {
+            this.threadLocalHits.increment();
+        } else {
+            cache.misses++;
+            buffer = this.pool.poll();
+            if (buffer != null) {
+                this.pooled.decrementAndGet();
+                this.poolHits.increment();
+            } else {
+                this.misses.increment();
+                buffer = this.direct ? ByteBuffer.allocateDirect(this.bufferSize) : ByteBuffer.allocate(this.bufferSize);
+            }
+        }
+        cache.lowWaterMark = Math.min(cache.lowWaterMark, cache.buffers.size());
+        if (++cache.allocations == THREAD_WINDOW) {
+            cache.adapt();
+            this.adaptIfNecessary();
+        }
+        return new PooledBuffer(buffer);
+    }
+
+    private void free(ByteBuffer buffer) {
+        this.inUse.decrementAndGet();
+        if (this.closed) {
+            return;
+        }
+        buffer.clear();
+        ThreadCache cache = this.threadCaches.get();
+        if (cache.buffers.size() < cache.limit) {
+            cache.buffers.addFirst(buffer);
+        } else {
+            this.release(buffer);
+        }
+    }
+
+    /**
+     * Returns a buffer to the shared pool, or discards it if the pool is full.
+     */
+    private void release(ByteBuffer buffer) {
+        if (this.pooled.incrementAndGet() <= this.poolLimit) {
+            this.pool.add(buffer);
+        } else {
+            this.pooled.decrementAndGet();
+            this.discards.increment();
+        }
+    }
+
+    private void adaptIfNecessary() {
+        long now = System.nanoTime();
+        if (now - this.lastAdapted < ADAPT_INTERVAL || !this.adapting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.lastAdapted = now;
+            this.adapt();
+        } finally {
+            this.adapting.set(false);
+        }
+    }
+
+    /**
+     * Moves the limit of the shared pool towards the peak number of buffers in use since the last adaptation, and
+     * discards the pooled buffers beyond it. Must not be called concurrently.
+     */
+    void adapt() {
+        int peak = Math.min(this.maxPoolSize, this.peakInUse);
+        int limit = this.poolLimit;
+        // rises at once, decays by half of the surplus
+        limit = (peak >= limit) ? peak : peak + (limit - peak) / 2;
+        this.poolLimit = limit;
+        this.peakInUse = this.inUse.get();
+        while (this.pooled.get() > limit && this.pool.poll() != null) {
+            this.pooled.decrementAndGet();
+            this.discards.increment();
+        }
+    }
+
+    @Override
+    public ByteBufferPool getArrayBackedPool() {
+        return this.arrayBackedPool;
+    }
+
+    @Override
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    @Override
+    public boolean isDirect() {
+        return this.direct;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.pool.clear();
+        this.pooled.set(0);
+        if (this.arrayBackedPool != this) {
+            this.arrayBackedPool.close();
+        }
+    }
+
+    long getAllocations() {
+        return this.allocations.sum();
+    }
+
+    long getThreadLocalHits() {
+        return this.threadLocalHits.sum();
+    }
+
+    long getPoolHits() {
+        return this.poolHits.sum();
+    }
+
+    long getMisses() {
+        return this.misses.sum();
+    }
+
+    long getDiscards() {
+        return this.discards.sum();
+    }
+
+    int getBuffersInUse() {
+        return this.inUse.get();
+    }
+
+    int getPooledBuffers() {
+        return this.pooled.get();
+    }
+
+    int getPoolLimit() {
+        return this.poolLimit;
+    }
+
+    private final class ThreadCache {
+        final ArrayDeque<ByteBuffer> buffers = new ArrayDeque<>();
+        int limit = Math.min(1, maxThreadLocalCacheSize);
+        int allocations;
+        int misses;
+        // the minimal number of cached buffers over the current window
+        int lowWaterMark = Integer.MAX_VALUE;
+
+        void adapt() {
+            if (this.misses * 4 > this.allocations) {
+                // less than 3 allocations out of 4 were served by the cache
+                this.limit = Math.min(maxThreadLocalCacheSize, Math.max(1, this.limit * 2));
+            } else if (this.lowWaterMark > 0) {
+                // these buffers were not needed over the whole window
+                this.limit -= this.lowWaterMark;
+                while (this.buffers.size() > this.limit) {
+                    release(this.buffers.pollLast());
+                }
+            }
+            this.allocations = 0;
+            this.misses = 0;
+            this.lowWaterMark = Integer.MAX_VALUE;
+        }
+    }
+
+    private final class PooledBuffer implements PooledByteBuffer {
+        private final AtomicBoolean open = new AtomicBoolean(true);
+        private final ByteBuffer buffer;
+
+        PooledBuffer(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public ByteBuffer getBuffer() {
+            if (!this.open.get()) {
+                throw new IllegalStateException();
+            }
+            return this.buffer;
+        }
+
+        @Override
+        public void close() {
+            if (this.open.compareAndSet(true, false)) {
+                free(this.buffer);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return this.open.get();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import io.undertow.server.handlers.accesslog.AccessLogReceiver;
+import io.undertow.server.handlers.accesslog.LogFileHeaderGenerator;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+/**
+ * An access log receiver which hands the messages over to a single writer thread through a bounded, lock-free ring
+ * buffer.
+ * <p/>
+ * The request threads never block nor allocate to log a message: a message which does not fit in the ring buffer is
+ * dropped and counted. The writer thread drains the ring buffer by batches and flushes the log file once per batch.
+ * The log file is named and rotated like the file of a {@link io.undertow.server.handlers.accesslog.DefaultAccessLogReceiver}.
+ */
+final class AsyncAccessLogReceiver implements AccessLogReceiver, Closeable {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // the maximal number of messages written between two flushes
+    private static final int MAX_BATCH_SIZE = 1024;
+    // the largest power of 2 an int can hold
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private final Path directory;
+    private final String baseName;
+    private final String suffix;
+    private final boolean rotate;
+    private final LogFileHeaderGenerator headerGenerator;
+    private final Path file;
+
+    // the slots of the ring buffer, and the sequence number which allows to write, then to read, each slot
+    private final AtomicReferenceArray<String> messages;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+
+    private BufferedWriter output;
+    private LocalDate date;
+
+    /**
+     * @param directory the directory of the log files
+     * @param baseName the prefix of the log files
+     * @param suffix the suffix of the log files
+     * @param rotate whether the log file is rotated every day
+     * @param headerGenerator the generator of the header of a new log file, or null
+     * @param capacity the number of messages which can wait for the writer, rounded to the next power of 2, up to {@link #MAX_CAPACITY}
+     */
+    AsyncAccessLogReceiver(Path directory, String baseName, String suffix, boolean rotate, LogFileHeaderGenerator headerGenerator, int capacity) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.suffix = suffix;
+        this.rotate = rotate;
+        this.headerGenerator = headerGenerator;
+        this.file = directory.resolve(baseName + suffix);
+        int size = ringSize(capacity);
+        this.messages = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.writer = new Thread(this::write, "access-log-writer-" + baseName);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * @return the smallest power of 2, from 2 to {@link #MAX_CAPACITY}, which is not less than the capacity
+     */
+    static int ringSize(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    @Override
+    public void logMessage(String message) {
+        long position = this.tail.get();
+        while (true) {
+            int index = (int) position & this.mask;
+            long sequence = this.sequences.get(index);
+            if (sequence == position) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.messages.set(index, message);
+                    // publishes the message to the writer
+                    this.sequences.set(index, position + 1);
+                    break;
+                }
+                position = this.tail.get();
+            } else if (sequence < position) {
+                // the writer did not yet read the message of the previous lap
+                this.dropped.increment();
+                return;
+            } else {
+                position = this.tail.get();
+            }
+        }
+        if (this.sleeping) {
+            LockSupport.unpark(this.writer);
+        }
+    }
+
+    /**
+     * @return the number of messages dropped because the ring buffer was full
+     */
+    long getDroppedMessages() {
+        return this.dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write() {
+        try {
+            while (true) {
+                boolean closed = this.closed;
+                int count = this.drain();
+                if (count == 0) {
+                    if (closed) {
+                        break;
+                    }
+                    this.sleeping = true;
+                    // checks again, as a message may have been published before the writer was marked as sleeping
+                    if (!this.isEmpty()) {
+                        this.sleeping = false;
+                        continue;
+                    }
+                    LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+                    this.sleeping = false;
+                }
+            }
+        } finally {
+            this.closeOutput();
+        }
+    }
+
+    private boolean isEmpty() {
+        return this.sequences.get((int) this.head & this.mask) != this.head + 1;
+    }
+
+    /**
+     * Writes a batch of messages, then flushes them.
+     *
+     * @return the number of messages written
+     */
+    private int drain() {
+        int count = 0;
+        try {
+            while (count < MAX_BATCH_SIZE && !this.isEmpty()) {
+                int index = (int) this.head & this.mask;
+                String message = this.messages.get(index);
+                this.messages.set(index, null);
+                // releases the slot for the next lap
+                this.sequences.set(index, this.head + this.mask + 1);
+                this.head++;
+                if (count == 0) {
+                    this.openOutput();
+                }
+                this.output.write(message);
+                this.output.newLine();
+                count++;
+            }
+            if (count > 0) {
+                this.output.flush();
+            }
+        } catch (IOException e) {
+            UndertowLogger.ROOT_LOGGER.errorWritingAccessLog(e);
+            this.closeOutput();
+        }
+        return count;
+    }
+
+    /**
+     * Opens the log file if necessary, rotating it first if it was written on a previous day.
+     */
+    private void openOutput() throws IOException {
+        LocalDate today = LocalDate.now();
+        if (this.output != null && (!this.rotate || today.equals(this.date))) {
+            return;
+        }
+        this.closeOutput();
+        if (this.rotate && Files.exists(this.file)) {
+            LocalDate modified = LocalDate.ofInstant(Instant.ofEpochMilli(Files.getLastModifiedTime(this.file).toMillis()), ZoneId.systemDefault());
+            if (modified.isBefore(today)) {
+                String name = this.baseName + DATE_FORMAT.format(modified);
+                Path rotated = this.directory.resolve(name + "." + this.suffix);
+                for (int i = 1; Files.exists(rotated); i++) {
+                    rotated = this.directory.resolve(name + "-" + i + "." + this.suffix);
+                }
+                Files.move(this.file, rotated, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        boolean created = !Files.exists(this.file) || Files.size(this.file) == 0;
+        this.output = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.date = today;
+        if (created && this.headerGenerator != null) {
+            for (String line : this.headerGenerator.generateHeader()) {
+                this.output.write(line);
+                this.output.newLine();
+            }
+        }
+    }
+
+    private void closeOutput() {
+        if (this.output != null) {
+            try {
+                this.output.close();
+            } catch (IOException e) {
+                UndertowLogger.ROOT_LOGGER.errorWritingAccessLog(e);
+            }
+            this.output = null;
+        }
+    }
+}
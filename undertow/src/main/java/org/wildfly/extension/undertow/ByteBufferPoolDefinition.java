@@ -8,10 +8,12 @@ package org.wildfly.extension.undertow;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.ToLongFunction;
 
 import io.undertow.connector.ByteBufferPool;
 import io.undertow.server.DefaultByteBufferPool;
 import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -22,11 +24,15 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
@@ -99,7 +105,51 @@ public class ByteBufferPoolDefinition extends PersistentResourceDefinition {
             .setDefaultValue(ModelNode.ZERO)
             .build();
 
-    static final List<AttributeDefinition> ATTRIBUTES = Arrays.asList(BUFFER_SIZE, MAX_POOL_SIZE, DIRECT, THREAD_LOCAL_CACHE_SIZE, LEAK_DETECTION_PERCENT);
+    static final SimpleAttributeDefinition ADAPTIVE = new SimpleAttributeDefinitionBuilder(Constants.ADAPTIVE, ModelType.BOOLEAN)
+            .setRequired(false)
+            .setRestartAllServices()
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.FALSE)
+            .build();
+
+    static final List<AttributeDefinition> ATTRIBUTES = Arrays.asList(BUFFER_SIZE, MAX_POOL_SIZE, DIRECT, THREAD_LOCAL_CACHE_SIZE, LEAK_DETECTION_PERCENT, ADAPTIVE);
+
+    /**
+     * The statistics of an adaptive pool.
+     */
+    enum PoolStat {
+        ALLOCATIONS(counter("allocations"), AdaptiveByteBufferPool::getAllocations),
+        THREAD_LOCAL_HITS(counter("thread-local-hits"), AdaptiveByteBufferPool::getThreadLocalHits),
+        POOL_HITS(counter("pool-hits"), AdaptiveByteBufferPool::getPoolHits),
+        MISSES(counter("misses"), AdaptiveByteBufferPool::getMisses),
+        DISCARDS(counter("discards"), AdaptiveByteBufferPool::getDiscards),
+        BUFFERS_IN_USE(gauge("buffers-in-use"), AdaptiveByteBufferPool::getBuffersInUse),
+        POOLED_BUFFERS(gauge("pooled-buffers"), AdaptiveByteBufferPool::getPooledBuffers),
+        POOL_LIMIT(gauge("pool-limit"), AdaptiveByteBufferPool::getPoolLimit),
+        ;
+        final AttributeDefinition definition;
+        final ToLongFunction<AdaptiveByteBufferPool> reader;
+
+        PoolStat(AttributeDefinition definition, ToLongFunction<AdaptiveByteBufferPool> reader) {
+            this.definition = definition;
+            this.reader = reader;
+        }
+
+        private static AttributeDefinition counter(String name) {
+            return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                    .setUndefinedMetricValue(ModelNode.ZERO)
+                    .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+                    .setStorageRuntime()
+                    .build();
+        }
+
+        private static AttributeDefinition gauge(String name) {
+            return new SimpleAttributeDefinitionBuilder(name, ModelType.INT)
+                    .setUndefinedMetricValue(ModelNode.ZERO)
+                    .setStorageRuntime()
+                    .build();
+        }
+    }
 
 
     ByteBufferPoolDefinition() {
@@ -115,6 +165,38 @@ public class ByteBufferPoolDefinition extends PersistentResourceDefinition {
         return ATTRIBUTES;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        for (PoolStat stat : PoolStat.values()) {
+            resourceRegistration.registerMetric(stat.definition, PoolStatHandler.INSTANCE);
+        }
+    }
+
+    private static class PoolStatHandler extends AbstractRuntimeOnlyHandler {
+
+        static final PoolStatHandler INSTANCE = new PoolStatHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ServiceName serviceName = UNDERTOW_BUFFER_POOL_RUNTIME_CAPABILITY.getCapabilityServiceName(context.getCurrentAddressValue());
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return;
+            }
+            // the statistics are only collected by an adaptive pool
+            if (controller.getValue() instanceof AdaptiveByteBufferPool) {
+                AdaptiveByteBufferPool pool = (AdaptiveByteBufferPool) controller.getValue();
+                String name = operation.get(ModelDescriptionConstants.NAME).asString();
+                for (PoolStat stat : PoolStat.values()) {
+                    if (stat.definition.getName().equals(name)) {
+                        context.getResult().set(stat.reader.applyAsLong(pool));
+                    }
+                }
+            }
+        }
+    }
+
 
     private static class BufferPoolAdd extends AbstractAddStepHandler {
 
@@ -125,12 +207,13 @@ public class ByteBufferPoolDefinition extends PersistentResourceDefinition {
             final ModelNode directModel = DIRECT.resolveModelAttribute(context, model);
             final int threadLocalCacheSize = THREAD_LOCAL_CACHE_SIZE.resolveModelAttribute(context, model).asInt();
             final int leakDetectionPercent = LEAK_DETECTION_PERCENT.resolveModelAttribute(context, model).asInt();
+            final boolean adaptive = ADAPTIVE.resolveModelAttribute(context, model).asBoolean();
 
             final int bufferSize = bufferSizeModel.asInt(defaultBufferSize);
             final int maxPoolSize = maxPoolSizeModel.asInt(-1);
             final boolean direct = directModel.asBoolean(defaultDirectBuffers);
 
-            final ByteBufferPoolService service = new ByteBufferPoolService(direct, bufferSize, maxPoolSize, threadLocalCacheSize, leakDetectionPercent);
+            final ByteBufferPoolService service = new ByteBufferPoolService(direct, bufferSize, maxPoolSize, threadLocalCacheSize, leakDetectionPercent, adaptive);
             context.getCapabilityServiceTarget().addCapability(UNDERTOW_BUFFER_POOL_RUNTIME_CAPABILITY)
                     .setInstance(service)
                     .setInitialMode(ServiceController.Mode.ACTIVE)
@@ -145,22 +228,28 @@ public class ByteBufferPoolDefinition extends PersistentResourceDefinition {
         private final int maxSize;
         private final int threadLocalCacheSize;
         private final int leakDetectionPercent;
+        private final boolean adaptive;
 
 
         private volatile ByteBufferPool pool;
 
-        private ByteBufferPoolService(boolean direct, int size, int maxSize, int threadLocalCacheSize, int leakDetectionPercent) {
+        private ByteBufferPoolService(boolean direct, int size, int maxSize, int threadLocalCacheSize, int leakDetectionPercent, boolean adaptive) {
             this.direct = direct;
             this.size = size;
             this.maxSize = maxSize;
             this.threadLocalCacheSize = threadLocalCacheSize;
             this.leakDetectionPercent = leakDetectionPercent;
+            this.adaptive = adaptive;
         }
 
 
         @Override
         public void start(StartContext startContext) throws StartException {
-            pool = new DefaultByteBufferPool(direct, size, maxSize, threadLocalCacheSize, leakDetectionPercent);
+            if (adaptive) {
+                pool = new AdaptiveByteBufferPool(direct, size, maxSize, threadLocalCacheSize);
+            } else {
+                pool = new DefaultByteBufferPool(direct, size, maxSize, threadLocalCacheSize, leakDetectionPercent);
+            }
         }
 
         @Override
@@ -243,6 +243,7 @@ public interface Constants {
     String FILE_CACHE_MAX_FILE_SIZE = "file-cache-max-file-size";
     String FILE_CACHE_METADATA_SIZE = "file-cache-metadata-size";
     String FILE_CACHE_TIME_TO_LIVE =  "file-cache-time-to-live";
+    String FILE_TRANSFER_MIN_SIZE = "file-transfer-min-size";
     String SESSION_ID = "session-id";
     String ATTRIBUTE = "attribute";
     String INVALIDATE_SESSION = "invalidate-session";
@@ -263,4 +264,6 @@ public interface Constants {
     String DIRECT = "direct";
     String LEAK_DETECTION_PERCENT = "leak-detection-percent";
     String BYTE_BUFFER_POOL = "byte-buffer-pool";
+    String ADAPTIVE = "adaptive";
+    String QUEUE_SIZE = "queue-size";
 }
@@ -22,6 +22,7 @@ import io.undertow.server.session.Session;
 import io.undertow.server.session.SessionManager;
 import io.undertow.server.session.SessionManagerStatistics;
 import io.undertow.servlet.api.Deployment;
+import io.undertow.servlet.api.MetricsCollector;
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
@@ -40,7 +41,9 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.undertow.deployment.StatisticsCachingResourceManager;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
+import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
 
 /**
@@ -58,6 +61,17 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
             .setAllowExpression(false)
             .build();
 
+    static final AttributeDefinition RESOURCE_CACHE_HITS = new SimpleAttributeDefinitionBuilder("resource-cache-hits", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition RESOURCE_CACHE_MISSES = new SimpleAttributeDefinitionBuilder("resource-cache-misses", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+
     static final AttributeDefinition ATTRIBUTE = new SimpleAttributeDefinitionBuilder(Constants.ATTRIBUTE, ModelType.STRING)
             .setRequired(true)
             .setAllowExpression(false)
@@ -138,6 +152,8 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         for (SessionStat stat : SessionStat.values()) {
             resourceRegistration.registerMetric(stat.definition, SessionManagerStatsHandler.getInstance());
         }
+        resourceRegistration.registerMetric(RESOURCE_CACHE_HITS, ResourceCacheStatsHandler.INSTANCE);
+        resourceRegistration.registerMetric(RESOURCE_CACHE_MISSES, ResourceCacheStatsHandler.INSTANCE);
     }
 
     @Override
@@ -354,6 +370,38 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         }
     }
 
+    /**
+     * Reads the statistics of the resource cache of a deployment, which are collected if the statistics are enabled.
+     */
+    static class ResourceCacheStatsHandler extends AbstractRuntimeOnlyHandler {
+
+        static final ResourceCacheStatsHandler INSTANCE = new ResourceCacheStatsHandler();
+
+        private ResourceCacheStatsHandler() {
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+            final ModelNode subModel = context.readResourceFromRoot(address, false).getModel();
+            final String host = VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
+            final String path = CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
+            final String server = SERVER.resolveModelAttribute(context, subModel).asString();
+
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.deploymentServiceName(server, host, path));
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return;
+            }
+            final UndertowDeploymentService deploymentService = (UndertowDeploymentService) controller.getService();
+            final MetricsCollector collector = deploymentService.getDeploymentInfo().getMetricsCollector();
+            final StatisticsCachingResourceManager resourceManager = (collector instanceof UndertowMetricsCollector) ? ((UndertowMetricsCollector) collector).getResourceManager() : null;
+            if (resourceManager != null) {
+                final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+                context.getResult().set(name.equals(RESOURCE_CACHE_HITS.getName()) ? resourceManager.getCacheHits() : resourceManager.getCacheMisses());
+            }
+        }
+    }
+
     private static SessionManager getSessionManager(OperationContext context, ModelNode operation) throws OperationFailedException {
         final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
         final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
@@ -4,11 +4,10 @@
  */
 package org.wildfly.extension.undertow;
 
+import io.undertow.servlet.UndertowServletLogger;
 import io.undertow.servlet.api.SessionPersistenceManager;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.marshalling.InputStreamByteInput;
-import org.jboss.marshalling.Marshaller;
-import org.jboss.marshalling.OutputStreamByteOutput;
 import org.jboss.marshalling.Unmarshaller;
 import org.jboss.modules.ModuleLoader;
 import org.jboss.msc.service.StartContext;
@@ -17,21 +16,43 @@ import org.jboss.msc.service.StopContext;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
 import org.xnio.IoUtils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * Persistent session manager that stores persistent session information to disk
+ * <p/>
+ * The sessions are marshalled in parallel and streamed to the session file of the deployment by batches, instead of
+ * being marshalled into a single object graph. The session files written by previous releases are still read.
  *
  * @author Stuart Douglas
  * @author <a href="mailto:ropalka@redhat.com">Richard Opalka</a>
  */
 public class DiskBasedModularPersistentSessionManager extends AbstractPersistentSessionManager {
+    private static final int MAGIC = 0x57465353; // WFSS
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+    private static final String TMP_SUFFIX = ".tmp";
+
     private final String path;
     private final String pathRelativeTo;
     private final Supplier<PathManager> pathManager;
@@ -72,21 +93,115 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
     }
 
 
+    /**
+     * Writes the sessions to a temporary file which then replaces the session file of the deployment, so that a
+     * failure while the sessions are written does not leave a truncated session file.
+     */
     @Override
-    protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException {
+    public void persistSessions(String deploymentName, Map<String, PersistentSession> sessionData) {
         File file = new File(baseDir, deploymentName);
-        FileOutputStream out = new FileOutputStream(file, false);
+        File tmp = new File(baseDir, deploymentName + TMP_SUFFIX);
         try {
-            Marshaller marshaller = createMarshaller();
-            try {
-                marshaller.start(new OutputStreamByteOutput(out));
-                marshaller.writeObject(serializedData);
-                marshaller.finish();
-            } finally {
-                marshaller.close();
+            FileOutputStream fileOut = new FileOutputStream(tmp, false);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                marshalSessions(sessionData, batch -> writeSessions(out, batch));
+                out.writeBoolean(false);
+                out.flush();
+                fileOut.getFD().sync();
             }
-        } finally {
-            IoUtils.safeClose(out);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            tmp.delete();
+            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+        }
+    }
+
+    @Override
+    public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, ClassLoader classLoader) {
+        File file = new File(baseDir, deploymentName);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (file.length() >= HEADER_SIZE && in.readInt() == MAGIC && in.readByte() == VERSION) {
+                return unmarshalSessions(new SessionReader(in), classLoader);
+            }
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+            return null;
+        }
+        // written by a previous release
+        return super.loadSessionAttributes(deploymentName, classLoader);
+    }
+
+    /**
+     * Appends sessions to a session file. Each session is preceded by a true boolean, the file ends with a false one.
+     */
+    static void writeSessions(DataOutput out, Map<String, SessionEntry> sessions) throws IOException {
+        for (Map.Entry<String, SessionEntry> session : sessions.entrySet()) {
+            out.writeBoolean(true);
+            out.writeUTF(session.getKey());
+            out.writeLong(session.getValue().getExpiry().getTime());
+            Map<String, byte[]> data = session.getValue().getData();
+            out.writeInt(data.size());
+            for (Map.Entry<String, byte[]> attribute : data.entrySet()) {
+                out.writeUTF(attribute.getKey());
+                out.writeInt(attribute.getValue().length);
+                out.write(attribute.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reads the sessions of a session file, one at a time.
+     */
+    static final class SessionReader implements Iterator<Map.Entry<String, SessionEntry>> {
+        private final DataInput in;
+        private Map.Entry<String, SessionEntry> next;
+
+        SessionReader(DataInput in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null) {
+                try {
+                    this.next = this.read();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Map.Entry<String, SessionEntry> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, SessionEntry> next = this.next;
+            this.next = null;
+            return next;
+        }
+
+        private Map.Entry<String, SessionEntry> read() throws IOException {
+            if (!this.in.readBoolean()) {
+                return null;
+            }
+            String sessionId = this.in.readUTF();
+            Date expiry = new Date(this.in.readLong());
+            int size = this.in.readInt();
+            Map<String, byte[]> data = new HashMap<>(size * 4 / 3 + 1);
+            for (int i = 0; i < size; i++) {
+                String name = this.in.readUTF();
+                byte[] value = new byte[this.in.readInt()];
+                this.in.readFully(value);
+                data.put(name, value);
+            }
+            return new AbstractMap.SimpleImmutableEntry<>(sessionId, new SessionEntry(expiry, data));
         }
     }
 
@@ -4,6 +4,7 @@
  */
 package org.wildfly.extension.undertow;
 
+import io.undertow.servlet.UndertowServletLogger;
 import io.undertow.servlet.api.SessionPersistenceManager;
 import org.jboss.modules.ModuleLoader;
 
@@ -31,8 +32,14 @@ public class InMemoryModularPersistentSessionManager extends AbstractPersistentS
     private final Map<String, Map<String, SessionEntry>> sessionData = Collections.synchronizedMap(new HashMap<String, Map<String, SessionEntry>>());
 
     @Override
-    protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) {
-        sessionData.put(deploymentName, serializedData);
+    public void persistSessions(String deploymentName, Map<String, PersistentSession> sessions) {
+        try {
+            final Map<String, SessionEntry> serializedData = new HashMap<String, SessionEntry>();
+            marshalSessions(sessions, serializedData::putAll);
+            sessionData.put(deploymentName, serializedData);
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+        }
     }
 
     @Override
@@ -69,6 +69,7 @@ final class ServletContainerAdd extends AbstractBoottimeAddStepHandler {
         final int fileCacheMaxFileSize = ServletContainerDefinition.FILE_CACHE_MAX_FILE_SIZE.resolveModelAttribute(resolver, model).asInt();
         final ModelNode fileCacheTtlNode = ServletContainerDefinition.FILE_CACHE_TIME_TO_LIVE.resolveModelAttribute(resolver, model);
         final Integer fileCacheTimeToLive = fileCacheTtlNode.isDefined()  ? fileCacheTtlNode.asInt() : null;
+        final long fileTransferMinSize = ServletContainerDefinition.FILE_TRANSFER_MIN_SIZE.resolveModelAttribute(resolver, model).asLong();
         final int defaultCookieVersion = ServletContainerDefinition.DEFAULT_COOKIE_VERSION.resolveModelAttribute(resolver, model).asInt();
         final boolean preservePathOnForward = ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD.resolveModelAttribute(resolver, model).asBoolean();
         boolean orphanSessionAllowed = ServletContainerDefinition.ORPHAN_SESSION_ALLOWED.resolveModelAttribute(resolver, model).asBoolean();
@@ -253,6 +254,11 @@ final class ServletContainerAdd extends AbstractBoottimeAddStepHandler {
                 return fileCacheTimeToLive;
             }
 
+            @Override
+            public long getFileTransferMinSize() {
+                return fileTransferMinSize;
+            }
+
             @Override
             public int getDefaultCookieVersion() {
                 return defaultCookieVersion;
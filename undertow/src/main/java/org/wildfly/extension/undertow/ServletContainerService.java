@@ -89,6 +89,8 @@ public interface ServletContainerService {
 
     Integer getFileCacheTimeToLive();
 
+    long getFileTransferMinSize();
+
     int getDefaultCookieVersion();
 
     boolean isPreservePathOnForward();
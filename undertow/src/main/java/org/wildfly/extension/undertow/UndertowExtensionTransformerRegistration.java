@@ -67,9 +67,24 @@ public class UndertowExtensionTransformerRegistration implements ExtensionTransf
                 .addRejectCheck(RejectAttributeChecker.DEFINED, AjpListenerResourceDefinition.ALLOWED_REQUEST_ATTRIBUTES_PATTERN)
                 .end();
 
+                server.addChildResource(HostDefinition.PATH_ELEMENT).addChildResource(AccessLogDefinition.PATH_ELEMENT).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, AccessLogDefinition.QUEUE_SIZE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, AccessLogDefinition.QUEUE_SIZE)
+                .end();
+
+                subsystem.addChildResource(ByteBufferPoolDefinition.PATH_ELEMENT).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, ByteBufferPoolDefinition.ADAPTIVE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, ByteBufferPoolDefinition.ADAPTIVE)
+                .end();
+
+                final ResourceTransformationDescriptionBuilder servletContainer = subsystem.addChildResource(ServletContainerDefinition.PATH_ELEMENT);
+                final AttributeTransformationDescriptionBuilder servletContainerAttributeTransformationDescriptionBuilder = servletContainer.getAttributeBuilder();
+                servletContainerAttributeTransformationDescriptionBuilder.setDiscard(DiscardAttributeChecker.UNDEFINED, ServletContainerDefinition.FILE_TRANSFER_MIN_SIZE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, ServletContainerDefinition.FILE_TRANSFER_MIN_SIZE)
+                .end();
+
                 if (UndertowSubsystemModel.VERSION_13_0_0.requiresTransformation(version)) {
-                    final ResourceTransformationDescriptionBuilder servletContainer = subsystem.addChildResource(ServletContainerDefinition.PATH_ELEMENT);
-                    servletContainer.getAttributeBuilder()
+                    servletContainerAttributeTransformationDescriptionBuilder
                         .setDiscard(DiscardAttributeChecker.UNDEFINED, ServletContainerDefinition.ORPHAN_SESSION_ALLOWED)
                         .addRejectCheck(RejectAttributeChecker.DEFINED, ServletContainerDefinition.ORPHAN_SESSION_ALLOWED)
                         .end();
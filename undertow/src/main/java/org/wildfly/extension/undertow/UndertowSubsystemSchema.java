@@ -102,7 +102,11 @@ public enum UndertowSubsystemSchema implements PersistentSubsystemSchema<Underto
         PersistentResourceXMLDescription.Builder builder = this.factory.builder(UndertowRootDefinition.PATH_ELEMENT);
 
         if (this.since(UndertowSubsystemSchema.VERSION_6_0)) {
-            builder.addChild(this.factory.builder(ByteBufferPoolDefinition.PATH_ELEMENT).addAttributes(ByteBufferPoolDefinition.ATTRIBUTES.stream()).build());
+            Stream<AttributeDefinition> byteBufferPoolAttributes = ByteBufferPoolDefinition.ATTRIBUTES.stream();
+            if (!this.since(UndertowSubsystemSchema.VERSION_15_0)) {
+                byteBufferPoolAttributes = byteBufferPoolAttributes.filter(Predicate.isEqual(ByteBufferPoolDefinition.ADAPTIVE).negate());
+            }
+            builder.addChild(this.factory.builder(ByteBufferPoolDefinition.PATH_ELEMENT).addAttributes(byteBufferPoolAttributes).build());
         }
         builder.addChild(this.factory.builder(BufferCacheDefinition.PATH_ELEMENT).addAttributes(BufferCacheDefinition.ATTRIBUTES.stream()).build());
         builder.addChild(this.factory.builder(ServerDefinition.PATH_ELEMENT).addAttributes(ServerDefinition.ATTRIBUTES.stream())
@@ -204,7 +208,11 @@ public enum UndertowSubsystemSchema implements PersistentSubsystemSchema<Underto
             .addChild(this.filterRef())
             .build()
         );
-        builder.addChild(this.factory.builder(AccessLogDefinition.PATH_ELEMENT).addAttributes(AccessLogDefinition.ATTRIBUTES.stream()).build());
+        Stream<AttributeDefinition> accessLogAttributes = AccessLogDefinition.ATTRIBUTES.stream();
+        if (!this.since(UndertowSubsystemSchema.VERSION_15_0)) {
+            accessLogAttributes = accessLogAttributes.filter(Predicate.isEqual(AccessLogDefinition.QUEUE_SIZE).negate());
+        }
+        builder.addChild(this.factory.builder(AccessLogDefinition.PATH_ELEMENT).addAttributes(accessLogAttributes).build());
         if (this.since(UndertowSubsystemSchema.VERSION_9_0)) {
             builder.addChild(this.factory.builder(ConsoleAccessLogDefinition.PATH_ELEMENT).addAttributes(ConsoleAccessLogDefinition.ATTRIBUTES.stream()).build());
         }
@@ -253,6 +261,9 @@ public enum UndertowSubsystemSchema implements PersistentSubsystemSchema<Underto
         if (!this.since(UndertowSubsystemSchema.VERSION_10_0)) {
             attributes = attributes.filter(Predicate.isEqual(ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD).negate());
         }
+        if (!this.since(UndertowSubsystemSchema.VERSION_15_0)) {
+            attributes = attributes.filter(Predicate.isEqual(ServletContainerDefinition.FILE_TRANSFER_MIN_SIZE).negate());
+        }
         attributes.forEach(builder::addAttribute);
         return builder.build();
     }
@@ -5,11 +5,13 @@
 package org.wildfly.extension.undertow.deployment;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jboss.vfs.VirtualFile;
 import io.undertow.server.handlers.resource.PathResourceManager;
@@ -17,6 +19,7 @@ import io.undertow.server.handlers.resource.Resource;
 import io.undertow.server.handlers.resource.ResourceChangeListener;
 import io.undertow.server.handlers.resource.ResourceManager;
 import io.undertow.util.CanonicalPathUtils;
+import io.undertow.util.ETag;
 
 /**
  * Resource manager that deals with overlays
@@ -30,14 +33,31 @@ public class ServletResourceManager implements ResourceManager {
     private final Collection<VirtualFile> overlays;
     private final ResourceManager[] externalOverlays;
     private final boolean explodedDeployment;
+    private final LongAdder lookups = new LongAdder();
 
     public ServletResourceManager(final VirtualFile resourcesRoot, final Collection<VirtualFile> overlays,
                                   boolean explodedDeployment, boolean followSymlink, boolean disableFileWatchService,
                                   List<String> externalOverlays) throws IOException {
+        this(resourcesRoot, overlays, explodedDeployment, followSymlink, disableFileWatchService, externalOverlays, TRANSFER_MIN_SIZE);
+    }
+
+    /**
+     * @param transferMinSize the size above which a file is served with a zero-copy transfer, instead of being read into buffers
+     */
+    public ServletResourceManager(final VirtualFile resourcesRoot, final Collection<VirtualFile> overlays,
+                                  boolean explodedDeployment, boolean followSymlink, boolean disableFileWatchService,
+                                  List<String> externalOverlays, long transferMinSize) throws IOException {
         this.explodedDeployment = explodedDeployment;
         Path physicalFile = resourcesRoot.getPhysicalFile().toPath().toRealPath();
-        deploymentResourceManager = new PathResourceManager(physicalFile, TRANSFER_MIN_SIZE, true,
-                followSymlink, !disableFileWatchService);
+        deploymentResourceManager = PathResourceManager.builder()
+                .setBase(physicalFile)
+                .setTransferMinSize(transferMinSize)
+                .setCaseSensitive(true)
+                .setFollowLinks(followSymlink)
+                .setAllowResourceChangeListeners(!disableFileWatchService)
+                // the content of an archive does not change while it is deployed
+                .setETagFunction(explodedDeployment ? path -> null : ServletResourceManager::createETag)
+                .build();
         this.overlays = overlays;
         if(externalOverlays == null) {
             this.externalOverlays = new ResourceManager[0];
@@ -45,15 +65,34 @@ public class ServletResourceManager implements ResourceManager {
             this.externalOverlays = new ResourceManager[externalOverlays.size()];
             for (int i = 0; i < externalOverlays.size(); ++i) {
                 String path = externalOverlays.get(i);
-                PathResourceManager pr = new PathResourceManager(Paths.get(path).toRealPath(), TRANSFER_MIN_SIZE,
+                PathResourceManager pr = new PathResourceManager(Paths.get(path).toRealPath(), transferMinSize,
                         true, followSymlink, !disableFileWatchService);
                 this.externalOverlays[i] = pr;
             }
         }
     }
 
+    /**
+     * @return the number of paths which were resolved through the deployment root and the overlays
+     */
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    /**
+     * Creates a weak entity tag of the size and the modification time of a file.
+     */
+    private static ETag createETag(Path path) {
+        try {
+            return new ETag(true, Long.toHexString(Files.size(path)) + '-' + Long.toHexString(Files.getLastModifiedTime(path).toMillis()));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     @Override
     public Resource getResource(final String path) throws IOException {
+        lookups.increment();
         Resource res = deploymentResourceManager.getResource(path);
         if (res != null) {
             //EE.8.3.1  The content of all jar files in the WEB-INF/lib directory of the containing war
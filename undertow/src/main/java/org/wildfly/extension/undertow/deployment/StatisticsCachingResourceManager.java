@@ -0,0 +1,48 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import io.undertow.server.handlers.resource.CachedResource;
+import io.undertow.server.handlers.resource.CachingResourceManager;
+
+/**
+ * Caching resource manager of a deployment, which counts how many of its lookups are served by its cache.
+ * A lookup which is not served by the cache is resolved by the {@link ServletResourceManager} of the deployment.
+ */
+public class StatisticsCachingResourceManager extends CachingResourceManager {
+
+    private final ServletResourceManager underlyingResourceManager;
+    private final LongAdder lookups = new LongAdder();
+
+    public StatisticsCachingResourceManager(int metadataCacheSize, long maxFileSize, DirectBufferCache dataCache, ServletResourceManager underlyingResourceManager, int maxAge) {
+        super(metadataCacheSize, maxFileSize, dataCache, underlyingResourceManager, maxAge);
+        this.underlyingResourceManager = underlyingResourceManager;
+    }
+
+    @Override
+    public CachedResource getResource(String path) throws IOException {
+        lookups.increment();
+        return super.getResource(path);
+    }
+
+    /**
+     * @return the number of resource lookups served by the cache, including the paths cached as not found
+     */
+    public long getCacheHits() {
+        // the counters are not read at once
+        return Math.max(0L, lookups.sum() - getCacheMisses());
+    }
+
+    /**
+     * @return the number of resource lookups resolved through the deployment root and the overlays
+     */
+    public long getCacheMisses() {
+        return underlyingResourceManager.getLookupCount();
+    }
+}
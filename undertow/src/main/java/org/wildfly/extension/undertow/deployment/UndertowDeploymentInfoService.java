@@ -395,9 +395,6 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                 }
             }
             deploymentInfo.setServerName(serverEnvironment.get().getProductConfig().getPrettyVersionString());
-            if (undertowService.get().isStatisticsEnabled()) {
-                deploymentInfo.setMetricsCollector(new UndertowMetricsCollector());
-            }
 
             deploymentInfoConsumer.accept(this.deploymentInfo = deploymentInfo);
         } finally {
@@ -497,9 +494,17 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                 //TODO: make the caching limits configurable
                 List<String> externalOverlays = mergedMetaData.getOverlays();
 
-                ResourceManager resourceManager = new ServletResourceManager(deploymentRoot, overlays, explodedDeployment, mergedMetaData.isSymbolicLinkingEnabled(), servletContainer.isDisableFileWatchService(), externalOverlays);
+                int fileCacheTimeToLive = servletContainer.getFileCacheTimeToLive() == null ? (explodedDeployment ? 2000 : -1) : servletContainer.getFileCacheTimeToLive();
+                ServletResourceManager servletResourceManager = new ServletResourceManager(deploymentRoot, overlays, explodedDeployment, mergedMetaData.isSymbolicLinkingEnabled(), servletContainer.isDisableFileWatchService(), externalOverlays, servletContainer.getFileTransferMinSize());
 
-                resourceManager = new CachingResourceManager(servletContainer.getFileCacheMetadataSize(), servletContainer.getFileCacheMaxFileSize(), servletContainer.getBufferCache(), resourceManager, servletContainer.getFileCacheTimeToLive() == null ? (explodedDeployment ? 2000 : -1) : servletContainer.getFileCacheTimeToLive());
+                ResourceManager resourceManager;
+                if (undertowService.get().isStatisticsEnabled()) {
+                    StatisticsCachingResourceManager cachingResourceManager = new StatisticsCachingResourceManager(servletContainer.getFileCacheMetadataSize(), servletContainer.getFileCacheMaxFileSize(), servletContainer.getBufferCache(), servletResourceManager, fileCacheTimeToLive);
+                    d.setMetricsCollector(new UndertowMetricsCollector(cachingResourceManager));
+                    resourceManager = cachingResourceManager;
+                } else {
+                    resourceManager = new CachingResourceManager(servletContainer.getFileCacheMetadataSize(), servletContainer.getFileCacheMaxFileSize(), servletContainer.getBufferCache(), servletResourceManager, fileCacheTimeToLive);
+                }
                 if(externalResources != null && !externalResources.isEmpty()) {
                     //TODO: we don't cache external deployments, as they are intended for development use
                     //should be make this configurable or something?
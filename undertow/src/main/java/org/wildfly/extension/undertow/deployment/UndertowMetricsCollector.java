@@ -16,6 +16,15 @@ import io.undertow.servlet.api.MetricsCollector;
  */
 public class UndertowMetricsCollector implements MetricsCollector {
     private final Map<String, MetricsHandler> metrics = new HashMap<>();
+    private final StatisticsCachingResourceManager resourceManager;
+
+    public UndertowMetricsCollector() {
+        this(null);
+    }
+
+    public UndertowMetricsCollector(StatisticsCachingResourceManager resourceManager) {
+        this.resourceManager = resourceManager;
+    }
 
     @Override
     public void registerMetric(String name, MetricsHandler handler) {
@@ -28,4 +37,11 @@ public class UndertowMetricsCollector implements MetricsCollector {
         }
         return null;
     }
+
+    /**
+     * @return the caching resource manager of the deployment, whose statistics are exposed, or null
+     */
+    public StatisticsCachingResourceManager getResourceManager() {
+        return resourceManager;
+    }
 }
@@ -433,4 +433,12 @@ public interface UndertowLogger extends BasicLogger {
             "The server now always enforces the RFC 9112 requirement that HTTP/1.1 request messages include a Host header.")
     String http11HostHeaderRequired(String attribute, String resource);
 
+    @LogMessage(level = WARN)
+    @Message(id = 113, value = "Failed to restore session attribute %s for session %s")
+    void failedToRestoreSessionAttribute(String attributeName, String sessionID, @Cause Exception e);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 114, value = "Failed to write the access log")
+    void errorWritingAccessLog(@Cause IOException e);
+
 }
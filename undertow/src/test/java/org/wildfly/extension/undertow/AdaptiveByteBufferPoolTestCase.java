@@ -0,0 +1,133 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.undertow.connector.PooledByteBuffer;
+import org.junit.Test;
+
+/**
+ * Tests the reuse and the statistics of an {@link AdaptiveByteBufferPool}.
+ */
+public class AdaptiveByteBufferPoolTestCase {
+
+    @Test
+    public void testReuse() {
+        AdaptiveByteBufferPool pool = new AdaptiveByteBufferPool(false, 1024, 100, 12);
+        PooledByteBuffer pooled = pool.allocate();
+        ByteBuffer buffer = pooled.getBuffer();
+        assertEquals(1024, buffer.capacity());
+        buffer.put((byte) 1);
+        pooled.close();
+        assertFalse(pooled.isOpen());
+        // a closed buffer is only freed once
+        pooled.close();
+
+        PooledByteBuffer reused = pool.allocate();
+        assertSame(buffer, reused.getBuffer());
+        assertEquals(0, reused.getBuffer().position());
+        reused.close();
+
+        assertEquals(2, pool.getAllocations());
+        assertEquals(1, pool.getThreadLocalHits());
+        assertEquals(1, pool.getMisses());
+        assertEquals(0, pool.getBuffersInUse());
+        pool.close();
+    }
+
+    @Test
+    public void testSharedPool() {
+        AdaptiveByteBufferPool pool = new AdaptiveByteBufferPool(false, 1024, 2, 0);
+        List<PooledByteBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            buffers.add(pool.allocate());
+        }
+        assertEquals(4, pool.getBuffersInUse());
+        for (PooledByteBuffer buffer : buffers) {
+            buffer.close();
+        }
+        // the pool retains at most max-pool-size buffers
+        assertEquals(2, pool.getPooledBuffers());
+        assertEquals(2, pool.getDiscards());
+
+        pool.allocate().close();
+        assertEquals(1, pool.getPoolHits());
+        assertEquals(0, pool.getThreadLocalHits());
+        pool.close();
+    }
+
+    @Test
+    public void testThreadLocalCacheGrowth() {
+        AdaptiveByteBufferPool pool = new AdaptiveByteBufferPool(false, 1024, -1, 8);
+        // allocates 4 buffers at once, repeatedly
+        for (int i = 0; i < 100; i++) {
+            List<PooledByteBuffer> buffers = new ArrayList<>();
+            for (int j = 0; j < 4; j++) {
+                buffers.add(pool.allocate());
+            }
+            buffers.forEach(PooledByteBuffer::close);
+        }
+        long hits = pool.getThreadLocalHits();
+        for (int j = 0; j < 4; j++) {
+            pool.allocate().close();
+        }
+        // the cache of the thread grew to hold the 4 buffers
+        assertEquals(hits + 4, pool.getThreadLocalHits());
+        assertTrue(pool.getMisses() <= 4);
+        pool.close();
+    }
+
+    @Test
+    public void testArrayBackedPool() {
+        AdaptiveByteBufferPool pool = new AdaptiveByteBufferPool(true, 1024, 10, 4);
+        assertTrue(pool.isDirect());
+        assertFalse(pool.getArrayBackedPool().isDirect());
+        PooledByteBuffer pooled = pool.getArrayBackedPool().allocate();
+        assertTrue(pooled.getBuffer().hasArray());
+        pooled.close();
+        pool.close();
+    }
+
+    @Test
+    public void testPoolLimitDecay() {
+        AdaptiveByteBufferPool pool = new AdaptiveByteBufferPool(false, 1024, 100, 0);
+        List<PooledByteBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            buffers.add(pool.allocate());
+        }
+        buffers.forEach(PooledByteBuffer::close);
+        assertEquals(64, pool.getPooledBuffers());
+
+        pool.adapt();
+        assertEquals(82, pool.getPoolLimit());
+        assertEquals(64, pool.getPooledBuffers());
+        // no buffer was in use since, the limit only halves its surplus
+        pool.adapt();
+        assertEquals(41, pool.getPoolLimit());
+        assertEquals(41, pool.getPooledBuffers());
+        pool.adapt();
+        assertEquals(20, pool.getPoolLimit());
+        assertEquals(20, pool.getPooledBuffers());
+
+        // a higher peak raises the limit at once
+        buffers.clear();
+        for (int i = 0; i < 30; i++) {
+            buffers.add(pool.allocate());
+        }
+        buffers.forEach(PooledByteBuffer::close);
+        pool.adapt();
+        assertEquals(30, pool.getPoolLimit());
+        pool.close();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the writing of the messages logged through an {@link AsyncAccessLogReceiver}.
+ */
+public class AsyncAccessLogReceiverTestCase {
+
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("access-log");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testMessagesWrittenInOrder() throws Exception {
+        AsyncAccessLogReceiver receiver = new AsyncAccessLogReceiver(this.directory, "access.", "log", true, () -> new String[] { "#Version: 1.0" }, 16);
+        for (int i = 0; i < 100; i++) {
+            receiver.logMessage("message " + i);
+        }
+        receiver.close();
+
+        List<String> lines = Files.readAllLines(this.directory.resolve("access.log"), StandardCharsets.UTF_8);
+        assertEquals("#Version: 1.0", lines.get(0));
+        // a message is either written or dropped
+        assertEquals(100, lines.size() - 1 + receiver.getDroppedMessages());
+        // the messages which were not dropped are written in order
+        int previous = -1;
+        for (String line : lines.subList(1, lines.size())) {
+            int index = Integer.parseInt(line.substring("message ".length()));
+            assertTrue(index > previous);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void testConcurrentMessages() throws Exception {
+        AsyncAccessLogReceiver receiver = new AsyncAccessLogReceiver(this.directory, "access.", "log", false, null, 1 << 16);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            String name = "thread-" + i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    receiver.logMessage(name);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        receiver.close();
+
+        List<String> lines = Files.readAllLines(this.directory.resolve("access.log"), StandardCharsets.UTF_8);
+        // the queue can hold all the messages
+        assertEquals(0, receiver.getDroppedMessages());
+        assertEquals(4000, lines.size());
+    }
+
+    @Test
+    public void testHeaderOnlyWrittenToNewFile() throws Exception {
+        Files.write(this.directory.resolve("access.log"), List.of("existing"), StandardCharsets.UTF_8);
+        AsyncAccessLogReceiver receiver = new AsyncAccessLogReceiver(this.directory, "access.", "log", false, () -> new String[] { "#Version: 1.0" }, 16);
+        receiver.logMessage("message");
+        receiver.close();
+
+        assertEquals(List.of("existing", "message"), Files.readAllLines(this.directory.resolve("access.log"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRingSize() {
+        assertEquals(2, AsyncAccessLogReceiver.ringSize(1));
+        assertEquals(2, AsyncAccessLogReceiver.ringSize(2));
+        assertEquals(4, AsyncAccessLogReceiver.ringSize(3));
+        assertEquals(1024, AsyncAccessLogReceiver.ringSize(1000));
+        assertEquals(1024, AsyncAccessLogReceiver.ringSize(1024));
+        assertEquals(AsyncAccessLogReceiver.MAX_CAPACITY, AsyncAccessLogReceiver.ringSize(AsyncAccessLogReceiver.MAX_CAPACITY - 1));
+        // beyond the largest power of 2 of an int
+        assertEquals(AsyncAccessLogReceiver.MAX_CAPACITY, AsyncAccessLogReceiver.ringSize(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.wildfly.extension.undertow.AbstractPersistentSessionManager.SessionEntry;
+
+/**
+ * Tests the session file format of {@link DiskBasedModularPersistentSessionManager}.
+ */
+public class DiskBasedModularPersistentSessionManagerTestCase {
+
+    @Test
+    public void testSessionFile() throws IOException {
+        Map<String, SessionEntry> first = new HashMap<>();
+        first.put("session1", new SessionEntry(new Date(1000L), Map.of("name", "value".getBytes(StandardCharsets.UTF_8))));
+        first.put("session2", new SessionEntry(new Date(2000L), Map.of()));
+        Map<String, SessionEntry> second = Map.of("session3", new SessionEntry(new Date(3000L), Map.of("a", new byte[] { 1 }, "b", new byte[0])));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            DiskBasedModularPersistentSessionManager.writeSessions(out, first);
+            DiskBasedModularPersistentSessionManager.writeSessions(out, second);
+            out.writeBoolean(false);
+        }
+
+        Map<String, SessionEntry> sessions = new HashMap<>();
+        DiskBasedModularPersistentSessionManager.SessionReader reader = new DiskBasedModularPersistentSessionManager.SessionReader(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        while (reader.hasNext()) {
+            Map.Entry<String, SessionEntry> session = reader.next();
+            sessions.put(session.getKey(), session.getValue());
+        }
+        assertFalse(reader.hasNext());
+        assertEquals(3, sessions.size());
+        assertEquals(1000L, sessions.get("session1").getExpiry().getTime());
+        assertArrayEquals("value".getBytes(StandardCharsets.UTF_8), sessions.get("session1").getData().get("name"));
+        assertTrue(sessions.get("session2").getData().isEmpty());
+        assertEquals(3000L, sessions.get("session3").getExpiry().getTime());
+        assertArrayEquals(new byte[] { 1 }, sessions.get("session3").getData().get("a"));
+        assertArrayEquals(new byte[0], sessions.get("session3").getData().get("b"));
+    }
+}
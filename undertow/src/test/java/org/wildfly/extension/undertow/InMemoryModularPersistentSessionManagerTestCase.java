@@ -0,0 +1,180 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.undertow.servlet.api.SessionPersistenceManager.PersistentSession;
+import org.jboss.modules.Module;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the marshalling of the sessions by {@link AbstractPersistentSessionManager}, through {@link InMemoryModularPersistentSessionManager}.
+ */
+public class InMemoryModularPersistentSessionManagerTestCase {
+
+    private final InMemoryModularPersistentSessionManager manager = new InMemoryModularPersistentSessionManager(value -> { }, Module::getSystemModuleLoader);
+
+    @Before
+    public void start() throws Exception {
+        this.manager.start(null);
+    }
+
+    @After
+    public void stop() {
+        this.manager.stop(null);
+    }
+
+    @Test
+    public void testSessionsAreRestored() {
+        Date expiration = new Date(System.currentTimeMillis() + 60000L);
+        Map<String, PersistentSession> sessions = new HashMap<>();
+        // more sessions than a batch
+        for (int i = 0; i < 2500; i++) {
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put("name", "session" + i);
+            attributes.put("index", i);
+            sessions.put("session" + i, new PersistentSession(expiration, attributes));
+        }
+        sessions.put("expired", new PersistentSession(new Date(System.currentTimeMillis() - 1000L), Map.of("name", "expired")));
+
+        this.manager.persistSessions("test.war", sessions);
+        Map<String, PersistentSession> restored = this.manager.loadSessionAttributes("test.war", this.getClass().getClassLoader());
+
+        assertEquals(2500, restored.size());
+        assertFalse(restored.containsKey("expired"));
+        for (int i = 0; i < 2500; i++) {
+            PersistentSession session = restored.get("session" + i);
+            assertEquals(expiration, session.getExpiration());
+            assertEquals("session" + i, session.getSessionData().get("name"));
+            assertEquals(i, session.getSessionData().get("index"));
+        }
+    }
+
+    @Test
+    public void testUnserializableAttributeIsDropped() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("name", "value");
+        attributes.put("unserializable", new Object());
+        this.manager.persistSessions("test.war", Map.of("session", new PersistentSession(new Date(System.currentTimeMillis() + 60000L), attributes)));
+
+        Map<String, Object> restored = this.manager.loadSessionAttributes("test.war", this.getClass().getClassLoader()).get("session").getSessionData();
+        assertEquals("value", restored.get("name"));
+        assertFalse(restored.containsKey("unserializable"));
+    }
+
+    @Test
+    public void testUnrestorableAttributeIsDropped() {
+        Date expiration = new Date(System.currentTimeMillis() + 60000L);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("name", "value");
+        attributes.put("unrestorable", new UnrestorableAttribute());
+        this.manager.persistSessions("test.war", Map.of("session", new PersistentSession(expiration, attributes),
+                "other", new PersistentSession(expiration, Map.of("name", "other"))));
+
+        // the other attributes of the session and the other sessions are still restored
+        Map<String, PersistentSession> restored = this.manager.loadSessionAttributes("test.war", this.getClass().getClassLoader());
+        assertEquals(2, restored.size());
+        assertEquals(Map.of("name", "value"), restored.get("session").getSessionData());
+        assertEquals(Map.of("name", "other"), restored.get("other").getSessionData());
+    }
+
+    @Test
+    public void testAttributeIsRestoredWithDeploymentClassLoader() {
+        ClassLoader deploymentClassLoader = new DeploymentClassLoader(this.getClass().getClassLoader());
+        Map<String, Object> attributes = Map.of("type", new DeploymentClassReference(DeploymentType.class.getName()));
+        this.manager.persistSessions("test.war", Map.of("session", new PersistentSession(new Date(System.currentTimeMillis() + 60000L), attributes)));
+
+        Object type = this.manager.loadSessionAttributes("test.war", deploymentClassLoader).get("session").getSessionData().get("type");
+        assertSame(deploymentClassLoader, ((Class<?>) type).getClassLoader());
+    }
+
+    @Test
+    public void testNoSessions() {
+        assertNull(this.manager.loadSessionAttributes("test.war", this.getClass().getClassLoader()));
+        this.manager.persistSessions("test.war", Map.of());
+        assertTrue(this.manager.loadSessionAttributes("test.war", this.getClass().getClassLoader()).isEmpty());
+    }
+
+    /**
+     * An attribute which is resolved on restore to a class of the deployment, through the context class loader.
+     */
+    public static class DeploymentClassReference implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String className;
+
+        DeploymentClassReference(String className) {
+            this.className = className;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            try {
+                return Class.forName(this.className, false, Thread.currentThread().getContextClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new InvalidObjectException(e.getMessage());
+            }
+        }
+    }
+
+    public static class DeploymentType {
+    }
+
+    /**
+     * Defines its own copy of {@link DeploymentType}, which is therefore only visible through this class loader.
+     */
+    private static class DeploymentClassLoader extends ClassLoader {
+
+        DeploymentClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(DeploymentType.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (this.getClassLoadingLock(name)) {
+                Class<?> loaded = this.findLoadedClass(name);
+                if (loaded == null) {
+                    try (InputStream in = this.getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        byte[] bytes = in.readAllBytes();
+                        loaded = this.defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return loaded;
+            }
+        }
+    }
+
+    /**
+     * An attribute which can be marshalled, but not unmarshalled.
+     */
+    public static class UnrestorableAttribute implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private void readObject(ObjectInputStream in) throws IOException {
+            throw new InvalidObjectException("unrestorable");
+        }
+    }
+}
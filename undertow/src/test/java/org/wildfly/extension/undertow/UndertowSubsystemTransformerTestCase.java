@@ -146,6 +146,17 @@ public class UndertowSubsystemTransformerTestCase extends AbstractSubsystemTest
                     .append(PathElement.pathElement(AjpListenerResourceDefinition.PATH_ELEMENT.getKey(), "ajp"));
 
             config.addFailedAttribute(ajpListenerAddress, new FailedOperationTransformationConfig.NewAttributesConfig(AjpListenerResourceDefinition.ALLOWED_REQUEST_ATTRIBUTES_PATTERN));
+
+            PathAddress transferContainerAddress = subsystemAddress.append(PathElement.pathElement(ServletContainerDefinition.PATH_ELEMENT.getKey(), "transfer-container"));
+            config.addFailedAttribute(transferContainerAddress, new FailedOperationTransformationConfig.NewAttributesConfig(ServletContainerDefinition.FILE_TRANSFER_MIN_SIZE));
+
+            PathAddress byteBufferPoolAddress = subsystemAddress.append(PathElement.pathElement(ByteBufferPoolDefinition.PATH_ELEMENT.getKey(), "adaptive"));
+            config.addFailedAttribute(byteBufferPoolAddress, new FailedOperationTransformationConfig.NewAttributesConfig(ByteBufferPoolDefinition.ADAPTIVE));
+
+            PathAddress accessLogAddress = subsystemAddress.append(PathElement.pathElement(ServerDefinition.PATH_ELEMENT.getKey(), "default-server"))
+                    .append(PathElement.pathElement(HostDefinition.PATH_ELEMENT.getKey(), "default-host"))
+                    .append(AccessLogDefinition.PATH_ELEMENT);
+            config.addFailedAttribute(accessLogAddress, new FailedOperationTransformationConfig.NewAttributesConfig(AccessLogDefinition.QUEUE_SIZE));
         }
         if (UndertowSubsystemModel.VERSION_13_0_0.requiresTransformation(this.modelVersion)) {
             PathAddress servletContainerAddress = subsystemAddress.append(PathElement.pathElement(ServletContainerDefinition.PATH_ELEMENT.getKey(), "rejected-container"));
@@ -0,0 +1,59 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.jboss.vfs.VFS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the statistics of {@link StatisticsCachingResourceManager}.
+ */
+public class StatisticsCachingResourceManagerTestCase {
+
+    private Path root;
+    private StatisticsCachingResourceManager manager;
+
+    @Before
+    public void setUp() throws IOException {
+        this.root = Files.createTempDirectory("servlet-resources");
+        Files.writeString(this.root.resolve("index.html"), "index");
+        // an archive deployment, whose resources are cached until a change is reported
+        ServletResourceManager servletResourceManager = new ServletResourceManager(VFS.getChild(this.root.toString()), null, false, false, true, null);
+        this.manager = new StatisticsCachingResourceManager(100, 10000L, null, servletResourceManager, -1);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.manager.close();
+        try (Stream<Path> paths = Files.walk(this.root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testStatistics() throws IOException {
+        assertNotNull(this.manager.getResource("/index.html"));
+        assertNotNull(this.manager.getResource("/index.html"));
+        // a path which is not found is cached too
+        assertNull(this.manager.getResource("/missing.html"));
+        assertNull(this.manager.getResource("/missing.html"));
+
+        assertEquals(2L, this.manager.getCacheMisses());
+        assertEquals(2L, this.manager.getCacheHits());
+    }
+}